@@ -1,11 +1,14 @@
 package poker.client;
 
 import lombok.extern.slf4j.Slf4j;
+import poker.model.protocol.BinaryCodec;
 import poker.model.protocol.ClientMessage;
 import poker.model.protocol.Message;
+import poker.model.protocol.ParsedFrame;
 
 import java.io.*;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -21,7 +24,13 @@ public class PokerClient {
 
     private final String host;
     private final int port;
+    /** Ask the server for the binary protocol in HELLO */
+    private final boolean binaryRequested;
+    /** Whether the server agreed; frames are then binary in both directions */
+    private boolean binary;
     private Socket socket;
+    private InputStream in;
+    private OutputStream out;
     private BufferedReader reader;
     private PrintWriter writer;
     private String gameId;
@@ -31,24 +40,60 @@ public class PokerClient {
     private volatile boolean running;
 
     public PokerClient(String host, int port) {
+        this(host, port, false);
+    }
+
+    public PokerClient(String host, int port, boolean binary) {
         this.host = host;
         this.port = port;
+        this.binaryRequested = binary;
         this.running = false;
     }
 
     public void connect() throws IOException {
         socket = new Socket(host, port);
-        reader = new BufferedReader(
-            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        in = new BufferedInputStream(socket.getInputStream());
+        out = socket.getOutputStream();
         writer = new PrintWriter(
-            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            new OutputStreamWriter(out, StandardCharsets.UTF_8), true);
 
         log.info("Connected to {}:{}", host, port);
         System.out.println("Connected to poker server!");
         System.out.println("========================================");
 
         // Send hello
-        send(ClientMessage.hello(VERSION));
+        if (binaryRequested) {
+            negotiateBinary();
+        } else {
+            send(ClientMessage.hello(VERSION));
+        }
+        if (!binary) {
+            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Sends HELLO asking for the binary protocol and waits for the text reply, which
+     * says whether the server switched. Older servers ignore the request.
+     */
+    private void negotiateBinary() throws IOException {
+        send(ClientMessage.hello(VERSION, BinaryCodec.PROTO_BINARY));
+
+        // Read byte by byte so nothing after the reply is buffered away from the frames
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+            line.write(b);
+        }
+        Message.ParsedMessage reply = Message.parse(line.toString(StandardCharsets.UTF_8));
+        binary = BinaryCodec.PROTO_BINARY.equals(reply.getParams().get("PROTO"));
+        log.info("Using {} protocol", binary ? "binary" : "text");
+        if (!binary) {
+            System.out.println("Server does not support the binary protocol; using text");
+        }
     }
 
     public void run() {
@@ -62,9 +107,13 @@ public class PokerClient {
         // Start reader thread
         Thread readerThread = Thread.ofVirtual().start(() -> {
             try {
-                String line;
-                while (running && (line = reader.readLine()) != null) {
-                    handleServerMessage(line);
+                if (binary) {
+                    readFrames();
+                } else {
+                    String line;
+                    while (running && (line = reader.readLine()) != null) {
+                        handleServerMessage(line);
+                    }
                 }
             } catch (IOException e) {
                 if (running) {
@@ -114,211 +163,236 @@ public class PokerClient {
         disconnect();
     }
 
+    private void readFrames() throws IOException {
+        ParsedFrame frame = new ParsedFrame();
+        ByteBuffer body;
+        while (running && (body = BinaryCodec.read(in)) != null) {
+            try {
+                Message.ParsedMessage msg = BinaryCodec.decode(body, frame).toParsedMessage();
+                log.debug("Received: {}", msg.getAction());
+                handleServerMessage(msg);
+            } catch (Exception e) {
+                log.error("Error handling server frame", e);
+            }
+        }
+    }
+
     private void handleServerMessage(String line) {
         log.debug("Received: {}", line);
         
         try {
-            Message.ParsedMessage msg = Message.parse(line);
-            String action = msg.getAction();
-            boolean shouldShowPrompt = false;
-
-            switch (action) {
-                case "OK" -> {
-                    String message = msg.getParams().get("MESSAGE");
-                    if (message != null) {
-                        if (message.startsWith("Game created:")) {
-                            String gId = message.substring("Game created: ".length());
-                            System.out.println("\n[OK] Game created successfully!");
-                            System.out.println("  Game ID: " + gId);
-                            System.out.println("  Share this ID with other players to join");
-                        } else if (message.startsWith("Left game")) {
-                            System.out.println("[OK] " + message);
-                        } else if (!message.equals("Welcome to Poker Server")) {
-                            System.out.println("[OK] " + message);
-                        }
+            handleServerMessage(Message.parse(line));
+        } catch (Exception e) {
+            log.error("Error handling server message: {}", line, e);
+        }
+    }
+
+    private void handleServerMessage(Message.ParsedMessage msg) {
+        String action = msg.getAction();
+        boolean shouldShowPrompt = false;
+
+        switch (action) {
+            case "OK" -> {
+                String message = msg.getParams().get("MESSAGE");
+                if (message != null) {
+                    if (message.startsWith("Game created:")) {
+                        String gId = message.substring("Game created: ".length());
+                        System.out.println("\n[OK] Game created successfully!");
+                        System.out.println("  Game ID: " + gId);
+                        System.out.println("  Share this ID with other players to join");
+                    } else if (message.startsWith("Left game")) {
+                        System.out.println("[OK] " + message);
+                    } else if (!message.equals("Welcome to Poker Server")) {
+                        System.out.println("[OK] " + message);
                     }
                 }
-                case "ERR" -> {
-                    String reason = msg.getParams().get("REASON");
-                    System.out.println("\n[ERROR] " + reason);
-                }
-                case "WELCOME" -> {
-                    gameId = msg.getParams().get("GAME");
-                    playerId = msg.getParams().get("PLAYER");
-                    System.out.println("\n" + "=".repeat(40));
-                    System.out.println("[OK] Successfully joined the game!");
-                    System.out.println("  Your Player ID: " + playerId.substring(0, 8) + "...");
-                    System.out.println("=".repeat(40));
+            }
+            case "ERR" -> {
+                String reason = msg.getParams().get("REASON");
+                System.out.println("\n[ERROR] " + reason);
+            }
+            case "WELCOME" -> {
+                gameId = msg.getParams().get("GAME");
+                playerId = msg.getParams().get("PLAYER");
+                System.out.println("\n" + "=".repeat(40));
+                System.out.println("[OK] Successfully joined the game!");
+                System.out.println("  Your Player ID: " + playerId.substring(0, 8) + "...");
+                System.out.println("=".repeat(40));
+            }
+            case "LOBBY" -> {
+                String players = msg.getParams().get("PLAYERS");
+                String[] playerList = players.split(",");
+                System.out.println("\n[LOBBY] Players (" + playerList.length + "):");
+                for (String p : playerList) {
+                    System.out.println("   - " + p);
                 }
-                case "LOBBY" -> {
-                    String players = msg.getParams().get("PLAYERS");
-                    String[] playerList = players.split(",");
-                    System.out.println("\n[LOBBY] Players (" + playerList.length + "):");
-                    for (String p : playerList) {
-                        System.out.println("   - " + p);
-                    }
+            }
+            case "STARTED" -> {
+                String ante = msg.getParams().get("ANTE");
+                String bet = msg.getParams().get("BET");
+                System.out.println("\n" + "=".repeat(40));
+                System.out.println("*** GAME STARTED ***");
+                System.out.println("   Ante: " + ante + " chips");
+                System.out.println("   Fixed Bet: " + bet + " chips");
+                System.out.println("=".repeat(40));
+            }
+            case "ANTE_OK" -> {
+                String player = msg.getParams().get("PLAYER");
+                String stack = msg.getParams().get("STACK");
+                if (player.equals(playerId)) {
+                    System.out.println("[ANTE] Paid. Your stack: " + stack + " chips");
                 }
-                case "STARTED" -> {
-                    String ante = msg.getParams().get("ANTE");
-                    String bet = msg.getParams().get("BET");
+            }
+            case "DEAL" -> {
+                String player = msg.getParams().get("PLAYER");
+                String cards = msg.getParams().get("CARDS");
+                if (player.equals(playerId) && !cards.equals("*,*,*,*,*")) {
+                    currentHand = cards;
                     System.out.println("\n" + "=".repeat(40));
-                    System.out.println("*** GAME STARTED ***");
-                    System.out.println("   Ante: " + ante + " chips");
-                    System.out.println("   Fixed Bet: " + bet + " chips");
+                    System.out.println("[YOUR HAND]");
+                    System.out.println("   " + formatHandNice(cards));
                     System.out.println("=".repeat(40));
                 }
-                case "ANTE_OK" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String stack = msg.getParams().get("STACK");
-                    if (player.equals(playerId)) {
-                        System.out.println("[ANTE] Paid. Your stack: " + stack + " chips");
-                    }
-                }
-                case "DEAL" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String cards = msg.getParams().get("CARDS");
-                    if (player.equals(playerId) && !cards.equals("*,*,*,*,*")) {
-                        currentHand = cards;
-                        System.out.println("\n" + "=".repeat(40));
-                        System.out.println("[YOUR HAND]");
-                        System.out.println("   " + formatHandNice(cards));
-                        System.out.println("=".repeat(40));
-                    }
-                }
-                case "TURN" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String phase = msg.getParams().get("PHASE");
+            }
+            case "TURN" -> {
+                String player = msg.getParams().get("PLAYER");
+                String phase = msg.getParams().get("PHASE");
+                
+                if (player.equals(playerId)) {
+                    System.out.println("\n" + "=".repeat(50));
+                    System.out.println("*** YOUR TURN ***");
+                    System.out.println("=".repeat(50));
                     
-                    if (player.equals(playerId)) {
-                        System.out.println("\n" + "=".repeat(50));
-                        System.out.println("*** YOUR TURN ***");
-                        System.out.println("=".repeat(50));
+                    if ("DRAW".equals(phase)) {
+                        System.out.println("\n[DRAW PHASE]");
+                        System.out.println("   Your hand: " + formatHandNice(currentHand));
+                        System.out.println("   Choose cards to replace or keep all");
+                        System.out.println("   - draw 0,2,4  - Replace cards at positions 0, 2, 4");
+                        System.out.println("   - draw none   - Keep all cards");
+                    } else {
+                        int callAmount = Integer.parseInt(msg.getParams().get("CALL"));
                         
-                        if ("DRAW".equals(phase)) {
-                            System.out.println("\n[DRAW PHASE]");
-                            System.out.println("   Your hand: " + formatHandNice(currentHand));
-                            System.out.println("   Choose cards to replace or keep all");
-                            System.out.println("   - draw 0,2,4  - Replace cards at positions 0, 2, 4");
-                            System.out.println("   - draw none   - Keep all cards");
+                        System.out.println("\n[BETTING - " + phase + "]");
+                        System.out.println("   Call amount: " + callAmount + " chips");
+                        System.out.println("\n   Available actions:");
+                        if (callAmount == 0) {
+                            System.out.println("     - check       (no bet)");
+                            System.out.println("     - bet <amt>   (make a bet)");
                         } else {
-                            int callAmount = Integer.parseInt(msg.getParams().get("CALL"));
-                            
-                            System.out.println("\n[BETTING - " + phase + "]");
-                            System.out.println("   Call amount: " + callAmount + " chips");
-                            System.out.println("\n   Available actions:");
-                            if (callAmount == 0) {
-                                System.out.println("     - check       (no bet)");
-                                System.out.println("     - bet <amt>   (make a bet)");
-                            } else {
-                                System.out.println("     - call        (match " + callAmount + " chips)");
-                                System.out.println("     - bet <amt>   (raise)");
-                            }
-                            System.out.println("     - fold        (give up)");
+                            System.out.println("     - call        (match " + callAmount + " chips)");
+                            System.out.println("     - bet <amt>   (raise)");
                         }
-                        System.out.println("=".repeat(50));
+                        System.out.println("     - fold        (give up)");
                     }
+                    System.out.println("=".repeat(50));
                 }
-                case "ACTION" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String type = msg.getParams().get("TYPE");
-                    String args = msg.getParams().get("ARGS");
-                    
-                    if (!player.equals(playerId)) {
-                        String actionDesc = switch (type) {
-                            case "CHECK" -> "checked";
-                            case "CALL" -> "called";
-                            case "BET", "RAISE" -> args != null ? "bet " + args : "bet";
-                            case "FOLD" -> "folded";
-                            default -> type.toLowerCase();
-                        };
-                        System.out.println("   > Opponent " + actionDesc);
-                        shouldShowPrompt = true;
-                    }
+            }
+            case "ACTION" -> {
+                String player = msg.getParams().get("PLAYER");
+                String type = msg.getParams().get("TYPE");
+                String args = msg.getParams().get("ARGS");
+                
+                if (!player.equals(playerId)) {
+                    String actionDesc = switch (type) {
+                        case "CHECK" -> "checked";
+                        case "CALL" -> "called";
+                        case "BET", "RAISE" -> args != null ? "bet " + args : "bet";
+                        case "FOLD" -> "folded";
+                        default -> type.toLowerCase();
+                    };
+                    System.out.println("   > Opponent " + actionDesc);
+                    shouldShowPrompt = true;
                 }
-                case "DRAW_OK", "DRAWOK" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    if (player != null && player.equals(playerId)) {
-                        String newCards = msg.getParams().get("NEW");
-                        String count = msg.getParams().get("COUNT");
-                        
-                        if (newCards != null && !newCards.equals("*") && !newCards.isEmpty()) {
-                            // Update hand with new cards
-                            if (lastDrawIndices != null && !lastDrawIndices.isEmpty() && currentHand != null) {
-                                String[] hand = currentHand.split(",");
-                                String[] drawn = newCards.split(",");
-                                
-                                // Replace the drawn cards with new ones
-                                for (int i = 0; i < Math.min(lastDrawIndices.size(), drawn.length); i++) {
-                                    int index = lastDrawIndices.get(i);
-                                    if (index >= 0 && index < hand.length) {
-                                        hand[index] = drawn[i];
-                                    }
+            }
+            case "DRAW_OK", "DRAWOK" -> {
+                String player = msg.getParams().get("PLAYER");
+                if (player != null && player.equals(playerId)) {
+                    String newCards = msg.getParams().get("NEW");
+                    String count = msg.getParams().get("COUNT");
+                    
+                    if (newCards != null && !newCards.equals("*") && !newCards.isEmpty()) {
+                        // Update hand with new cards
+                        if (lastDrawIndices != null && !lastDrawIndices.isEmpty() && currentHand != null) {
+                            String[] hand = currentHand.split(",");
+                            String[] drawn = newCards.split(",");
+                            
+                            // Replace the drawn cards with new ones
+                            for (int i = 0; i < Math.min(lastDrawIndices.size(), drawn.length); i++) {
+                                int index = lastDrawIndices.get(i);
+                                if (index >= 0 && index < hand.length) {
+                                    hand[index] = drawn[i];
                                 }
-                                
-                                currentHand = String.join(",", hand);
                             }
-                            System.out.println("\n[DRAW] Drew " + count + " new card(s): " + newCards);
-                        } else {
-                            System.out.println("\n[DRAW] Kept all cards");
+                            
+                            currentHand = String.join(",", hand);
                         }
-                    }
-                }
-                case "ROUND" -> {
-                    String pot = msg.getParams().get("POT");
-                    System.out.println("\n[POT] Current: " + pot + " chips");
-                }
-                case "SHOWDOWN" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String hand = msg.getParams().get("HAND");
-                    String rank = msg.getParams().get("RANK");
-                    
-                    System.out.println("\n" + "=".repeat(40));
-                    if (player.equals(playerId)) {
-                        System.out.println("[SHOWDOWN] YOUR HAND");
-                        System.out.println("   " + formatHandNice(hand));
+                        System.out.println("\n[DRAW] Drew " + count + " new card(s): " + newCards);
                     } else {
-                        System.out.println("[SHOWDOWN] OPPONENT");
-                        System.out.println("   " + formatHandNice(hand));
+                        System.out.println("\n[DRAW] Kept all cards");
                     }
-                    System.out.println("   Rank: " + rank);
-                    System.out.println("=".repeat(40));
                 }
-                case "WINNER" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String pot = msg.getParams().get("POT");
-                    String rank = msg.getParams().get("RANK");
-                    
-                    System.out.println("\n" + "=".repeat(50));
-                    if (player.equals(playerId)) {
-                        System.out.println("*** YOU WIN! ***");
-                    } else {
-                        System.out.println("*** Opponent wins ***");
-                    }
-                    System.out.println("   Pot won: " + pot + " chips");
-                    System.out.println("   Winning hand: " + rank);
-                    System.out.println("=".repeat(50));
+            }
+            case "ROUND" -> {
+                String pot = msg.getParams().get("POT");
+                System.out.println("\n[POT] Current: " + pot + " chips");
+            }
+            case "SHOWDOWN" -> {
+                String player = msg.getParams().get("PLAYER");
+                String hand = msg.getParams().get("HAND");
+                String rank = msg.getParams().get("RANK");
+                
+                System.out.println("\n" + "=".repeat(40));
+                if (player.equals(playerId)) {
+                    System.out.println("[SHOWDOWN] YOUR HAND");
+                    System.out.println("   " + formatHandNice(hand));
+                } else {
+                    System.out.println("[SHOWDOWN] OPPONENT");
+                    System.out.println("   " + formatHandNice(hand));
                 }
-                case "PAYOUT" -> {
-                    String player = msg.getParams().get("PLAYER");
-                    String stack = msg.getParams().get("STACK");
-                    if (player.equals(playerId)) {
-                        System.out.println("[STACK] Your chips: " + stack);
-                    }
+                System.out.println("   Rank: " + rank);
+                System.out.println("=".repeat(40));
+            }
+            case "WINNER" -> {
+                String player = msg.getParams().get("PLAYER");
+                String pot = msg.getParams().get("POT");
+                String rank = msg.getParams().get("RANK");
+                
+                System.out.println("\n" + "=".repeat(50));
+                if (player.equals(playerId)) {
+                    System.out.println("*** YOU WIN! ***");
+                } else {
+                    System.out.println("*** Opponent wins ***");
                 }
-                case "END" -> {
-                    System.out.println("\n" + "=".repeat(40));
-                    System.out.println("*** GAME ENDED ***");
-                    System.out.println("=".repeat(40));
+                System.out.println("   Pot won: " + pot + " chips");
+                System.out.println("   Winning hand: " + rank);
+                System.out.println("=".repeat(50));
+            }
+            case "PAYOUT" -> {
+                String player = msg.getParams().get("PLAYER");
+                String stack = msg.getParams().get("STACK");
+                if (player.equals(playerId)) {
+                    System.out.println("[STACK] Your chips: " + stack);
                 }
             }
-            
-            // Redisplay prompt after async messages
-            if (shouldShowPrompt) {
-                System.out.print("> ");
-                System.out.flush();
+            case "HINT" -> {
+                String discard = msg.getParams().get("DISCARD");
+                String equity = msg.getParams().get("EQUITY");
+                String advice = "NONE".equals(discard) ? "stand pat" : "discard " + discard;
+                System.out.printf("%n[HINT] Best play: %s (win share %.1f%%, %s samples)%n",
+                    advice, Double.parseDouble(equity) * 100, msg.getParams().get("SAMPLES"));
+                shouldShowPrompt = true;
+            }
+            case "END" -> {
+                System.out.println("\n" + "=".repeat(40));
+                System.out.println("*** GAME ENDED ***");
+                System.out.println("=".repeat(40));
             }
-        } catch (Exception e) {
-            log.error("Error handling server message: {}", line, e);
+        }
+        
+        // Redisplay prompt after async messages
+        if (shouldShowPrompt) {
+            System.out.print("> ");
+            System.out.flush();
         }
     }
 
@@ -417,6 +491,13 @@ public class PokerClient {
                 
                 send(ClientMessage.draw(gameId, playerId, indices));
             }
+            case "hint" -> {
+                if (gameId == null || playerId == null) {
+                    System.out.println("Not in a game");
+                    return;
+                }
+                send(ClientMessage.hint(gameId, playerId));
+            }
             case "status" -> {
                 if (gameId == null || playerId == null) {
                     System.out.println("Not in a game");
@@ -446,7 +527,16 @@ public class PokerClient {
     private void send(ClientMessage message) {
         String msg = message.toProtocolString();
         log.debug("Sending: {}", msg);
-        writer.println(msg);
+        if (!binary) {
+            writer.println(msg);
+            return;
+        }
+        try {
+            out.write(BinaryCodec.encode(message));
+            out.flush();
+        } catch (IOException e) {
+            log.error("Error sending message", e);
+        }
     }
 
     private String formatCards(String cardStr) {
@@ -490,6 +580,7 @@ public class PokerClient {
         System.out.println(" Draw Phase:");
         System.out.println("   draw 0,2,4           - Replace cards at positions 0,2,4");
         System.out.println("   draw none            - Keep all cards");
+        System.out.println("   hint                 - Suggest which cards to draw");
         System.out.println();
         System.out.println(" Other:");
         System.out.println("   leave                - Leave current game");
@@ -512,10 +603,18 @@ public class PokerClient {
         System.out.println("Disconnected from server");
     }
 
+    /**
+     * Usage: PokerClient [--binary] [host] [port]
+     */
     public static void main(String[] args) {
         String host = DEFAULT_HOST;
         int port = DEFAULT_PORT;
 
+        boolean binary = args.length > 0 && args[0].equals("--binary");
+        if (binary) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+
         if (args.length > 0) {
             host = args[0];
         }
@@ -528,7 +627,7 @@ public class PokerClient {
             }
         }
 
-        PokerClient client = new PokerClient(host, port);
+        PokerClient client = new PokerClient(host, port, binary);
 
         try {
             client.connect();
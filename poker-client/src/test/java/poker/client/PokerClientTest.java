@@ -4,7 +4,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import poker.model.protocol.BinaryCodec;
 import poker.model.protocol.ClientMessage;
+import poker.model.protocol.ParamKey;
+import poker.model.protocol.ParsedFrame;
 
 import java.io.*;
 import java.net.ServerSocket;
@@ -98,6 +101,68 @@ class PokerClientTest {
         assertTrue(receivedMessage.contains("VERSION=1.0"));
     }
     
+    @Test
+    void testConnectNegotiatesBinaryProtocol() throws Exception {
+        serverThread = new Thread(() -> {
+            try {
+                serverSideSocket = mockServer.accept();
+                serverReader = new BufferedReader(
+                    new InputStreamReader(serverSideSocket.getInputStream(), StandardCharsets.UTF_8));
+                serverReader.readLine();
+                OutputStream out = serverSideSocket.getOutputStream();
+                out.write("- - OK MESSAGE=Welcome to Poker Server PROTO=BIN\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException e) {
+                // Expected when test closes
+            }
+        });
+        serverThread.start();
+
+        PokerClient client = new PokerClient(TEST_HOST, TEST_PORT, true);
+        client.connect();
+        serverThread.join(1000);
+
+        var method = PokerClient.class.getDeclaredMethod("send", ClientMessage.class);
+        method.setAccessible(true);
+        method.invoke(client, ClientMessage.create(10, 20));
+
+        // Nothing followed the HELLO, so the reader has buffered nothing of the frame
+        var frame = BinaryCodec.read(serverSideSocket.getInputStream());
+        var decoded = BinaryCodec.decode(frame, new ParsedFrame());
+        assertEquals("CREATE", decoded.actionName());
+        assertEquals("10", decoded.get(ParamKey.ANTE));
+    }
+
+    @Test
+    void testConnectFallsBackToTextWhenServerIgnoresBinary() throws Exception {
+        serverThread = new Thread(() -> {
+            try {
+                serverSideSocket = mockServer.accept();
+                serverReader = new BufferedReader(
+                    new InputStreamReader(serverSideSocket.getInputStream(), StandardCharsets.UTF_8));
+                serverWriter = new PrintWriter(
+                    new OutputStreamWriter(serverSideSocket.getOutputStream(), StandardCharsets.UTF_8), true);
+                String hello = serverReader.readLine();
+                assertTrue(hello.contains("PROTO=BIN"));
+                serverWriter.println("- - OK MESSAGE=Welcome to Poker Server");
+            } catch (IOException e) {
+                // Expected when test closes
+            }
+        });
+        serverThread.start();
+
+        PokerClient client = new PokerClient(TEST_HOST, TEST_PORT, true);
+        client.connect();
+        serverThread.join(1000);
+
+        var method = PokerClient.class.getDeclaredMethod("send", ClientMessage.class);
+        method.setAccessible(true);
+        method.invoke(client, ClientMessage.create(10, 20));
+
+        String received = serverReader.readLine();
+        assertTrue(received.contains("CREATE"));
+    }
+
     @Test
     void testConnectFailure() {
         // Don't start server, so connection should fail
@@ -3,8 +3,28 @@ package poker.common.cards;
 /**
  * Immutable record representing a playing card.
  * Implements Comparable to allow sorting by rank first, then suit.
+ * <p>
+ * Each card also has a compact index in {@code 0..51} ({@code suit * 13 + rank}),
+ * which is the bit position used by {@link CardSet}.
  */
 public record Card(Suit suit, Rank rank) implements Comparable<Card> {
+    /** Number of distinct cards in a standard deck */
+    public static final int COUNT = 52;
+
+    private static final Suit[] SUITS = Suit.values();
+    private static final Rank[] RANKS = Rank.values();
+
+    /** Canonical instances, indexed by {@link #index()} */
+    private static final Card[] CARDS = new Card[COUNT];
+
+    static {
+        for (Suit suit : SUITS) {
+            for (Rank rank : RANKS) {
+                Card card = new Card(suit, rank);
+                CARDS[card.index()] = card;
+            }
+        }
+    }
 
     public Card {
         if (suit == null) {
@@ -15,6 +35,47 @@ public record Card(Suit suit, Rank rank) implements Comparable<Card> {
         }
     }
 
+    /**
+     * Returns the canonical instance for the given suit and rank.
+     * Prefer this over the constructor: it never allocates.
+     * @throws IllegalArgumentException if suit or rank is null
+     */
+    public static Card of(Suit suit, Rank rank) {
+        if (suit == null) {
+            throw new IllegalArgumentException("Suit cannot be null");
+        }
+        if (rank == null) {
+            throw new IllegalArgumentException("Rank cannot be null");
+        }
+        return CARDS[suit.ordinal() * RANKS.length + rank.ordinal()];
+    }
+
+    /**
+     * Returns the compact index of this card: {@code suit.ordinal() * 13 + rank.ordinal()}.
+     */
+    public int index() {
+        return suit.ordinal() * RANKS.length + rank.ordinal();
+    }
+
+    /**
+     * Returns the single-bit mask of this card as used by {@link CardSet}.
+     */
+    public long mask() {
+        return 1L << index();
+    }
+
+    /**
+     * Returns the canonical card with the given compact index.
+     * @param index Card index in {@code 0..51}
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public static Card fromIndex(int index) {
+        if (index < 0 || index >= COUNT) {
+            throw new IllegalArgumentException("Invalid card index: " + index);
+        }
+        return CARDS[index];
+    }
+
     /**
      * Compare cards by rank first, then by suit.
      */
@@ -44,27 +105,37 @@ public record Card(Suit suit, Rank rank) implements Comparable<Card> {
 
     /**
      * Parse card from string format "RS" (e.g., "AS", "2H").
+     * Returns the canonical instance; no intermediate strings are created.
      * @param cardString The string representation
      * @return The Card object
      * @throws IllegalArgumentException if format is invalid
      */
     public static Card fromString(String cardString) {
-        if (cardString == null || cardString.length() < 2) {
-            throw new IllegalArgumentException("Invalid card string: " + cardString);
+        if (cardString == null) {
+            throw new IllegalArgumentException("Invalid card string: null");
+        }
+        return fromString(cardString, 0, cardString.length());
+    }
+
+    /**
+     * Parse a card from {@code text[start, end)} in format "RS".
+     * The suit letter is case-insensitive, the rank symbol is not.
+     * @throws IllegalArgumentException if the range does not hold a valid card
+     */
+    public static Card fromString(CharSequence text, int start, int end) {
+        if (end - start != 2) {
+            throw new IllegalArgumentException("Invalid card string: " + text.subSequence(start, end));
         }
-        
-        String rankSymbol = cardString.substring(0, cardString.length() - 1);
-        String suitChar = cardString.substring(cardString.length() - 1).toUpperCase();
-        
-        Rank rank = Rank.fromSymbol(rankSymbol);
-        Suit suit = switch (suitChar) {
-            case "C" -> Suit.CLUBS;
-            case "D" -> Suit.DIAMONDS;
-            case "H" -> Suit.HEARTS;
-            case "S" -> Suit.SPADES;
-            default -> throw new IllegalArgumentException("Invalid suit: " + suitChar);
+
+        Rank rank = Rank.fromSymbol(text.charAt(start));
+        Suit suit = switch (Character.toUpperCase(text.charAt(start + 1))) {
+            case 'C' -> Suit.CLUBS;
+            case 'D' -> Suit.DIAMONDS;
+            case 'H' -> Suit.HEARTS;
+            case 'S' -> Suit.SPADES;
+            default -> throw new IllegalArgumentException("Invalid suit: " + text.charAt(start + 1));
         };
-        
-        return new Card(suit, rank);
+
+        return of(suit, rank);
     }
 }
@@ -0,0 +1,195 @@
+package poker.common.cards;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of cards backed by a single 64-bit mask.
+ * Bit {@code i} is set when the card with {@link Card#index()} {@code i} is present,
+ * so union, intersection, membership and size are single bit operations.
+ * <p>
+ * Hot loops can work on the raw {@link #bits()} directly; this record is the
+ * convenient, type-safe view for everything else. A CardSet has no order:
+ * iteration and conversions always go from the lowest index to the highest.
+ */
+public record CardSet(long bits) implements Iterable<Card> {
+    /** Mask with all 52 cards set */
+    public static final long FULL_DECK_BITS = (1L << Card.COUNT) - 1;
+
+    public static final CardSet EMPTY = new CardSet(0L);
+    public static final CardSet FULL_DECK = new CardSet(FULL_DECK_BITS);
+
+    public CardSet {
+        if ((bits & ~FULL_DECK_BITS) != 0) {
+            throw new IllegalArgumentException("Card mask has bits outside the deck: " + Long.toHexString(bits));
+        }
+    }
+
+    /**
+     * Creates a set from individual cards.
+     */
+    public static CardSet of(Card... cards) {
+        long bits = 0;
+        for (Card card : cards) {
+            bits |= card.mask();
+        }
+        return new CardSet(bits);
+    }
+
+    /**
+     * Creates a set from a collection of cards (duplicates collapse).
+     */
+    public static CardSet of(Collection<Card> cards) {
+        return new CardSet(maskOf(cards));
+    }
+
+    /**
+     * Returns the mask of a collection of cards without creating a CardSet.
+     */
+    public static long maskOf(Collection<Card> cards) {
+        long bits = 0;
+        for (Card card : cards) {
+            bits |= card.mask();
+        }
+        return bits;
+    }
+
+    /**
+     * Parses the protocol format "AS,KH,2C". An empty or blank string yields the empty set.
+     * @throws IllegalArgumentException if any card is invalid
+     */
+    public static CardSet parse(String cards) {
+        if (cards == null) {
+            throw new IllegalArgumentException("Card list cannot be null");
+        }
+        long bits = 0;
+        int start = 0;
+        int length = cards.length();
+        while (start <= length) {
+            int end = cards.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int tokenStart = start;
+            int tokenEnd = end;
+            while (tokenStart < tokenEnd && cards.charAt(tokenStart) == ' ') {
+                tokenStart++;
+            }
+            while (tokenEnd > tokenStart && cards.charAt(tokenEnd - 1) == ' ') {
+                tokenEnd--;
+            }
+            if (tokenStart < tokenEnd) {
+                bits |= Card.fromString(cards, tokenStart, tokenEnd).mask();
+            } else if (end < length || start > 0) {
+                throw new IllegalArgumentException("Empty card in list: " + cards);
+            }
+            start = end + 1;
+        }
+        return new CardSet(bits);
+    }
+
+    public CardSet with(Card card) {
+        return new CardSet(bits | card.mask());
+    }
+
+    public CardSet without(Card card) {
+        return new CardSet(bits & ~card.mask());
+    }
+
+    public CardSet union(CardSet other) {
+        return new CardSet(bits | other.bits);
+    }
+
+    public CardSet intersection(CardSet other) {
+        return new CardSet(bits & other.bits);
+    }
+
+    public CardSet minus(CardSet other) {
+        return new CardSet(bits & ~other.bits);
+    }
+
+    /**
+     * Returns every card of the deck that is not in this set.
+     */
+    public CardSet complement() {
+        return new CardSet(~bits & FULL_DECK_BITS);
+    }
+
+    public boolean contains(Card card) {
+        return (bits & card.mask()) != 0;
+    }
+
+    public boolean containsAll(CardSet other) {
+        return (bits & other.bits) == other.bits;
+    }
+
+    public boolean intersects(CardSet other) {
+        return (bits & other.bits) != 0;
+    }
+
+    /**
+     * Returns the number of cards in this set.
+     */
+    public int size() {
+        return Long.bitCount(bits);
+    }
+
+    public boolean isEmpty() {
+        return bits == 0;
+    }
+
+    /**
+     * Returns the cards in index order.
+     */
+    public List<Card> toList() {
+        List<Card> cards = new ArrayList<>(size());
+        for (Card card : this) {
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    /**
+     * Returns the protocol format "AS,KH" in index order.
+     */
+    public String toProtocolString() {
+        StringBuilder sb = new StringBuilder(size() * 3);
+        for (Card card : this) {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(card);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<>() {
+            private long remaining = bits;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int index = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return Card.fromIndex(index);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "CardSet[" + toProtocolString() + "]";
+    }
+}
@@ -1,20 +1,30 @@
 package poker.common.cards;
 
 import java.security.SecureRandom;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a deck of 52 playing cards.
  * Provides factory methods for creating sorted and shuffled decks.
+ * <p>
+ * The deck is stored as a byte array of card indices (see {@link Card#index()}) and
+ * shuffled in place, so one instance can be kept per table and reshuffled for every
+ * hand without allocating. Cards can be drawn as canonical {@link Card} instances,
+ * into a caller-supplied index buffer, or straight into a {@link CardSet} mask.
  */
 public class Deck {
-    private final List<Card> cards;
+    private final byte[] cards;
     private int currentIndex;
 
-    private Deck(List<Card> cards) {
-        this.cards = new ArrayList<>(cards);
+    private Deck() {
+        this.cards = new byte[Card.COUNT];
+        for (int index = 0; index < Card.COUNT; index++) {
+            cards[index] = (byte) index;
+        }
         this.currentIndex = 0;
     }
 
@@ -23,21 +33,15 @@ public class Deck {
      * @return A new sorted Deck
      */
     public static Deck createSortedDeck() {
-        List<Card> cards = new ArrayList<>(52);
-        for (Suit suit : Suit.values()) {
-            for (Rank rank : Rank.values()) {
-                cards.add(new Card(suit, rank));
-            }
-        }
-        return new Deck(cards);
+        return new Deck();
     }
 
     /**
-     * Factory method: creates a shuffled deck using SecureRandom.
+     * Factory method: creates a shuffled deck using a shared SecureRandom.
      * @return A new shuffled Deck
      */
     public static Deck createShuffledDeck() {
-        return createShuffledDeck(new SecureRandom());
+        return createShuffledDeck(DefaultRandom.INSTANCE);
     }
 
     /**
@@ -45,26 +49,32 @@ public class Deck {
      * @param random The random number generator to use
      * @return A new shuffled Deck
      */
-    public static Deck createShuffledDeck(SecureRandom random) {
+    public static Deck createShuffledDeck(RandomGenerator random) {
         Deck deck = createSortedDeck();
         return deck.shuffle(random);
     }
 
     /**
-     * Shuffles this deck using SecureRandom and returns it.
+     * Shuffles this deck using a shared SecureRandom and returns it.
      * @return This deck (for method chaining)
      */
     public Deck shuffle() {
-        return shuffle(new SecureRandom());
+        return shuffle(DefaultRandom.INSTANCE);
     }
 
     /**
-     * Shuffles this deck using the provided random source and returns it.
+     * Shuffles all 52 cards in place (Fisher-Yates) and returns this deck with
+     * no cards drawn. Cards drawn earlier are shuffled back in.
      * @param random The random number generator to use
      * @return This deck (for method chaining)
      */
-    public Deck shuffle(SecureRandom random) {
-        Collections.shuffle(cards, random);
+    public Deck shuffle(RandomGenerator random) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
         currentIndex = 0;
         return this;
     }
@@ -75,10 +85,19 @@ public class Deck {
      * @throws IllegalStateException if deck is empty
      */
     public Card draw() {
+        return Card.fromIndex(drawIndex());
+    }
+
+    /**
+     * Draws the next card and returns its index.
+     * @return The index of the next card
+     * @throws IllegalStateException if deck is empty
+     */
+    public int drawIndex() {
         if (isEmpty()) {
             throw new IllegalStateException("Deck is empty");
         }
-        return cards.get(currentIndex++);
+        return cards[currentIndex++];
     }
 
     /**
@@ -88,19 +107,57 @@ public class Deck {
      * @throws IllegalStateException if not enough cards remain
      */
     public List<Card> draw(int count) {
+        checkDrawCount(count);
+
+        List<Card> drawn = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            drawn.add(draw());
+        }
+        return drawn;
+    }
+
+    /**
+     * Draws cards into a caller-supplied buffer of card indices.
+     * @param buffer Destination for the drawn card indices
+     * @param offset First position of the buffer to write
+     * @param count Number of cards to draw
+     * @throws IllegalStateException if not enough cards remain
+     */
+    public void draw(int[] buffer, int offset, int count) {
+        checkDrawCount(count);
+        if (offset < 0 || offset + count > buffer.length) {
+            throw new IndexOutOfBoundsException("Buffer too small for " + count + " cards at offset " + offset);
+        }
+
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = cards[currentIndex++];
+        }
+    }
+
+    /**
+     * Draws cards and returns them as a {@link CardSet} mask.
+     * @param count Number of cards to draw
+     * @return Mask of the drawn cards
+     * @throws IllegalStateException if not enough cards remain
+     */
+    public long drawMask(int count) {
+        checkDrawCount(count);
+
+        long mask = 0;
+        for (int i = 0; i < count; i++) {
+            mask |= 1L << cards[currentIndex++];
+        }
+        return mask;
+    }
+
+    private void checkDrawCount(int count) {
         if (count < 0) {
             throw new IllegalArgumentException("Count must be non-negative");
         }
         if (count > remaining()) {
-            throw new IllegalStateException("Not enough cards remaining: requested " + 
+            throw new IllegalStateException("Not enough cards remaining: requested " +
                 count + ", available " + remaining());
         }
-        
-        List<Card> drawn = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            drawn.add(draw());
-        }
-        return drawn;
     }
 
     /**
@@ -108,7 +165,7 @@ public class Deck {
      * @return Number of undrawn cards
      */
     public int remaining() {
-        return cards.size() - currentIndex;
+        return cards.length - currentIndex;
     }
 
     /**
@@ -124,11 +181,12 @@ public class Deck {
      * @return Total card count (52 for a standard deck)
      */
     public int size() {
-        return cards.size();
+        return cards.length;
     }
 
     /**
      * Resets the deck to its initial state (no cards drawn).
+     * The order is kept; call {@link #shuffle(RandomGenerator)} to deal a new hand.
      */
     public void reset() {
         currentIndex = 0;
@@ -139,6 +197,30 @@ public class Deck {
      * @return Unmodifiable list of cards
      */
     public List<Card> getCards() {
-        return Collections.unmodifiableList(cards);
+        return new CardView();
+    }
+
+    /**
+     * Read-only list view over the card array.
+     */
+    private final class CardView extends AbstractList<Card> implements RandomAccess {
+        @Override
+        public Card get(int index) {
+            return Card.fromIndex(cards[index]);
+        }
+
+        @Override
+        public int size() {
+            return cards.length;
+        }
+    }
+
+    /**
+     * Lazily created SecureRandom shared by the no-argument shuffles.
+     * SecureRandom is thread-safe, and seeding it once avoids hitting the
+     * entropy source on every shuffle.
+     */
+    private static final class DefaultRandom {
+        private static final SecureRandom INSTANCE = new SecureRandom();
     }
 }
@@ -47,11 +47,34 @@ public enum Rank {
      * @throws IllegalArgumentException if symbol is invalid
      */
     public static Rank fromSymbol(String symbol) {
-        for (Rank rank : values()) {
-            if (rank.symbol.equals(symbol)) {
-                return rank;
-            }
+        if (symbol != null && symbol.length() == 1) {
+            return fromSymbol(symbol.charAt(0));
         }
         throw new IllegalArgumentException("Invalid rank symbol: " + symbol);
     }
+
+    /**
+     * Parse rank from its single-character symbol.
+     * @param symbol The symbol (e.g., 'A', 'K', '2')
+     * @return The corresponding Rank
+     * @throws IllegalArgumentException if symbol is invalid
+     */
+    public static Rank fromSymbol(char symbol) {
+        return switch (symbol) {
+            case '2' -> TWO;
+            case '3' -> THREE;
+            case '4' -> FOUR;
+            case '5' -> FIVE;
+            case '6' -> SIX;
+            case '7' -> SEVEN;
+            case '8' -> EIGHT;
+            case '9' -> NINE;
+            case 'T' -> TEN;
+            case 'J' -> JACK;
+            case 'Q' -> QUEEN;
+            case 'K' -> KING;
+            case 'A' -> ACE;
+            default -> throw new IllegalArgumentException("Invalid rank symbol: " + symbol);
+        };
+    }
 }
@@ -0,0 +1,49 @@
+package poker.common.cards;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategy for creating the random generator a table shuffles with.
+ * A table asks for one generator when it is created and reuses it for every hand,
+ * so the entropy source is touched once per table rather than once per deal.
+ */
+@FunctionalInterface
+public interface ShuffleSource {
+
+    /**
+     * Creates the generator for one table. The returned generator is used by that
+     * table only and does not need to be thread-safe.
+     */
+    RandomGenerator newGenerator();
+
+    /**
+     * A self-seeded SecureRandom per table. This is the default for live play.
+     */
+    static ShuffleSource secure() {
+        return SecureRandom::new;
+    }
+
+    /**
+     * A fast, non-cryptographic SplittableRandom per table, seeded independently.
+     * Intended for simulations and bots, never for live play.
+     */
+    static ShuffleSource simulation() {
+        return SplittableRandom::new;
+    }
+
+    /**
+     * A deterministic source for replays and reproducible simulations.
+     * Tables receive successive splits of a generator seeded with {@code seed}, so the
+     * same seed and the same table creation order always produce the same deals.
+     */
+    static ShuffleSource seeded(long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        return () -> {
+            synchronized (root) {
+                return root.split();
+            }
+        };
+    }
+}
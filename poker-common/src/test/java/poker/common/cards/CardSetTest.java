@@ -0,0 +1,101 @@
+package poker.common.cards;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardSetTest {
+
+    private static final Card ACE_SPADES = new Card(Suit.SPADES, Rank.ACE);
+    private static final Card KING_HEARTS = new Card(Suit.HEARTS, Rank.KING);
+    private static final Card TWO_CLUBS = new Card(Suit.CLUBS, Rank.TWO);
+
+    @Test
+    void testEmptySet() {
+        assertTrue(CardSet.EMPTY.isEmpty());
+        assertEquals(0, CardSet.EMPTY.size());
+        assertEquals("", CardSet.EMPTY.toProtocolString());
+    }
+
+    @Test
+    void testFullDeck() {
+        assertEquals(52, CardSet.FULL_DECK.size());
+        assertTrue(CardSet.FULL_DECK.containsAll(CardSet.of(Deck.createSortedDeck().getCards())));
+        assertEquals(CardSet.EMPTY, CardSet.FULL_DECK.complement());
+    }
+
+    @Test
+    void testInvalidBits() {
+        assertThrows(IllegalArgumentException.class, () -> new CardSet(1L << 52));
+        assertThrows(IllegalArgumentException.class, () -> new CardSet(-1L));
+    }
+
+    @Test
+    void testOfAndContains() {
+        CardSet set = CardSet.of(ACE_SPADES, KING_HEARTS);
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains(ACE_SPADES));
+        assertTrue(set.contains(KING_HEARTS));
+        assertFalse(set.contains(TWO_CLUBS));
+    }
+
+    @Test
+    void testOfCollectionCollapsesDuplicates() {
+        CardSet set = CardSet.of(List.of(ACE_SPADES, ACE_SPADES, TWO_CLUBS));
+        assertEquals(2, set.size());
+        assertEquals(set.bits(), CardSet.maskOf(List.of(TWO_CLUBS, ACE_SPADES)));
+    }
+
+    @Test
+    void testSetOperations() {
+        CardSet a = CardSet.of(ACE_SPADES, KING_HEARTS);
+        CardSet b = CardSet.of(KING_HEARTS, TWO_CLUBS);
+
+        assertEquals(CardSet.of(ACE_SPADES, KING_HEARTS, TWO_CLUBS), a.union(b));
+        assertEquals(CardSet.of(KING_HEARTS), a.intersection(b));
+        assertEquals(CardSet.of(ACE_SPADES), a.minus(b));
+        assertTrue(a.intersects(b));
+        assertFalse(a.minus(b).intersects(b));
+        assertEquals(a, CardSet.of(ACE_SPADES).with(KING_HEARTS));
+        assertEquals(CardSet.of(ACE_SPADES), a.without(KING_HEARTS));
+        assertEquals(50, a.complement().size());
+    }
+
+    @Test
+    void testParse() {
+        CardSet set = CardSet.parse("AS,KH, 2C");
+
+        assertEquals(CardSet.of(ACE_SPADES, KING_HEARTS, TWO_CLUBS), set);
+        assertEquals(CardSet.EMPTY, CardSet.parse(""));
+    }
+
+    @Test
+    void testParseInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> CardSet.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> CardSet.parse("AS,XX"));
+        assertThrows(IllegalArgumentException.class, () -> CardSet.parse("AS,"));
+        assertThrows(IllegalArgumentException.class, () -> CardSet.parse(",AS"));
+    }
+
+    @Test
+    void testToProtocolStringIsInIndexOrder() {
+        CardSet set = CardSet.of(ACE_SPADES, TWO_CLUBS, KING_HEARTS);
+
+        assertEquals("2C,KH,AS", set.toProtocolString());
+        assertEquals(set, CardSet.parse(set.toProtocolString()));
+    }
+
+    @Test
+    void testToListAndIteration() {
+        CardSet set = CardSet.of(KING_HEARTS, TWO_CLUBS);
+        List<Card> iterated = new ArrayList<>();
+        set.forEach(iterated::add);
+
+        assertEquals(List.of(TWO_CLUBS, KING_HEARTS), set.toList());
+        assertEquals(set.toList(), iterated);
+    }
+}
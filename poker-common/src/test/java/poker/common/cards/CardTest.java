@@ -106,4 +106,58 @@ class CardTest {
         assertThrows(IllegalArgumentException.class, () -> Card.fromString("A"));
         assertThrows(IllegalArgumentException.class, () -> Card.fromString("AX"));
     }
+
+    @Test
+    void testIndexRoundTrip() {
+        Set<Integer> indices = new HashSet<>();
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(suit, rank);
+                indices.add(card.index());
+                assertEquals(card, Card.fromIndex(card.index()));
+                assertEquals(1L << card.index(), card.mask());
+            }
+        }
+        assertEquals(52, indices.size());
+        assertEquals(0, new Card(Suit.CLUBS, Rank.TWO).index());
+        assertEquals(51, new Card(Suit.SPADES, Rank.ACE).index());
+    }
+
+    @Test
+    void testFromIndexInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> Card.fromIndex(-1));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromIndex(52));
+    }
+
+    @Test
+    void testOfReturnsCanonicalInstance() {
+        Card card = Card.of(Suit.HEARTS, Rank.QUEEN);
+
+        assertSame(card, Card.of(Suit.HEARTS, Rank.QUEEN));
+        assertSame(card, Card.fromIndex(card.index()));
+        assertSame(card, Card.fromString("QH"));
+        assertEquals(new Card(Suit.HEARTS, Rank.QUEEN), card);
+    }
+
+    @Test
+    void testOfWithNulls() {
+        assertThrows(IllegalArgumentException.class, () -> Card.of(null, Rank.ACE));
+        assertThrows(IllegalArgumentException.class, () -> Card.of(Suit.SPADES, null));
+    }
+
+    @Test
+    void testFromStringRange() {
+        String text = "AS,kd,9c";
+
+        assertSame(Card.of(Suit.SPADES, Rank.ACE), Card.fromString(text, 0, 2));
+        assertSame(Card.of(Suit.CLUBS, Rank.NINE), Card.fromString(text, 6, 8));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromString(text, 3, 5));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromString(text, 0, 3));
+    }
+
+    @Test
+    void testFromStringLowercaseSuit() {
+        assertSame(Card.of(Suit.HEARTS, Rank.TWO), Card.fromString("2h"));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromString("10H"));
+    }
 }
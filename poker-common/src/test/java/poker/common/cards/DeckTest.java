@@ -5,6 +5,7 @@ import java.security.SecureRandom;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -126,4 +127,68 @@ class DeckTest {
         deck.draw(52);
         assertTrue(deck.isEmpty());
     }
+
+    @Test
+    void testDeckUsesCanonicalCards() {
+        Deck first = Deck.createShuffledDeck();
+        Deck second = Deck.createSortedDeck();
+
+        for (Card card : first.getCards()) {
+            assertSame(Card.of(card.suit(), card.rank()), card);
+        }
+        assertSame(first.getCards().get(0), second.getCards().get(first.getCards().get(0).index()));
+    }
+
+    @Test
+    void testShuffleIsDeterministicForSeed() {
+        Deck first = Deck.createShuffledDeck(new SplittableRandom(99));
+        Deck second = Deck.createShuffledDeck(new SplittableRandom(99));
+
+        assertEquals(first.getCards(), second.getCards());
+    }
+
+    @Test
+    void testReshuffleReusesDeck() {
+        Deck deck = Deck.createSortedDeck();
+        SplittableRandom random = new SplittableRandom(5);
+
+        for (int hand = 0; hand < 10; hand++) {
+            deck.shuffle(random);
+            assertEquals(52, deck.remaining());
+            deck.draw(20);
+            assertEquals(52, new HashSet<>(deck.getCards()).size());
+        }
+    }
+
+    @Test
+    void testDrawIntoBuffer() {
+        Deck deck = Deck.createSortedDeck();
+        int[] buffer = new int[7];
+
+        deck.draw(buffer, 2, 5);
+
+        assertArrayEquals(new int[]{0, 0, 0, 1, 2, 3, 4}, buffer);
+        assertEquals(47, deck.remaining());
+        assertThrows(IndexOutOfBoundsException.class, () -> deck.draw(buffer, 4, 5));
+        assertThrows(IllegalStateException.class, () -> deck.draw(new int[60], 0, 48));
+    }
+
+    @Test
+    void testDrawMask() {
+        Deck deck = Deck.createShuffledDeck(new SplittableRandom(3));
+        List<Card> expected = deck.getCards().subList(0, 5);
+
+        long mask = deck.drawMask(5);
+
+        assertEquals(CardSet.of(expected), new CardSet(mask));
+        assertEquals(47, deck.remaining());
+    }
+
+    @Test
+    void testDrawIndex() {
+        Deck deck = Deck.createSortedDeck();
+        assertEquals(0, deck.drawIndex());
+        assertEquals(Card.fromIndex(1), deck.draw());
+        assertEquals(50, deck.remaining());
+    }
 }
@@ -0,0 +1,57 @@
+package poker.common.cards;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShuffleSourceTest {
+
+    @Test
+    void testSecureCreatesSecureRandomPerTable() {
+        ShuffleSource source = ShuffleSource.secure();
+        RandomGenerator first = source.newGenerator();
+        RandomGenerator second = source.newGenerator();
+
+        assertInstanceOf(SecureRandom.class, first);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testSimulationCreatesIndependentGenerators() {
+        ShuffleSource source = ShuffleSource.simulation();
+
+        assertInstanceOf(SplittableRandom.class, source.newGenerator());
+        assertNotEquals(
+            Deck.createShuffledDeck(source.newGenerator()).getCards(),
+            Deck.createShuffledDeck(source.newGenerator()).getCards());
+    }
+
+    @Test
+    void testSeededIsReproducible() {
+        ShuffleSource first = ShuffleSource.seeded(42);
+        ShuffleSource second = ShuffleSource.seeded(42);
+
+        for (int table = 0; table < 3; table++) {
+            RandomGenerator a = first.newGenerator();
+            RandomGenerator b = second.newGenerator();
+            for (int hand = 0; hand < 3; hand++) {
+                assertEquals(
+                    Deck.createShuffledDeck(a).getCards(),
+                    Deck.createShuffledDeck(b).getCards());
+            }
+        }
+    }
+
+    @Test
+    void testSeededTablesDiffer() {
+        ShuffleSource source = ShuffleSource.seeded(7);
+
+        assertNotEquals(
+            Deck.createShuffledDeck(source.newGenerator()).getCards(),
+            Deck.createShuffledDeck(source.newGenerator()).getCards());
+    }
+}
@@ -0,0 +1,25 @@
+package poker.model.equity;
+
+import java.util.List;
+
+/**
+ * All discard choices for a hand, best first.
+ *
+ * @param options Evaluated discard choices ordered by descending equity
+ */
+public record DrawAdvice(List<DrawOption> options) {
+
+    public DrawAdvice {
+        if (options == null || options.isEmpty()) {
+            throw new IllegalArgumentException("Advice needs at least one option");
+        }
+        options = List.copyOf(options);
+    }
+
+    /**
+     * The discard choice with the highest equity.
+     */
+    public DrawOption best() {
+        return options.get(0);
+    }
+}
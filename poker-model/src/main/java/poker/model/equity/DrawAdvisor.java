@@ -0,0 +1,116 @@
+package poker.model.equity;
+
+import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+import poker.model.game.GameConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Recommends which cards to discard in the draw phase.
+ * <p>
+ * Every discard subset allowed by the draw limit (all 32 when five cards may be drawn)
+ * is evaluated against the given number of opponents with hidden hands. Subsets whose
+ * completions fit under the calculator's exhaustive threshold are enumerated exactly;
+ * the rest are sampled round-robin in small rounds, so when the time budget runs out
+ * every option has had about the same number of samples. A budget that runs out during
+ * the first round leaves the options not reached yet unsampled, ranked last.
+ */
+public class DrawAdvisor {
+    /** Iterations given to each sampled option per round */
+    private static final int ROUND_SIZE = 512;
+
+    private final EquityCalculator calculator;
+
+    public DrawAdvisor(GameConfig config) {
+        this(new EquityCalculator(config));
+    }
+
+    public DrawAdvisor(EquityCalculator calculator) {
+        if (calculator == null) {
+            throw new IllegalArgumentException("Equity calculator cannot be null");
+        }
+        this.calculator = calculator;
+    }
+
+    /**
+     * Evaluates every allowed discard for a hand.
+     * @param hand The player's five cards, in hand order
+     * @param opponents Number of opponents still in the hand
+     * @param deadCards Other cards known to be out of play, may be empty
+     * @param budget Per-option iteration limit and overall time limit
+     * @param seed Seed for sampling; an iteration-only budget gives reproducible advice
+     * @return Options ranked by equity, best first
+     */
+    public DrawAdvice advise(List<Card> hand, int opponents, CardSet deadCards, SimulationBudget budget, long seed) {
+        if (opponents < 1) {
+            throw new IllegalArgumentException("At least one opponent is required");
+        }
+        if (budget == null) {
+            throw new IllegalArgumentException("Budget cannot be null");
+        }
+        long deadline = budget.deadline(System.nanoTime());
+
+        List<List<Integer>> discards = discardSubsets(calculator.getMaxDraw());
+        EquityCalculator.Sampler[] samplers = new EquityCalculator.Sampler[discards.size()];
+        boolean[] exact = new boolean[discards.size()];
+        for (int i = 0; i < samplers.length; i++) {
+            List<Seat> seats = new ArrayList<>(opponents + 1);
+            seats.add(Seat.drawing(hand, discards.get(i)));
+            for (int j = 0; j < opponents; j++) {
+                seats.add(Seat.unknown());
+            }
+            samplers[i] = calculator.newSampler(seats, deadCards);
+            if (samplers[i].completions() <= calculator.getExhaustiveThreshold()) {
+                samplers[i].enumerate();
+                exact[i] = true;
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        boolean sampling = true;
+        boolean expired = false;
+        while (sampling && !expired) {
+            sampling = false;
+            for (int i = 0; i < samplers.length && !expired; i++) {
+                long remaining = budget.maxIterations() - samplers[i].iterations();
+                if (!exact[i] && remaining > 0) {
+                    samplers[i].run((int) Math.min(ROUND_SIZE, remaining), random);
+                    sampling = true;
+                    // Checked per option, so the budget is overrun by one option's round at most
+                    expired = deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0;
+                }
+            }
+        }
+
+        List<DrawOption> options = new ArrayList<>(samplers.length);
+        for (int i = 0; i < samplers.length; i++) {
+            options.add(new DrawOption(discards.get(i), samplers[i].result(), exact[i]));
+        }
+        options.sort(Comparator.comparingDouble(DrawOption::equity).reversed());
+        return new DrawAdvice(options);
+    }
+
+    /**
+     * All subsets of the five card positions with at most {@code maxDraw} elements.
+     */
+    static List<List<Integer>> discardSubsets(int maxDraw) {
+        List<List<Integer>> subsets = new ArrayList<>();
+        for (int mask = 0; mask < 32; mask++) {
+            if (Integer.bitCount(mask) > maxDraw) {
+                continue;
+            }
+            List<Integer> indices = new ArrayList<>(Integer.bitCount(mask));
+            for (int index = 0; index < 5; index++) {
+                if ((mask & (1 << index)) != 0) {
+                    indices.add(index);
+                }
+            }
+            subsets.add(List.copyOf(indices));
+        }
+        return subsets;
+    }
+}
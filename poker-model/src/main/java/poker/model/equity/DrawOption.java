@@ -0,0 +1,50 @@
+package poker.model.equity;
+
+import poker.model.game.HandRank;
+
+import java.util.List;
+
+/**
+ * Outcome of one discard choice, as evaluated by {@link DrawAdvisor}.
+ *
+ * @param discardIndices Positions of the cards to discard, ascending
+ * @param result Counts for the advised seat (seat 0) and its opponents
+ * @param exact Whether every completion was enumerated rather than sampled
+ */
+public record DrawOption(List<Integer> discardIndices, EquityResult result, boolean exact) {
+
+    public DrawOption {
+        discardIndices = List.copyOf(discardIndices);
+    }
+
+    /**
+     * Expected share of the pot after drawing; this is the EV the options are ranked by.
+     */
+    public double equity() {
+        return result.equity(0);
+    }
+
+    /**
+     * Probability of finishing with a hand of the given category.
+     */
+    public double categoryRate(HandRank.PokerRank category) {
+        return result.categoryRate(0, category);
+    }
+
+    /**
+     * Discard indices in protocol form ("0,3"), or "NONE" for standing pat.
+     */
+    public String toProtocolString() {
+        if (discardIndices.isEmpty()) {
+            return "NONE";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int index : discardIndices) {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(index);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,424 @@
+package poker.model.equity;
+
+import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+import poker.model.game.GameConfig;
+import poker.model.game.HandEvaluator;
+import poker.model.game.HandRank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo equity engine for five-card draw.
+ * <p>
+ * Each iteration deals the missing cards of every seat (draw replacements and hidden
+ * hands) from the cards that are neither known, discarded nor dead, evaluates every
+ * seat and records who won. Hands are handled as {@link CardSet} masks and evaluated
+ * with {@link HandEvaluator#evaluateStrength(long)}; with a table-based evaluator the
+ * sampling loop does not allocate.
+ * <p>
+ * {@link #solve} picks the cheapest exact-enough strategy: when the number of possible
+ * completions is at most the exhaustive threshold every completion is enumerated once,
+ * otherwise sampling is split into fixed-size blocks that run on a ForkJoinPool. Each
+ * block is seeded from the run seed and its block number and the per-block counters
+ * are summed, so an iteration-bounded run gives identical counts however many threads
+ * execute it.
+ */
+public class EquityCalculator {
+    /** Clock checks are done once per this many iterations to keep nanoTime off the hot path */
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+    /** Iterations per independently seeded sampling block */
+    static final int BLOCK_SIZE = 16_384;
+    /** Default maximum number of completions that are enumerated instead of sampled */
+    public static final long DEFAULT_EXHAUSTIVE_THRESHOLD = 250_000;
+
+    private final HandEvaluator evaluator;
+    private final int maxDraw;
+    private final long exhaustiveThreshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a calculator using the evaluator and draw limit of a game configuration.
+     */
+    public EquityCalculator(GameConfig config) {
+        this(config.getHandEvaluator(), config.getMaxDraw());
+    }
+
+    public EquityCalculator(HandEvaluator evaluator, int maxDraw) {
+        this(evaluator, maxDraw, DEFAULT_EXHAUSTIVE_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param evaluator Evaluator used to score the completed hands
+     * @param maxDraw Maximum number of cards a seat may draw
+     * @param exhaustiveThreshold Largest completion count {@link #solve} enumerates
+     * @param pool Pool running parallel sampling blocks
+     */
+    public EquityCalculator(HandEvaluator evaluator, int maxDraw, long exhaustiveThreshold, ForkJoinPool pool) {
+        if (evaluator == null) {
+            throw new IllegalArgumentException("Hand evaluator cannot be null");
+        }
+        if (maxDraw < 0 || maxDraw > 5) {
+            throw new IllegalArgumentException("Max draw must be between 0 and 5");
+        }
+        if (exhaustiveThreshold < 0) {
+            throw new IllegalArgumentException("Exhaustive threshold cannot be negative");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.evaluator = evaluator;
+        this.maxDraw = maxDraw;
+        this.exhaustiveThreshold = exhaustiveThreshold;
+        this.pool = pool;
+    }
+
+    public int getMaxDraw() {
+        return maxDraw;
+    }
+
+    long getExhaustiveThreshold() {
+        return exhaustiveThreshold;
+    }
+
+    /**
+     * Computes equity exactly when the completion space is small enough, otherwise
+     * estimates it with parallel sampling.
+     * @param seats Players still in the hand
+     * @param deadCards Cards known to be out of play, may be empty
+     * @param budget Limit for the sampling run; ignored when enumerating
+     * @param seed Seed for the sampling blocks
+     * @return Win/tie/loss counts per seat
+     */
+    public EquityResult solve(List<Seat> seats, CardSet deadCards, SimulationBudget budget, long seed) {
+        Sampler sampler = newSampler(seats, deadCards);
+        if (sampler.completions() <= exhaustiveThreshold) {
+            sampler.enumerate();
+            return sampler.result();
+        }
+        return sample(seats, deadCards, budget, seed, true);
+    }
+
+    /**
+     * Evaluates every possible completion exactly once.
+     * Each deal is counted as one iteration, so the rates are exact probabilities.
+     */
+    public EquityResult enumerate(List<Seat> seats, CardSet deadCards) {
+        Sampler sampler = newSampler(seats, deadCards);
+        sampler.enumerate();
+        return sampler.result();
+    }
+
+    /**
+     * Number of distinct ways the missing cards can be dealt, saturating at
+     * Long.MAX_VALUE.
+     */
+    public long completions(List<Seat> seats, CardSet deadCards) {
+        return newSampler(seats, deadCards).completions();
+    }
+
+    /**
+     * Estimates equity in independently seeded blocks of {@value #BLOCK_SIZE} iterations.
+     * With an iteration-only budget the result depends only on the seed, not on
+     * {@code parallel} or the pool size. A time limit makes the number of completed
+     * blocks, and therefore the result, timing-dependent.
+     * @param parallel Whether to run the blocks on the pool or on the calling thread
+     */
+    public EquityResult sample(List<Seat> seats, CardSet deadCards, SimulationBudget budget, long seed,
+                               boolean parallel) {
+        if (budget == null) {
+            throw new IllegalArgumentException("Budget cannot be null");
+        }
+        Sampler sampler = newSampler(seats, deadCards);
+        BlockRun run = new BlockRun(budget, seed);
+        if (!parallel) {
+            return run.work(sampler);
+        }
+
+        // Each worker gets its own scratch state; the first one reuses the validated sampler
+        int workers = pool.getParallelism();
+        List<ForkJoinTask<EquityResult>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Sampler worker = i == 0 ? sampler : newSampler(seats, deadCards);
+            tasks.add(pool.submit(() -> run.work(worker)));
+        }
+        EquityResult total = null;
+        for (ForkJoinTask<EquityResult> task : tasks) {
+            EquityResult part = task.join();
+            total = total == null ? part : total.merge(part);
+        }
+        return total;
+    }
+
+    /**
+     * Estimates equity with a fresh, unseeded random generator.
+     */
+    public EquityResult calculate(List<Seat> seats, CardSet deadCards, SimulationBudget budget) {
+        return calculate(seats, deadCards, budget, new SplittableRandom());
+    }
+
+    /**
+     * Estimates equity by sampling random completions until the budget runs out.
+     * @param seats Players still in the hand
+     * @param deadCards Cards known to be out of play (e.g. seen discards), may be empty
+     * @param budget Iteration and/or time limit
+     * @param random Source of randomness; a seeded generator and an iteration-only
+     *               budget give reproducible results
+     * @return Win/tie/loss counts per seat, in the order of {@code seats}
+     */
+    public EquityResult calculate(List<Seat> seats, CardSet deadCards, SimulationBudget budget,
+                                  RandomGenerator random) {
+        if (budget == null || random == null) {
+            throw new IllegalArgumentException("Budget and random generator cannot be null");
+        }
+        Sampler sampler = newSampler(seats, deadCards);
+        long deadline = budget.deadline(System.nanoTime());
+        long limit = budget.maxIterations();
+
+        while (sampler.iterations < limit) {
+            int batch = (int) Math.min(CLOCK_CHECK_INTERVAL, limit - sampler.iterations);
+            sampler.run(batch, random);
+            if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        return sampler.result();
+    }
+
+    /**
+     * Validates the seats and prepares the scratch state for sampling.
+     */
+    Sampler newSampler(List<Seat> seats, CardSet deadCards) {
+        if (seats == null || seats.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat is required");
+        }
+        long used = deadCards == null ? 0L : deadCards.bits();
+        int missing = 0;
+        for (Seat seat : seats) {
+            if (seat == null) {
+                throw new IllegalArgumentException("Seat cannot be null");
+            }
+            if (seat.draws() > maxDraw) {
+                throw new IllegalArgumentException("Seat draws " + seat.draws() +
+                    " cards, maximum is " + maxDraw);
+            }
+            long cards = seat.known() | seat.discarded();
+            if ((used & cards) != 0) {
+                throw new IllegalArgumentException("Card appears more than once: " +
+                    new CardSet(used & cards));
+            }
+            used |= cards;
+            missing += seat.missing();
+        }
+        int available = Card.COUNT - Long.bitCount(used);
+        if (missing > available) {
+            throw new IllegalArgumentException("Not enough cards left to complete every hand");
+        }
+        return new Sampler(evaluator, seats, ~used & CardSet.FULL_DECK_BITS);
+    }
+
+    /**
+     * Shared state of one block-sampling run. Workers claim block numbers from a
+     * counter, so every block is run exactly once whichever worker picks it up.
+     */
+    private static final class BlockRun {
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        private final long maxIterations;
+        private final long blocks;
+        private final long deadline;
+        private final long seed;
+        private final AtomicLong nextBlock = new AtomicLong();
+
+        BlockRun(SimulationBudget budget, long seed) {
+            this.maxIterations = budget.maxIterations();
+            // Rounded up without overflow: time-only budgets allow Long.MAX_VALUE iterations
+            this.blocks = maxIterations / BLOCK_SIZE + (maxIterations % BLOCK_SIZE == 0 ? 0 : 1);
+            this.deadline = budget.deadline(System.nanoTime());
+            this.seed = seed;
+        }
+
+        EquityResult work(Sampler sampler) {
+            long block;
+            while ((block = nextBlock.getAndIncrement()) < blocks) {
+                if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                int size = (int) Math.min(BLOCK_SIZE, maxIterations - block * BLOCK_SIZE);
+                sampler.resetStub();
+                sampler.run(size, new SplittableRandom(seed + block * GOLDEN_GAMMA));
+            }
+            return sampler.result();
+        }
+    }
+
+    /**
+     * Mutable sampling state: the stub of undealt cards, per-seat scratch and counters.
+     * Everything is allocated up front so {@link #run} allocates nothing.
+     */
+    static final class Sampler {
+        private final HandEvaluator evaluator;
+        private final long[] known;
+        private final int[] missing;
+        private final int[] initialStub;
+        private final int[] stub;
+        private final int[] strengths;
+
+        private final long[] wins;
+        private final long[] ties;
+        private final long[] losses;
+        private final long[] shares;
+        private final long[] categories;
+        private long iterations;
+
+        Sampler(HandEvaluator evaluator, List<Seat> seats, long stubMask) {
+            int count = seats.size();
+            this.evaluator = evaluator;
+            this.known = new long[count];
+            this.missing = new int[count];
+            for (int i = 0; i < count; i++) {
+                known[i] = seats.get(i).known();
+                missing[i] = seats.get(i).missing();
+            }
+            this.initialStub = new int[Long.bitCount(stubMask)];
+            int position = 0;
+            for (long bits = stubMask; bits != 0; bits &= bits - 1) {
+                initialStub[position++] = Long.numberOfTrailingZeros(bits);
+            }
+            this.stub = initialStub.clone();
+            this.strengths = new int[count];
+            this.wins = new long[count];
+            this.ties = new long[count];
+            this.losses = new long[count];
+            this.shares = new long[count];
+            this.categories = new long[count * EquityResult.CATEGORIES];
+        }
+
+        /**
+         * Samples the given number of random completions.
+         * Cards are picked with a partial Fisher-Yates shuffle of the stub; the stub
+         * stays a permutation, so it never needs resetting between iterations.
+         */
+        void run(int count, RandomGenerator random) {
+            int stubSize = stub.length;
+            for (int n = 0; n < count; n++) {
+                int position = 0;
+                for (int seat = 0; seat < known.length; seat++) {
+                    long hand = known[seat];
+                    for (int k = missing[seat]; k > 0; k--) {
+                        int pick = position + random.nextInt(stubSize - position);
+                        int card = stub[pick];
+                        stub[pick] = stub[position];
+                        stub[position++] = card;
+                        hand |= 1L << card;
+                    }
+                    strengths[seat] = evaluator.evaluateStrength(hand);
+                }
+                record();
+            }
+        }
+
+        /**
+         * Restores the initial stub order so a block's deals depend only on its seed,
+         * not on what ran before it on the same sampler.
+         */
+        void resetStub() {
+            System.arraycopy(initialStub, 0, stub, 0, stub.length);
+        }
+
+        /**
+         * Number of distinct deals of the missing cards, seat by seat, saturating at
+         * Long.MAX_VALUE.
+         */
+        long completions() {
+            long total = 1;
+            int available = initialStub.length;
+            for (int count : missing) {
+                long ways = 1;
+                for (int k = 0; k < count; k++) {
+                    ways = ways * (available - k) / (k + 1);
+                }
+                available -= count;
+                if (total > Long.MAX_VALUE / ways) {
+                    return Long.MAX_VALUE;
+                }
+                total *= ways;
+            }
+            return total;
+        }
+
+        /**
+         * Records every possible deal of the missing cards once.
+         */
+        void enumerate() {
+            deal(0, missing[0], 0, known[0], 0L);
+        }
+
+        /**
+         * Picks the remaining cards of one seat in increasing stub order, then moves on
+         * to the next seat; scores the deal once the last seat is complete.
+         */
+        private void deal(int seat, int remaining, int from, long hand, long used) {
+            if (remaining == 0) {
+                strengths[seat] = evaluator.evaluateStrength(hand);
+                if (seat + 1 == known.length) {
+                    record();
+                } else {
+                    deal(seat + 1, missing[seat + 1], 0, known[seat + 1], used);
+                }
+                return;
+            }
+            for (int position = from; position <= initialStub.length - remaining; position++) {
+                long card = 1L << initialStub[position];
+                if ((used & card) == 0) {
+                    deal(seat, remaining - 1, position + 1, hand | card, used | card);
+                }
+            }
+        }
+
+        /**
+         * Scores one deal whose seat strengths are in {@code strengths}.
+         */
+        void record() {
+            int best = Integer.MIN_VALUE;
+            int winners = 0;
+            for (int strength : strengths) {
+                if (strength > best) {
+                    best = strength;
+                    winners = 1;
+                } else if (strength == best) {
+                    winners++;
+                }
+            }
+            long share = EquityResult.SHARE_UNITS / winners;
+            for (int seat = 0; seat < strengths.length; seat++) {
+                categories[seat * EquityResult.CATEGORIES + HandRank.categoryOf(strengths[seat]).ordinal()]++;
+                if (strengths[seat] != best) {
+                    losses[seat]++;
+                } else {
+                    if (winners == 1) {
+                        wins[seat]++;
+                    } else {
+                        ties[seat]++;
+                    }
+                    shares[seat] += share;
+                }
+            }
+            iterations++;
+        }
+
+        long iterations() {
+            return iterations;
+        }
+
+        EquityResult result() {
+            return new EquityResult(iterations, wins, ties, losses, shares, categories);
+        }
+    }
+}
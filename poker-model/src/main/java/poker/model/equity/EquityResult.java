@@ -0,0 +1,155 @@
+package poker.model.equity;
+
+import poker.model.game.HandRank;
+
+import java.util.Arrays;
+
+/**
+ * Win/tie/loss counts and final hand-category counts per seat from an equity calculation.
+ * All counters are integers, so results from separate runs can be merged exactly.
+ */
+public final class EquityResult {
+    /**
+     * A whole pot expressed in share units. Split pots add {@code SHARE_UNITS / k} per
+     * winner, which is exact for any split among up to 10 seats.
+     */
+    static final long SHARE_UNITS = 2520;
+    /** Number of hand categories counted per seat */
+    static final int CATEGORIES = HandRank.PokerRank.values().length;
+
+    private final long iterations;
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] losses;
+    private final long[] shares;
+    private final long[] categories;
+
+    EquityResult(long iterations, long[] wins, long[] ties, long[] losses, long[] shares, long[] categories) {
+        this.iterations = iterations;
+        this.wins = wins.clone();
+        this.ties = ties.clone();
+        this.losses = losses.clone();
+        this.shares = shares.clone();
+        this.categories = categories.clone();
+    }
+
+    /**
+     * Number of deals evaluated.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    public int getSeatCount() {
+        return wins.length;
+    }
+
+    /** Deals this seat won outright */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /** Deals this seat split with at least one other seat */
+    public long getTies(int seat) {
+        return ties[seat];
+    }
+
+    /** Deals this seat lost */
+    public long getLosses(int seat) {
+        return losses[seat];
+    }
+
+    /** Deals in which this seat finished with a hand of the given category */
+    public long getCategoryCount(int seat, HandRank.PokerRank category) {
+        return categories[seat * CATEGORIES + category.ordinal()];
+    }
+
+    /**
+     * Probability of this seat finishing with a hand of the given category.
+     */
+    public double categoryRate(int seat, HandRank.PokerRank category) {
+        return rate(getCategoryCount(seat, category));
+    }
+
+    public double winRate(int seat) {
+        return rate(wins[seat]);
+    }
+
+    public double tieRate(int seat) {
+        return rate(ties[seat]);
+    }
+
+    public double lossRate(int seat) {
+        return rate(losses[seat]);
+    }
+
+    /**
+     * Expected share of the pot: outright wins count fully, split pots fractionally.
+     */
+    public double equity(int seat) {
+        return iterations == 0 ? 0.0 : (double) shares[seat] / (SHARE_UNITS * iterations);
+    }
+
+    /**
+     * Combines the counts of two runs over the same seats.
+     * @return A new result holding the summed counts
+     */
+    public EquityResult merge(EquityResult other) {
+        if (other.getSeatCount() != getSeatCount()) {
+            throw new IllegalArgumentException("Cannot merge results for different seat counts");
+        }
+        long[] mergedWins = wins.clone();
+        long[] mergedTies = ties.clone();
+        long[] mergedLosses = losses.clone();
+        long[] mergedShares = shares.clone();
+        long[] mergedCategories = categories.clone();
+        for (int seat = 0; seat < wins.length; seat++) {
+            mergedWins[seat] += other.wins[seat];
+            mergedTies[seat] += other.ties[seat];
+            mergedLosses[seat] += other.losses[seat];
+            mergedShares[seat] += other.shares[seat];
+        }
+        for (int i = 0; i < categories.length; i++) {
+            mergedCategories[i] += other.categories[i];
+        }
+        return new EquityResult(iterations + other.iterations,
+            mergedWins, mergedTies, mergedLosses, mergedShares, mergedCategories);
+    }
+
+    private double rate(long count) {
+        return iterations == 0 ? 0.0 : (double) count / iterations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EquityResult other)) {
+            return false;
+        }
+        return iterations == other.iterations
+            && Arrays.equals(wins, other.wins)
+            && Arrays.equals(ties, other.ties)
+            && Arrays.equals(losses, other.losses)
+            && Arrays.equals(shares, other.shares)
+            && Arrays.equals(categories, other.categories);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(iterations);
+        result = 31 * result + Arrays.hashCode(wins);
+        result = 31 * result + Arrays.hashCode(ties);
+        return 31 * result + Arrays.hashCode(losses);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("EquityResult{iterations=").append(iterations);
+        for (int seat = 0; seat < wins.length; seat++) {
+            sb.append(String.format(", seat%d=%.4f", seat, equity(seat)));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,91 @@
+package poker.model.equity;
+
+import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+
+import java.util.List;
+
+/**
+ * One player's position in an equity calculation.
+ * <p>
+ * {@code known} holds the cards the player is known to keep until showdown and
+ * {@code discarded} the cards they throw away in the draw. Every card missing from a
+ * five-card hand is dealt at random, so an opponent whose hand is hidden is simply a
+ * seat with no known cards.
+ *
+ * @param known Mask of cards kept until showdown
+ * @param discarded Mask of cards thrown away in the draw (dead for everyone)
+ */
+public record Seat(long known, long discarded) {
+
+    public Seat {
+        new CardSet(known | discarded);
+        if ((known & discarded) != 0) {
+            throw new IllegalArgumentException("A card cannot be both kept and discarded");
+        }
+        if (Long.bitCount(known) + Long.bitCount(discarded) > 5) {
+            throw new IllegalArgumentException("A seat holds at most 5 cards");
+        }
+    }
+
+    /**
+     * A player standing pat on a known hand.
+     */
+    public static Seat holding(List<Card> hand) {
+        requireFullHand(hand);
+        return new Seat(CardSet.maskOf(hand), 0L);
+    }
+
+    /**
+     * A player with a known hand who discards the cards at the given positions and
+     * draws replacements.
+     */
+    public static Seat drawing(List<Card> hand, List<Integer> discardIndices) {
+        requireFullHand(hand);
+        long discarded = 0;
+        for (int index : discardIndices) {
+            if (index < 0 || index >= hand.size()) {
+                throw new IllegalArgumentException("Invalid card index: " + index);
+            }
+            discarded |= hand.get(index).mask();
+        }
+        if (Long.bitCount(discarded) != discardIndices.size()) {
+            throw new IllegalArgumentException("Duplicate card indices");
+        }
+        return new Seat(CardSet.maskOf(hand) & ~discarded, discarded);
+    }
+
+    /**
+     * A player of whom only some cards are known; the rest are dealt at random.
+     */
+    public static Seat partial(CardSet known) {
+        return new Seat(known.bits(), 0L);
+    }
+
+    /**
+     * A player whose cards are entirely unknown.
+     */
+    public static Seat unknown() {
+        return new Seat(0L, 0L);
+    }
+
+    /**
+     * Number of cards dealt at random to complete this seat's hand.
+     */
+    public int missing() {
+        return 5 - Long.bitCount(known);
+    }
+
+    /**
+     * Number of cards this seat draws in the draw phase.
+     */
+    public int draws() {
+        return Long.bitCount(discarded);
+    }
+
+    private static void requireFullHand(List<Card> hand) {
+        if (hand == null || hand.size() != 5 || CardSet.of(hand).size() != 5) {
+            throw new IllegalArgumentException("Hand must contain exactly 5 distinct cards");
+        }
+    }
+}
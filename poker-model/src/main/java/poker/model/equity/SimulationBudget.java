@@ -0,0 +1,48 @@
+package poker.model.equity;
+
+import java.time.Duration;
+
+/**
+ * Limits on how much work a simulation may do. A run stops at whichever limit is
+ * reached first.
+ *
+ * @param maxIterations Maximum number of sampled deals
+ * @param maxTime Maximum wall-clock time, or null for no time limit
+ */
+public record SimulationBudget(long maxIterations, Duration maxTime) {
+
+    public SimulationBudget {
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Iteration budget must be positive");
+        }
+        if (maxTime != null && (maxTime.isNegative() || maxTime.isZero())) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+    }
+
+    /**
+     * A budget of a fixed number of iterations and no time limit.
+     */
+    public static SimulationBudget iterations(long iterations) {
+        return new SimulationBudget(iterations, null);
+    }
+
+    /**
+     * A budget bounded by wall-clock time only.
+     */
+    public static SimulationBudget time(Duration maxTime) {
+        return new SimulationBudget(Long.MAX_VALUE, maxTime);
+    }
+
+    /**
+     * Returns the System.nanoTime() value at which a run started now must stop,
+     * or Long.MAX_VALUE when there is no time limit.
+     */
+    long deadline(long startNanos) {
+        if (maxTime == null) {
+            return Long.MAX_VALUE;
+        }
+        long nanos = maxTime.toNanos();
+        return startNanos + nanos < startNanos ? Long.MAX_VALUE : startNanos + nanos;
+    }
+}
@@ -2,6 +2,7 @@ package poker.model.game;
 
 import lombok.Builder;
 import lombok.Getter;
+import poker.common.cards.ShuffleSource;
 
 /**
  * Configuration for a poker game.
@@ -31,6 +32,14 @@ public class GameConfig {
     @Builder.Default
     private final int initialChips = 1000;
 
+    /** Strategy used to rank hands at showdown */
+    @Builder.Default
+    private final HandEvaluator handEvaluator = new HandEvaluator.StandardPokerEvaluator();
+
+    /** Source of the per-table random generator used to shuffle the deck */
+    @Builder.Default
+    private final ShuffleSource shuffleSource = ShuffleSource.secure();
+
     public void validate() {
         if (ante < 0) {
             throw new IllegalArgumentException("Ante cannot be negative");
@@ -47,5 +56,11 @@ public class GameConfig {
         if (initialChips <= 0) {
             throw new IllegalArgumentException("Initial chips must be positive");
         }
+        if (handEvaluator == null) {
+            throw new IllegalArgumentException("Hand evaluator cannot be null");
+        }
+        if (shuffleSource == null) {
+            throw new IllegalArgumentException("Shuffle source cannot be null");
+        }
     }
 }
@@ -1,6 +1,7 @@
 package poker.model.game;
 
 import poker.common.cards.Card;
+import poker.common.cards.CardSet;
 import poker.common.cards.Rank;
 import poker.common.cards.Suit;
 
@@ -14,6 +15,25 @@ import java.util.stream.Collectors;
 public interface HandEvaluator {
     HandRank evaluate(List<Card> cards);
 
+    /**
+     * Evaluates a hand to its packed strength (see {@link HandRank#getStrength()}).
+     * Implementations that can answer without building a HandRank should override this.
+     */
+    default int evaluateStrength(List<Card> cards) {
+        return evaluate(cards).getStrength();
+    }
+
+    /**
+     * Evaluates a hand given as a {@link CardSet} mask to its packed strength.
+     * @param cards Mask with exactly five bits set
+     */
+    default int evaluateStrength(long cards) {
+        if (Long.bitCount(cards) != 5) {
+            throw new IllegalArgumentException("Hand must contain exactly 5 cards");
+        }
+        return evaluateStrength(new CardSet(cards).toList());
+    }
+
     /**
      * Standard 5-card draw poker hand evaluator.
      */
@@ -31,15 +51,16 @@ public interface HandEvaluator {
             boolean isFlush = checkFlush(sorted);
             boolean isStraight = checkStraight(sorted);
             Map<Rank, Integer> rankCounts = countRanks(sorted);
+            Rank straightHigh = isStraight ? straightHighCard(sorted) : null;
 
             // Check for Royal Flush
-            if (isFlush && isStraight && sorted.get(0).rank() == Rank.ACE) {
+            if (isFlush && isStraight && straightHigh == Rank.ACE) {
                 return new HandRank(HandRank.PokerRank.ROYAL_FLUSH, Rank.ACE);
             }
 
             // Check for Straight Flush
             if (isFlush && isStraight) {
-                return new HandRank(HandRank.PokerRank.STRAIGHT_FLUSH, sorted.get(0).rank());
+                return new HandRank(HandRank.PokerRank.STRAIGHT_FLUSH, straightHigh);
             }
 
             // Check for Four of a Kind
@@ -64,7 +85,7 @@ public interface HandEvaluator {
 
             // Check for Straight
             if (isStraight) {
-                return new HandRank(HandRank.PokerRank.STRAIGHT, sorted.get(0).rank());
+                return new HandRank(HandRank.PokerRank.STRAIGHT, straightHigh);
             }
 
             // Check for Three of a Kind
@@ -119,6 +140,16 @@ public interface HandEvaluator {
             return true;
         }
 
+        /**
+         * The wheel (A-2-3-4-5) plays the ace low, so it is a five-high straight.
+         */
+        private Rank straightHighCard(List<Card> sorted) {
+            if (sorted.get(0).rank() == Rank.ACE && sorted.get(1).rank() == Rank.FIVE) {
+                return Rank.FIVE;
+            }
+            return sorted.get(0).rank();
+        }
+
         private Map<Rank, Integer> countRanks(List<Card> cards) {
             Map<Rank, Integer> counts = new HashMap<>();
             for (Card card : cards) {
@@ -163,4 +194,180 @@ public interface HandEvaluator {
                 .collect(Collectors.toList());
         }
     }
+
+    /**
+     * Table-driven 5-card evaluator.
+     * Every rank pattern is resolved once when the class is loaded, so evaluating a hand
+     * takes a few array reads and returns a shared HandRank (or its packed strength)
+     * without allocating.
+     * Flushes are looked up by their 13-bit rank mask, hands of five distinct ranks by the
+     * same mask, and paired hands by the product of one prime per rank.
+     * The tables are filled from {@link StandardPokerEvaluator}, so both evaluators always
+     * agree on ranking and kickers.
+     */
+    class LookupTableEvaluator implements HandEvaluator {
+        private static final int[] RANK_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41};
+        private static final int RANK_COUNT = RANK_PRIMES.length;
+        private static final int RANK_MASK = (1 << RANK_COUNT) - 1;
+        private static final int HASH_BITS = 14;
+        private static final int HASH_MASK = (1 << HASH_BITS) - 1;
+
+        // Table slots: flushes, then distinct ranks, then the paired hash table
+        private static final int FLUSH_BASE = 0;
+        private static final int DISTINCT_BASE = 1 << RANK_COUNT;
+        private static final int PAIRED_BASE = DISTINCT_BASE + (1 << RANK_COUNT);
+        private static final int SLOT_COUNT = PAIRED_BASE + (1 << HASH_BITS);
+
+        private static final int[] PAIRED_KEYS = new int[1 << HASH_BITS];
+        private static final HandRank[] RANKS = new HandRank[SLOT_COUNT];
+        private static final int[] STRENGTHS = new int[SLOT_COUNT];
+
+        static {
+            buildTables(new StandardPokerEvaluator(), new int[RANK_COUNT], 0, 0);
+        }
+
+        @Override
+        public HandRank evaluate(List<Card> cards) {
+            return RANKS[slotFor(cards)];
+        }
+
+        @Override
+        public int evaluateStrength(List<Card> cards) {
+            return STRENGTHS[slotFor(cards)];
+        }
+
+        @Override
+        public int evaluateStrength(long cards) {
+            // Five distinct bits are five distinct cards
+            if (Long.bitCount(cards) != 5 || (cards & ~CardSet.FULL_DECK_BITS) != 0) {
+                throw new IllegalArgumentException("Hand must contain exactly 5 cards");
+            }
+
+            int rankBits = 0;
+            int suitBits = 0;
+            int product = 1;
+            for (int suit = 0; suit < 4; suit++) {
+                int suitRanks = (int) (cards >>> (suit * RANK_COUNT)) & RANK_MASK;
+                if (suitRanks != 0) {
+                    suitBits |= 1 << suit;
+                    rankBits |= suitRanks;
+                    for (int bits = suitRanks; bits != 0; bits &= bits - 1) {
+                        product *= RANK_PRIMES[Integer.numberOfTrailingZeros(bits)];
+                    }
+                }
+            }
+            return STRENGTHS[slotFor(rankBits, suitBits, product)];
+        }
+
+        private static int slotFor(List<Card> cards) {
+            if (cards == null || cards.size() != 5) {
+                throw new IllegalArgumentException("Hand must contain exactly 5 cards");
+            }
+
+            int rankBits = 0;
+            int suitBits = 0;
+            int product = 1;
+            long seen = 0;
+            for (int i = 0; i < 5; i++) {
+                Card card = cards.get(i);
+                int rank = card.rank().ordinal();
+                rankBits |= 1 << rank;
+                suitBits |= 1 << card.suit().ordinal();
+                product *= RANK_PRIMES[rank];
+                seen |= 1L << card.index();
+            }
+            // A repeated card can still hash to a valid paired slot, so check explicitly
+            if (Long.bitCount(seen) != 5) {
+                throw new IllegalArgumentException("Hand contains duplicate cards");
+            }
+            return slotFor(rankBits, suitBits, product);
+        }
+
+        private static int slotFor(int rankBits, int suitBits, int product) {
+            int slot;
+            if ((suitBits & (suitBits - 1)) == 0) {
+                slot = FLUSH_BASE + rankBits;
+            } else if (Integer.bitCount(rankBits) == 5) {
+                slot = DISTINCT_BASE + rankBits;
+            } else {
+                slot = pairedSlot(product);
+            }
+
+            if (slot < 0 || RANKS[slot] == null) {
+                throw new IllegalArgumentException("Hand contains duplicate cards");
+            }
+            return slot;
+        }
+
+        private static int pairedSlot(int product) {
+            int index = hashIndex(product);
+            while (PAIRED_KEYS[index] != 0) {
+                if (PAIRED_KEYS[index] == product) {
+                    return PAIRED_BASE + index;
+                }
+                index = (index + 1) & HASH_MASK;
+            }
+            return -1;
+        }
+
+        private static int hashIndex(int product) {
+            return (product * 0x9E3779B9) >>> (32 - HASH_BITS);
+        }
+
+        /**
+         * Enumerates every multiset of five ranks (at most four of each) and stores the
+         * reference evaluation of a representative hand for it.
+         */
+        private static void buildTables(HandEvaluator reference, int[] counts, int rank, int total) {
+            if (total == 5) {
+                storePattern(reference, counts);
+                return;
+            }
+            if (rank == RANK_COUNT) {
+                return;
+            }
+            for (int count = Math.min(4, 5 - total); count >= 0; count--) {
+                counts[rank] = count;
+                buildTables(reference, counts, rank + 1, total + count);
+            }
+            counts[rank] = 0;
+        }
+
+        private static void storePattern(HandEvaluator reference, int[] counts) {
+            Rank[] ranks = Rank.values();
+            Suit[] suits = Suit.values();
+            List<Card> hand = new ArrayList<>(5);
+            int rankBits = 0;
+            int product = 1;
+            for (int rank = 0; rank < RANK_COUNT; rank++) {
+                for (int copy = 0; copy < counts[rank]; copy++) {
+                    hand.add(Card.of(suits[copy], ranks[rank]));
+                    product *= RANK_PRIMES[rank];
+                }
+                if (counts[rank] > 0) {
+                    rankBits |= 1 << rank;
+                }
+            }
+
+            if (Integer.bitCount(rankBits) == 5) {
+                // One copy of each rank: every card is a club, so this is the flush variant
+                store(FLUSH_BASE + rankBits, reference.evaluate(hand));
+                hand.set(0, Card.of(Suit.DIAMONDS, hand.get(0).rank()));
+                store(DISTINCT_BASE + rankBits, reference.evaluate(hand));
+                return;
+            }
+
+            int index = hashIndex(product);
+            while (PAIRED_KEYS[index] != 0) {
+                index = (index + 1) & HASH_MASK;
+            }
+            PAIRED_KEYS[index] = product;
+            store(PAIRED_BASE + index, reference.evaluate(hand));
+        }
+
+        private static void store(int slot, HandRank rank) {
+            RANKS[slot] = rank;
+            STRENGTHS[slot] = rank.getStrength();
+        }
+    }
 }
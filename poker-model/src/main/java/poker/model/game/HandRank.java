@@ -6,6 +6,10 @@ import poker.common.cards.Rank;
 /**
  * Represents the ranking of a poker hand.
  * Implements Comparable to allow comparing hands.
+ * <p>
+ * Every HandRank also carries a packed {@code strength}: the category value in bits 20-23
+ * followed by up to five kickers, one rank value per nibble from bit 16 downwards.
+ * Comparing two strengths as plain ints gives the same order as comparing the hands.
  */
 @Getter
 public class HandRank implements Comparable<HandRank> {
@@ -37,35 +41,99 @@ public class HandRank implements Comparable<HandRank> {
         public String getDisplayName() {
             return displayName;
         }
+
+        /**
+         * Look up a category by its numeric value.
+         * @throws IllegalArgumentException if no category has that value
+         */
+        public static PokerRank fromValue(int value) {
+            if (value < 1 || value > VALUES.length) {
+                throw new IllegalArgumentException("Invalid poker rank value: " + value);
+            }
+            return VALUES[value - 1];
+        }
+
+        /** Cached copy of values(); values() clones the array on every call */
+        private static final PokerRank[] VALUES = values();
     }
 
+    /** Maximum number of kickers that fit into a packed strength */
+    public static final int MAX_KICKERS = 5;
+
+    private static final int CATEGORY_SHIFT = 20;
+    private static final int KICKER_BITS = 4;
+    private static final int KICKER_MASK = (1 << KICKER_BITS) - 1;
+    private static final Rank[] RANKS = Rank.values();
+
     private final PokerRank rank;
     private final Rank[] kickers; // Sorted in descending order
+    private final int strength;
 
     public HandRank(PokerRank rank, Rank... kickers) {
+        if (kickers.length > MAX_KICKERS) {
+            throw new IllegalArgumentException("A hand rank has at most " + MAX_KICKERS + " kickers");
+        }
         this.rank = rank;
-        this.kickers = kickers;
+        // Copied in and out: evaluators hand the same instances to every caller
+        this.kickers = kickers.clone();
+        this.strength = pack(rank, kickers);
     }
 
-    @Override
-    public int compareTo(HandRank other) {
-        // First compare by poker rank
-        int rankComparison = Integer.compare(this.rank.getValue(), other.rank.getValue());
-        if (rankComparison != 0) {
-            return rankComparison;
+    /**
+     * Kicker ranks in descending order, as a copy the caller may modify.
+     */
+    public Rank[] getKickers() {
+        return kickers.clone();
+    }
+
+    /**
+     * Packs a category and its kickers into a single comparable int.
+     */
+    public static int pack(PokerRank rank, Rank... kickers) {
+        int packed = rank.getValue() << CATEGORY_SHIFT;
+        int shift = CATEGORY_SHIFT;
+        for (Rank kicker : kickers) {
+            shift -= KICKER_BITS;
+            packed |= kicker.getValue() << shift;
         }
+        return packed;
+    }
 
-        // If ranks are equal, compare kickers
-        int minLength = Math.min(this.kickers.length, other.kickers.length);
-        for (int i = 0; i < minLength; i++) {
-            int kickerComparison = this.kickers[i].compareTo(other.kickers[i]);
-            if (kickerComparison != 0) {
-                return kickerComparison;
+    /**
+     * Returns the category encoded in a packed strength.
+     */
+    public static PokerRank categoryOf(int strength) {
+        return PokerRank.fromValue(strength >>> CATEGORY_SHIFT);
+    }
+
+    /**
+     * Rebuilds a HandRank from a packed strength.
+     */
+    public static HandRank fromStrength(int strength) {
+        PokerRank category = categoryOf(strength);
+        int count = 0;
+        while (count < MAX_KICKERS && kickerValue(strength, count) != 0) {
+            count++;
+        }
+        Rank[] kickers = new Rank[count];
+        for (int i = 0; i < count; i++) {
+            // Rank values start at 2 for TWO
+            int value = kickerValue(strength, i);
+            if (value < 2 || value - 2 >= RANKS.length) {
+                throw new IllegalArgumentException("Invalid kicker in strength: " + strength);
             }
+            kickers[i] = RANKS[value - 2];
         }
+        return new HandRank(category, kickers);
+    }
+
+    private static int kickerValue(int strength, int index) {
+        return (strength >>> (CATEGORY_SHIFT - KICKER_BITS * (index + 1))) & KICKER_MASK;
+    }
 
-        // If all kickers are equal, compare by number of kickers
-        return Integer.compare(this.kickers.length, other.kickers.length);
+    @Override
+    public int compareTo(HandRank other) {
+        return Integer.compare(this.strength, other.strength);
     }
 
     @Override
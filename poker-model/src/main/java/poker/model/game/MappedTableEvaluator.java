@@ -0,0 +1,289 @@
+package poker.model.game;
+
+import lombok.extern.slf4j.Slf4j;
+import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Hand evaluator backed by a precomputed table of all 2,598,960 five-card hands.
+ * <p>
+ * The table file holds, after a small header, the distinct packed strengths (one int per
+ * equivalence class, 7,462 in total) followed by one short class id per hand, indexed by
+ * the hand's position in the combinatorial number system. The header carries a CRC-32 of
+ * the rest of the file, and mapping also checks that the strengths are valid and ascending
+ * and that every class id is in range, so a damaged or planted file is never trusted.
+ * The file is memory-mapped read-only, so evaluating a hand is one read from the mapping
+ * plus a lookup in the small on-heap class table, and every JVM mapping the same file
+ * shares its pages through the OS page cache.
+ * <p>
+ * The table is generated once, either ahead of time with {@link #main} or on first use
+ * by {@link #open(Path)}, and later starts only map the existing file.
+ */
+@Slf4j
+public class MappedTableEvaluator implements HandEvaluator {
+    /** Number of distinct five-card hands, C(52, 5) */
+    public static final int HAND_COUNT = 2_598_960;
+    /** System property overriding the location used by {@link #openDefault()} */
+    public static final String TABLE_PATH_PROPERTY = "poker.strengthTable";
+
+    private static final int MAGIC = 0x504B5354; // "PKST"
+    private static final int VERSION = 2;
+    /** Magic, version, class count, hand count and CRC-32 of the body */
+    private static final int HEADER_SIZE = 20;
+
+    /** BINOMIAL[k][n] = C(n, k) for the combinatorial hand index */
+    private static final int[][] BINOMIAL = new int[6][Card.COUNT + 1];
+
+    static {
+        for (int n = 0; n <= Card.COUNT; n++) {
+            BINOMIAL[0][n] = 1;
+            for (int k = 1; k <= 5; k++) {
+                BINOMIAL[k][n] = n == 0 ? 0 : BINOMIAL[k][n - 1] + BINOMIAL[k - 1][n - 1];
+            }
+        }
+    }
+
+    private final MappedByteBuffer table;
+    private final int[] classStrengths;
+    private final int handsOffset;
+
+    private MappedTableEvaluator(MappedByteBuffer table, int[] classStrengths) {
+        this.table = table;
+        this.classStrengths = classStrengths;
+        this.handsOffset = HEADER_SIZE + classStrengths.length * Integer.BYTES;
+    }
+
+    /**
+     * Maps the table at the given path, generating it first if the file is missing
+     * or not a valid table.
+     * @param path Location of the table file
+     * @return An evaluator reading from the mapped file
+     * @throws IOException if the table cannot be written or mapped
+     */
+    public static MappedTableEvaluator open(Path path) throws IOException {
+        if (Files.exists(path)) {
+            try {
+                return map(path);
+            } catch (IllegalStateException e) {
+                log.warn("Regenerating invalid strength table {}: {}", path, e.getMessage());
+            }
+        }
+        generate(path);
+        return map(path);
+    }
+
+    /**
+     * Returns the process-wide evaluator for the default table location: the
+     * {@value #TABLE_PATH_PROPERTY} system property, or a file in ~/.poker. The shared,
+     * world-writable java.io.tmpdir is never used by default.
+     * @throws IOException if the table cannot be written or mapped
+     */
+    public static MappedTableEvaluator openDefault() throws IOException {
+        synchronized (DefaultTable.class) {
+            if (DefaultTable.instance == null) {
+                DefaultTable.instance = open(defaultPath());
+            }
+            return DefaultTable.instance;
+        }
+    }
+
+    static Path defaultPath() {
+        String configured = System.getProperty(TABLE_PATH_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".poker", "poker-strength-table-v" + VERSION + ".bin");
+    }
+
+    /**
+     * Evaluates every hand and writes the table to the given path. The file is written
+     * next to the target and moved into place, so concurrent readers never map a
+     * partially written table.
+     * @param path Location of the table file
+     * @throws IOException if the file cannot be written
+     */
+    public static void generate(Path path) throws IOException {
+        long start = System.nanoTime();
+        HandEvaluator evaluator = new HandEvaluator.LookupTableEvaluator();
+
+        int[] strengths = new int[HAND_COUNT];
+        for (int c4 = 4; c4 < Card.COUNT; c4++) {
+            for (int c3 = 3; c3 < c4; c3++) {
+                for (int c2 = 2; c2 < c3; c2++) {
+                    for (int c1 = 1; c1 < c2; c1++) {
+                        for (int c0 = 0; c0 < c1; c0++) {
+                            long mask = (1L << c0) | (1L << c1) | (1L << c2) | (1L << c3) | (1L << c4);
+                            strengths[handIndex(mask)] = evaluator.evaluateStrength(mask);
+                        }
+                    }
+                }
+            }
+        }
+        int[] classes = Arrays.stream(strengths).distinct().sorted().toArray();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + classes.length * Integer.BYTES + HAND_COUNT * Short.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(classes.length).putInt(HAND_COUNT).putInt(0);
+        for (int strength : classes) {
+            buffer.putInt(strength);
+        }
+        for (int strength : strengths) {
+            buffer.putShort((short) Arrays.binarySearch(classes, strength));
+        }
+        buffer.putInt(16, checksum(buffer));
+        buffer.flip();
+
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            // Temp files are owner-only; the table is meant to be mapped by other server processes too
+            PosixFileAttributeView attributes = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+            if (attributes != null) {
+                attributes.setPermissions(PosixFilePermissions.fromString("rw-r--r--"));
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Generated strength table {} ({} classes) in {} ms",
+            absolute, classes.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static MappedTableEvaluator map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IllegalStateException("File too short");
+            }
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION) {
+                throw new IllegalStateException("Unknown file format");
+            }
+            int classCount = table.getInt(8);
+            if (table.getInt(12) != HAND_COUNT || classCount <= 0 || classCount > Short.MAX_VALUE
+                    || size != HEADER_SIZE + (long) classCount * Integer.BYTES + (long) HAND_COUNT * Short.BYTES) {
+                throw new IllegalStateException("Unexpected table size");
+            }
+            if (table.getInt(16) != checksum(table)) {
+                throw new IllegalStateException("Checksum mismatch");
+            }
+            int[] classStrengths = new int[classCount];
+            for (int i = 0; i < classCount; i++) {
+                classStrengths[i] = table.getInt(HEADER_SIZE + i * Integer.BYTES);
+                if (i > 0 && classStrengths[i] <= classStrengths[i - 1]) {
+                    throw new IllegalStateException("Class strengths out of order at " + i);
+                }
+                try {
+                    HandRank.fromStrength(classStrengths[i]);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException("Invalid class strength at " + i, e);
+                }
+            }
+            int handsOffset = HEADER_SIZE + classCount * Integer.BYTES;
+            for (int i = 0; i < HAND_COUNT; i++) {
+                int classId = table.getShort(handsOffset + i * Short.BYTES);
+                if (classId < 0 || classId >= classCount) {
+                    throw new IllegalStateException("Class id out of range for hand " + i);
+                }
+            }
+            return new MappedTableEvaluator(table, classStrengths);
+        }
+    }
+
+    /**
+     * CRC-32 of everything after the header, whatever the buffer's position.
+     */
+    private static int checksum(ByteBuffer table) {
+        CRC32 crc = new CRC32();
+        crc.update(table.duplicate().position(HEADER_SIZE).limit(table.capacity()));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Position of a five-card hand in the combinatorial number system:
+     * sum of C(c_i, i + 1) over the card indices in ascending order.
+     * @param cards Mask with exactly five bits set
+     * @return Index between 0 and {@value #HAND_COUNT} - 1
+     */
+    static int handIndex(long cards) {
+        int index = 0;
+        long bits = cards;
+        for (int k = 1; k <= 5; k++) {
+            index += BINOMIAL[k][Long.numberOfTrailingZeros(bits)];
+            bits &= bits - 1;
+        }
+        return index;
+    }
+
+    @Override
+    public HandRank evaluate(List<Card> cards) {
+        return HandRank.fromStrength(evaluateStrength(cards));
+    }
+
+    @Override
+    public int evaluateStrength(List<Card> cards) {
+        if (cards == null || cards.size() != 5) {
+            throw new IllegalArgumentException("Hand must contain exactly 5 cards");
+        }
+        long mask = CardSet.maskOf(cards);
+        if (Long.bitCount(mask) != 5) {
+            throw new IllegalArgumentException("Hand contains duplicate cards");
+        }
+        return strengthAt(handIndex(mask));
+    }
+
+    @Override
+    public int evaluateStrength(long cards) {
+        if (Long.bitCount(cards) != 5 || (cards & ~CardSet.FULL_DECK_BITS) != 0) {
+            throw new IllegalArgumentException("Hand must contain exactly 5 cards");
+        }
+        return strengthAt(handIndex(cards));
+    }
+
+    private int strengthAt(int index) {
+        return classStrengths[table.getShort(handsOffset + index * Short.BYTES)];
+    }
+
+    /**
+     * Generates the table ahead of time, e.g. as a deployment step.
+     * Usage: MappedTableEvaluator [path]
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : defaultPath();
+        generate(path);
+        System.out.println("Strength table written to " + path.toAbsolutePath());
+    }
+
+    /**
+     * Holder for the lazily opened default table.
+     */
+    private static final class DefaultTable {
+        private static MappedTableEvaluator instance;
+    }
+}
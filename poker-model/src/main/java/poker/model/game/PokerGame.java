@@ -1,5 +1,6 @@
 package poker.model.game;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import poker.common.cards.Card;
 import poker.common.cards.Deck;
@@ -8,13 +9,16 @@ import poker.model.players.Player;
 import poker.model.players.PlayerId;
 import poker.model.players.PlayerState;
 
-import java.security.SecureRandom;
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
  * Main game engine for 5-card draw poker.
  * Manages game state, validates moves, and orchestrates game flow.
+ * <p>
+ * Not thread-safe: callers confine each game to a single thread at a time. The server
+ * does so by running all of a table's messages on that table's serial executor.
  */
 @Getter
 public class PokerGame {
@@ -22,9 +26,11 @@ public class PokerGame {
     private final GameConfig config;
     private final Map<PlayerId, Player> players;
     private final HandEvaluator handEvaluator;
+    @Getter(AccessLevel.NONE)
+    private final RandomGenerator random;
     
     private GameState state;
-    private Deck deck;
+    private final Deck deck;
     private int pot;
     private int currentBet;
     private PlayerId currentTurn;
@@ -40,7 +46,9 @@ public class PokerGame {
         config.validate();
         
         this.players = new LinkedHashMap<>();
-        this.handEvaluator = new HandEvaluator.StandardPokerEvaluator();
+        this.handEvaluator = config.getHandEvaluator();
+        this.random = config.getShuffleSource().newGenerator();
+        this.deck = Deck.createSortedDeck();
         this.state = GameState.LOBBY;
         this.pot = 0;
         this.currentBet = 0;
@@ -50,7 +58,7 @@ public class PokerGame {
     /**
      * Add a player to the game (must be in LOBBY state).
      */
-    public synchronized Player addPlayer(PlayerId playerId, String name) {
+    public Player addPlayer(PlayerId playerId, String name) {
         if (state != GameState.LOBBY) {
             throw new StateMismatchException("LOBBY", state.name());
         }
@@ -76,7 +84,7 @@ public class PokerGame {
     /**
      * Remove a player from the game.
      */
-    public synchronized void removePlayer(PlayerId playerId) {
+    public void removePlayer(PlayerId playerId) {
         if (!players.containsKey(playerId)) {
             throw new InvalidMoveException("PLAYER_NOT_FOUND", "Player not in game");
         }
@@ -92,7 +100,7 @@ public class PokerGame {
     /**
      * Start the game (transition from LOBBY to ANTE).
      */
-    public synchronized void startGame() {
+    public void startGame() {
         if (state != GameState.LOBBY) {
             throw new StateMismatchException("LOBBY", state.name());
         }
@@ -115,7 +123,7 @@ public class PokerGame {
     /**
      * Collect ante from all players.
      */
-    public synchronized void collectAnte() {
+    public void collectAnte() {
         if (state != GameState.ANTE) {
             throw new StateMismatchException("ANTE", state.name());
         }
@@ -135,19 +143,21 @@ public class PokerGame {
     /**
      * Deal initial cards to all active players.
      */
-    public synchronized void dealInitialCards() {
+    public void dealInitialCards() {
         if (state != GameState.DEAL) {
             throw new StateMismatchException("DEAL", state.name());
         }
 
-        deck = Deck.createShuffledDeck(new SecureRandom());
+        // The table keeps one deck and reshuffles it in place for every hand
+        deck.shuffle(random);
         
         // Deal 5 cards to each active player
         for (Player player : players.values()) {
             if (player.isActive()) {
                 player.clearHand();
-                List<Card> cards = deck.draw(5);
-                player.addCards(cards);
+                for (int i = 0; i < 5; i++) {
+                    player.addCard(deck.draw());
+                }
             }
         }
 
@@ -175,7 +185,7 @@ public class PokerGame {
     /**
      * Player checks (bet is 0).
      */
-    public synchronized void check(PlayerId playerId) {
+    public void check(PlayerId playerId) {
         if (state != GameState.BET1 && state != GameState.BET2) {
             throw new StateMismatchException("BET1 or BET2", state.name());
         }
@@ -194,7 +204,7 @@ public class PokerGame {
     /**
      * Player calls the current bet.
      */
-    public synchronized void call(PlayerId playerId) {
+    public void call(PlayerId playerId) {
         if (state != GameState.BET1 && state != GameState.BET2) {
             throw new StateMismatchException("BET1 or BET2", state.name());
         }
@@ -218,7 +228,7 @@ public class PokerGame {
     /**
      * Player raises the bet.
      */
-    public synchronized void raise(PlayerId playerId, int amount) {
+    public void raise(PlayerId playerId, int amount) {
         if (state != GameState.BET1 && state != GameState.BET2) {
             throw new StateMismatchException("BET1 or BET2", state.name());
         }
@@ -248,7 +258,7 @@ public class PokerGame {
     /**
      * Player folds.
      */
-    public synchronized void fold(PlayerId playerId) {
+    public void fold(PlayerId playerId) {
         validateTurn(playerId);
         
         Player player = players.get(playerId);
@@ -271,7 +281,7 @@ public class PokerGame {
     /**
      * Player draws cards (exchanges some cards for new ones).
      */
-    public synchronized List<Card> draw(PlayerId playerId, List<Integer> cardIndices) {
+    public List<Card> draw(PlayerId playerId, List<Integer> cardIndices) {
         if (state != GameState.DRAW) {
             throw new StateMismatchException("DRAW", state.name());
         }
@@ -315,7 +325,7 @@ public class PokerGame {
     /**
      * Transition to next phase after draw.
      */
-    public synchronized void startSecondBettingRound() {
+    public void startSecondBettingRound() {
         if (state != GameState.DRAW) {
             throw new StateMismatchException("DRAW", state.name());
         }
@@ -327,7 +337,7 @@ public class PokerGame {
     /**
      * Evaluate all hands and determine winner(s).
      */
-    public synchronized Map<PlayerId, HandRank> showdown() {
+    public Map<PlayerId, HandRank> showdown() {
         if (state != GameState.BET2 && state != GameState.SHOWDOWN) {
             throw new StateMismatchException("BET2 or SHOWDOWN", state.name());
         }
@@ -349,7 +359,7 @@ public class PokerGame {
     /**
      * Distribute pot to winner(s).
      */
-    public synchronized List<Payout> distributePot(Map<PlayerId, HandRank> rankings) {
+    public List<Payout> distributePot(Map<PlayerId, HandRank> rankings) {
         if (state != GameState.SHOWDOWN) {
             throw new StateMismatchException("SHOWDOWN", state.name());
         }
@@ -400,7 +410,7 @@ public class PokerGame {
     /**
      * Reset game for next round (called when starting from LOBBY after game ends).
      */
-    public synchronized void resetForNextRound() {
+    public void resetForNextRound() {
         if (state != GameState.LOBBY) {
             throw new StateMismatchException("LOBBY", state.name());
         }
@@ -481,6 +491,15 @@ public class PokerGame {
         return players.get(playerId);
     }
 
+    /**
+     * The table's deck. Created with the game and reshuffled in place for every hand, so it
+     * is never null: before the first deal it is a full, unshuffled deck, and afterwards it
+     * holds the cards left undealt in the current hand.
+     */
+    public Deck getDeck() {
+        return deck;
+    }
+
     public List<Player> getAllPlayers() {
         return new ArrayList<>(players.values());
     }
@@ -0,0 +1,24 @@
+package poker.model.protocol;
+
+/**
+ * Action verbs of the text protocol, sent by clients and by the server.
+ * <p>
+ * Ordinals double as opcodes in {@link BinaryCodec} frames, so new actions go at the end.
+ */
+public enum Action {
+    // Client commands
+    HELLO, CREATE, JOIN, LEAVE, START, BET, CALL, CHECK, FOLD, DRAW, HINT, STATUS, QUIT,
+    // Server events
+    OK, ERR, WELCOME, LOBBY, STARTED, ANTE, ANTE_OK, DEAL, TURN, ACTION, DRAWOK,
+    ROUND, SHOWDOWN, WINNER, PAYOUT, END;
+
+    private static final AsciiLookup<Action> LOOKUP = new AsciiLookup<>(values());
+
+    /**
+     * Resolves an action from its wire name without allocating.
+     * @return The action, or null if the bytes name no known action
+     */
+    public static Action lookup(byte[] bytes, int from, int to) {
+        return LOOKUP.find(bytes, from, to);
+    }
+}
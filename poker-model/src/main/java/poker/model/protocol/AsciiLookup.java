@@ -0,0 +1,55 @@
+package poker.model.protocol;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps ASCII byte ranges to enum constants by name, bucketed by length.
+ */
+final class AsciiLookup<E extends Enum<E>> {
+    private final E[][] byLength;
+    private final byte[][][] namesByLength;
+
+    @SuppressWarnings("unchecked")
+    AsciiLookup(E[] constants) {
+        int longest = 0;
+        for (E constant : constants) {
+            longest = Math.max(longest, constant.name().length());
+        }
+        int[] counts = new int[longest + 1];
+        for (E constant : constants) {
+            counts[constant.name().length()]++;
+        }
+
+        byLength = (E[][]) new Enum<?>[longest + 1][];
+        namesByLength = new byte[longest + 1][][];
+        for (int length = 0; length <= longest; length++) {
+            byLength[length] = (E[]) new Enum<?>[counts[length]];
+            namesByLength[length] = new byte[counts[length]][];
+        }
+        int[] filled = new int[longest + 1];
+        for (E constant : constants) {
+            int length = constant.name().length();
+            byLength[length][filled[length]] = constant;
+            namesByLength[length][filled[length]++] = constant.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    E find(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (length < 0 || length >= byLength.length) {
+            return null;
+        }
+        byte[][] names = namesByLength[length];
+        candidates:
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = names[i];
+            for (int j = 0; j < length; j++) {
+                if (name[j] != bytes[from + j]) {
+                    continue candidates;
+                }
+            }
+            return byLength[length][i];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,526 @@
+package poker.model.protocol;
+
+import poker.common.cards.Card;
+import poker.model.exceptions.ProtocolException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compact binary form of protocol messages, negotiated with {@code HELLO PROTO=BIN}.
+ * <p>
+ * A frame is a varint body length followed by the body:
+ * <pre>
+ * opcode     Action ordinal + 1, or 0 followed by the action name as a string
+ * game id    id
+ * player id  id
+ * count      varint number of parameters, each a key and a value
+ * key        ParamKey ordinal + 1, or 0 followed by the key as a string
+ * value      tag byte, then: STRING  varint length and UTF-8 bytes
+ *                            INT     zigzag varint
+ *                            CARDS   varint count, one byte per card: Card.index(), or 0xFF for "*"
+ *                            ID      id
+ * id         varint: 0 for "-", n lowercase hex digits as value &lt;&lt; 4 | n (n &le; 15),
+ *            anything else as length &lt;&lt; 4 followed by its UTF-8 bytes
+ * </pre>
+ * A frame carries exactly what the text line carries: the encoder only picks a compact
+ * tag when the value decodes back to the same text, so "007" stays a string, not 7.
+ * Decoding fills a {@link ParsedFrame}, which then reads the same as for a text line.
+ */
+public final class BinaryCodec {
+    /** PROTO value that selects this codec */
+    public static final String PROTO_BINARY = "BIN";
+
+    private static final int TAG_STRING = 0;
+    private static final int TAG_INT = 1;
+    private static final int TAG_CARDS = 2;
+    private static final int TAG_ID = 3;
+    private static final int MASKED_CARD = 0xFF;
+    private static final int MAX_HEX_DIGITS = 15;
+    /** Longest length prefix: five 7-bit groups cover an int */
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final ParamKey[] KEYS = ParamKey.values();
+    private static final ThreadLocal<Body> BODIES = ThreadLocal.withInitial(Body::new);
+    private static final ThreadLocal<ParsedFrame> TEXT_FRAMES = ThreadLocal.withInitial(ParsedFrame::new);
+    /** Card index by the two ASCII chars of its text form, -1 for other pairs */
+    private static final byte[] CARD_INDEX = new byte[128 * 128];
+
+    static {
+        Arrays.fill(CARD_INDEX, (byte) -1);
+        for (int index = 0; index < Card.COUNT; index++) {
+            String text = Card.fromIndex(index).toString();
+            CARD_INDEX[text.charAt(0) << 7 | text.charAt(1)] = (byte) index;
+        }
+    }
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Encodes a message as a length-prefixed frame.
+     */
+    public static byte[] encode(Message message) {
+        Body body = BODIES.get().reset();
+        byte[] action = message.getAction().getBytes(StandardCharsets.UTF_8);
+        body.action(Action.lookup(action, 0, action.length), action, 0, action.length);
+        body.id(message.getGameId());
+        body.id(message.getPlayerId());
+        body.count(message.getParams().size());
+        for (Map.Entry<String, String> param : message.getParams().entrySet()) {
+            byte[] key = param.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = String.valueOf(param.getValue()).getBytes(StandardCharsets.UTF_8);
+            body.param(ParamKey.lookup(key, 0, key.length), key, 0, key.length, value, 0, value.length);
+        }
+        ByteBuffer frame = body.finish();
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Transcodes an encoded text line, with or without its line separator, into a
+     * read-only frame that may be shared by many recipients.
+     * @throws ProtocolException if the line is not a protocol line
+     */
+    public static ByteBuffer fromText(ByteBuffer line) {
+        int length = line.remaining();
+        if (length > 0 && line.get(line.limit() - 1) == '\n') {
+            length--;
+        }
+        byte[] bytes;
+        int offset;
+        if (line.hasArray()) {
+            bytes = line.array();
+            offset = line.arrayOffset() + line.position();
+        } else {
+            bytes = new byte[length];
+            line.duplicate().get(bytes, 0, length);
+            offset = 0;
+        }
+        ParsedFrame frame = TEXT_FRAMES.get().parse(bytes, offset, length, Integer.MAX_VALUE);
+        Body body = BODIES.get().reset();
+        frame.writeTo(body);
+        return body.finish().asReadOnlyBuffer();
+    }
+
+    /**
+     * Decodes a frame body, without its length prefix, into the given frame.
+     * @throws ProtocolException if the body is malformed
+     */
+    public static ParsedFrame decode(ByteBuffer body, ParsedFrame frame) {
+        try {
+            frame.beginFill();
+            int opcode = body.get() & 0xFF;
+            Action action = null;
+            if (opcode == 0) {
+                string(body, frame);
+            } else if (opcode <= ACTIONS.length) {
+                action = ACTIONS[opcode - 1];
+                frame.appendAscii(action.name());
+            } else {
+                throw malformed();
+            }
+            int actionEnd = frame.fillPosition();
+            id(body, frame, true);
+            int gameIdEnd = frame.fillPosition();
+            id(body, frame, true);
+            frame.fillHeader(action, actionEnd, gameIdEnd, frame.fillPosition());
+
+            int count = readVarint(body);
+            for (int i = 0; i < count; i++) {
+                int keyStart = frame.fillPosition();
+                int key = body.get() & 0xFF;
+                if (key == 0) {
+                    string(body, frame);
+                } else if (key <= KEYS.length) {
+                    frame.appendAscii(KEYS[key - 1].name());
+                } else {
+                    throw malformed();
+                }
+                int keyEnd = frame.fillPosition();
+                value(body, frame);
+                frame.fillParam(keyStart, keyEnd, keyEnd, frame.fillPosition());
+            }
+            if (body.hasRemaining()) {
+                throw malformed();
+            }
+            return frame;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw malformed();
+        }
+    }
+
+    /**
+     * Reads one frame body from a blocking stream.
+     * @return The body, or null if the stream ended cleanly before a frame
+     * @throws IOException if the stream fails or ends inside a frame
+     */
+    public static ByteBuffer read(InputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ended inside a frame header");
+            }
+            if (shift == 7 * (MAX_VARINT_BYTES - 1) && (b & 0xF0) != 0) {
+                throw new IOException("Malformed frame length");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        byte[] body = in.readNBytes(length);
+        if (body.length < length) {
+            throw new EOFException("Stream ended inside a frame");
+        }
+        return ByteBuffer.wrap(body);
+    }
+
+    /**
+     * Reads a frame length prefix from the buffer's position.
+     * @return The length, -1 if the prefix is incomplete, or -2 if it is malformed;
+     *         the position is only advanced past a complete prefix
+     */
+    public static int readLength(ByteBuffer buffer) {
+        int length = 0;
+        int position = buffer.position();
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            if (position + i >= buffer.limit()) {
+                return -1;
+            }
+            int b = buffer.get(position + i);
+            if (i == MAX_VARINT_BYTES - 1 && (b & 0xF0) != 0) {
+                return -2;
+            }
+            length |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                buffer.position(position + i + 1);
+                return length;
+            }
+        }
+        return -2;
+    }
+
+    private static void value(ByteBuffer body, ParsedFrame frame) {
+        switch (body.get()) {
+            case TAG_STRING -> string(body, frame);
+            case TAG_INT -> {
+                long zigzag = readVarLong(body);
+                appendNumber(frame, (zigzag >>> 1) ^ -(zigzag & 1));
+            }
+            case TAG_CARDS -> {
+                int count = readVarint(body);
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        frame.append(',');
+                    }
+                    int card = body.get() & 0xFF;
+                    frame.appendAscii(card == MASKED_CARD ? "*" : Card.fromIndex(card).toString());
+                }
+            }
+            case TAG_ID -> id(body, frame, false);
+            default -> throw malformed();
+        }
+    }
+
+    private static void id(ByteBuffer body, ParsedFrame frame, boolean header) {
+        long id = readVarLong(body);
+        int digits = (int) (id & 0xF);
+        if (id == 0) {
+            if (!header) {
+                throw malformed();
+            }
+            frame.append('-');
+        } else if (digits == 0) {
+            frame.append(body, checkLength(id >>> 4, body));
+        } else {
+            long value = id >>> 4;
+            for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+                frame.append(Character.forDigit((int) ((value >>> shift) & 0xF), 16));
+            }
+        }
+    }
+
+    private static void string(ByteBuffer body, ParsedFrame frame) {
+        frame.append(body, checkLength(readVarint(body), body));
+    }
+
+    private static int checkLength(long length, ByteBuffer body) {
+        if (length > body.remaining()) {
+            throw malformed();
+        }
+        return (int) length;
+    }
+
+    private static void appendNumber(ParsedFrame frame, long value) {
+        if (value < 0) {
+            frame.append('-');
+        } else {
+            value = -value;
+        }
+        // Digits of the negated value, so Long.MIN_VALUE needs no special case
+        long divisor = -1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor != 0; divisor /= 10) {
+            frame.append('0' + (int) (value / divisor));
+            value %= divisor;
+        }
+    }
+
+    private static int readVarint(ByteBuffer body) {
+        long value = readVarLong(body);
+        if (value > Integer.MAX_VALUE) {
+            throw malformed();
+        }
+        return (int) value;
+    }
+
+    private static long readVarLong(ByteBuffer body) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = body.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw malformed();
+    }
+
+    private static ProtocolException malformed() {
+        return new ProtocolException("INVALID_FORMAT", "Malformed binary frame");
+    }
+
+    /**
+     * Growable scratch buffer for one thread's frame bodies.
+     */
+    static final class Body {
+        private ByteBuffer buffer = ByteBuffer.allocate(Message.MAX_LENGTH);
+
+        Body reset() {
+            buffer.clear();
+            return this;
+        }
+
+        void action(Action action, byte[] name, int start, int end) {
+            if (action != null) {
+                put(action.ordinal() + 1);
+            } else {
+                put(0);
+                string(name, start, end);
+            }
+        }
+
+        void id(String id) {
+            if (id == null) {
+                varint(0);
+            } else {
+                byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                id(bytes, 0, bytes.length);
+            }
+        }
+
+        void id(byte[] bytes, int start, int end) {
+            if (end - start == 1 && bytes[start] == '-') {
+                varint(0);
+            } else if (isHex(bytes, start, end)) {
+                hex(bytes, start, end);
+            } else {
+                varint((long) (end - start) << 4);
+                put(bytes, start, end);
+            }
+        }
+
+        void count(int count) {
+            varint(count);
+        }
+
+        void param(ParamKey key, byte[] bytes, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+            param(key, bytes, keyStart, keyEnd, bytes, valueStart, valueEnd);
+        }
+
+        void param(ParamKey key, byte[] keyBytes, int keyStart, int keyEnd,
+                   byte[] bytes, int valueStart, int valueEnd) {
+            if (key != null) {
+                put(key.ordinal() + 1);
+            } else {
+                put(0);
+                string(keyBytes, keyStart, keyEnd);
+            }
+
+            if (isCanonicalNumber(bytes, valueStart, valueEnd)) {
+                put(TAG_INT);
+                long value = parseNumber(bytes, valueStart, valueEnd);
+                varint((value << 1) ^ (value >> 63));
+            } else if (isCards(bytes, valueStart, valueEnd)) {
+                put(TAG_CARDS);
+                int count = 1;
+                for (int i = valueStart; i < valueEnd; i++) {
+                    count += bytes[i] == ',' ? 1 : 0;
+                }
+                varint(count);
+                for (int i = valueStart; i < valueEnd; i++) {
+                    if (bytes[i] == '*') {
+                        put(MASKED_CARD);
+                    } else if (bytes[i] != ',') {
+                        put(cardIndex(bytes[i], bytes[++i]));
+                    }
+                }
+            } else if (isHex(bytes, valueStart, valueEnd)) {
+                put(TAG_ID);
+                hex(bytes, valueStart, valueEnd);
+            } else {
+                put(TAG_STRING);
+                string(bytes, valueStart, valueEnd);
+            }
+        }
+
+        /**
+         * Prefixes the body with its length and returns the frame, valid until the next reset.
+         */
+        ByteBuffer finish() {
+            int length = buffer.position();
+            int prefix = 1;
+            for (int rest = length >>> 7; rest != 0; rest >>>= 7) {
+                prefix++;
+            }
+            ByteBuffer frame = ByteBuffer.allocate(prefix + length);
+            for (int rest = length; ; rest >>>= 7) {
+                if (rest < 0x80) {
+                    frame.put((byte) rest);
+                    break;
+                }
+                frame.put((byte) (rest & 0x7F | 0x80));
+            }
+            buffer.flip();
+            frame.put(buffer).flip();
+            return frame;
+        }
+
+        private void hex(byte[] bytes, int start, int end) {
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                value = value << 4 | Character.digit(bytes[i], 16);
+            }
+            varint(value << 4 | (end - start));
+        }
+
+        private void string(byte[] bytes, int start, int end) {
+            varint(end - start);
+            put(bytes, start, end);
+        }
+
+        private void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) (value & 0x7F | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        private void put(int b) {
+            ensure(1);
+            buffer.put((byte) b);
+        }
+
+        private void put(byte[] bytes, int start, int end) {
+            ensure(end - start);
+            buffer.put(bytes, start, end - start);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+
+    /** Lowercase hex that fits the id encoding; generated game and player ids are like this */
+    private static boolean isHex(byte[] bytes, int start, int end) {
+        if (end - start < 1 || end - start > MAX_HEX_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if ((b < '0' || b > '9') && (b < 'a' || b > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Decimal as Long.toString would write it, so decoding restores the same text */
+    private static boolean isCanonicalNumber(byte[] bytes, int start, int end) {
+        int digits = start < end && bytes[start] == '-' ? start + 1 : start;
+        if (digits == end || end - digits > 18) {
+            return false;
+        }
+        if (bytes[digits] == '0' && (end - digits > 1 || digits > start)) {
+            return false;
+        }
+        for (int i = digits; i < end; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseNumber(byte[] bytes, int start, int end) {
+        boolean negative = bytes[start] == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            value = value * 10 + (bytes[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /** Comma-separated cards as Card.toString writes them, or "*" for hidden ones */
+    private static boolean isCards(byte[] bytes, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        int i = start;
+        while (true) {
+            if (i < end && bytes[i] == '*') {
+                i++;
+            } else if (i + 1 < end && cardIndex(bytes[i], bytes[i + 1]) >= 0) {
+                i += 2;
+            } else {
+                return false;
+            }
+            if (i == end) {
+                return true;
+            }
+            if (bytes[i] != ',') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Index of the card whose {@link Card#toString()} is the two bytes, or -1.
+     */
+    private static int cardIndex(byte rank, byte suit) {
+        return rank < 0 || suit < 0 ? -1 : CARD_INDEX[rank << 7 | suit];
+    }
+}
@@ -1,6 +1,6 @@
 package poker.model.protocol;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -13,13 +13,23 @@ public class ClientMessage extends Message {
     }
 
     public static ClientMessage hello(String version) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("VERSION", version);
         return new ClientMessage(null, null, "HELLO", params);
     }
 
+    /**
+     * HELLO asking for a wire protocol, such as {@link BinaryCodec#PROTO_BINARY}.
+     */
+    public static ClientMessage hello(String version, String proto) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("VERSION", version);
+        params.put("PROTO", proto);
+        return new ClientMessage(null, null, "HELLO", params);
+    }
+
     public static ClientMessage create(int ante, int bet) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("ANTE", String.valueOf(ante));
         params.put("BET", String.valueOf(bet));
         params.put("LIMIT", "FIXED");
@@ -27,49 +37,53 @@ public class ClientMessage extends Message {
     }
 
     public static ClientMessage join(String gameId, String name) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("GAME", gameId);
         params.put("NAME", name);
         return new ClientMessage(null, null, "JOIN", params);
     }
 
     public static ClientMessage leave(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "LEAVE", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "LEAVE", new LinkedHashMap<>());
     }
 
     public static ClientMessage start(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "START", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "START", new LinkedHashMap<>());
     }
 
     public static ClientMessage bet(String gameId, String playerId, int amount) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("AMOUNT", String.valueOf(amount));
         return new ClientMessage(gameId, playerId, "BET", params);
     }
 
     public static ClientMessage call(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "CALL", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "CALL", new LinkedHashMap<>());
     }
 
     public static ClientMessage check(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "CHECK", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "CHECK", new LinkedHashMap<>());
     }
 
     public static ClientMessage fold(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "FOLD", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "FOLD", new LinkedHashMap<>());
     }
 
     public static ClientMessage draw(String gameId, String playerId, String cardIndices) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("CARDS", cardIndices);
         return new ClientMessage(gameId, playerId, "DRAW", params);
     }
 
+    public static ClientMessage hint(String gameId, String playerId) {
+        return new ClientMessage(gameId, playerId, "HINT", new LinkedHashMap<>());
+    }
+
     public static ClientMessage status(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "STATUS", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "STATUS", new LinkedHashMap<>());
     }
 
     public static ClientMessage quit(String gameId, String playerId) {
-        return new ClientMessage(gameId, playerId, "QUIT", new HashMap<>());
+        return new ClientMessage(gameId, playerId, "QUIT", new LinkedHashMap<>());
     }
 }
@@ -4,6 +4,7 @@ import lombok.Getter;
 import poker.model.exceptions.ProtocolException;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -11,6 +12,9 @@ import java.util.Map;
  */
 @Getter
 public abstract class Message {
+    /** Longest accepted protocol line, excluding the line separator */
+    public static final int MAX_LENGTH = 512;
+
     private final String gameId;
     private final String playerId;
     private final String action;
@@ -20,14 +24,15 @@ public abstract class Message {
         this.gameId = gameId;
         this.playerId = playerId;
         this.action = action;
-        this.params = new HashMap<>();
+        this.params = new LinkedHashMap<>();
     }
 
     protected Message(String gameId, String playerId, String action, Map<String, String> params) {
         this.gameId = gameId;
         this.playerId = playerId;
         this.action = action;
-        this.params = new HashMap<>(params);
+        // Insertion order is the order parameters go on the wire
+        this.params = new LinkedHashMap<>(params);
     }
 
     public String getParam(String key) {
@@ -94,8 +99,8 @@ public abstract class Message {
             throw new ProtocolException("INVALID_FORMAT", "Empty message");
         }
 
-        if (line.length() > 512) {
-            throw new ProtocolException("MESSAGE_TOO_LONG", "Message exceeds 512 bytes");
+        if (line.length() > MAX_LENGTH) {
+            throw new ProtocolException("MESSAGE_TOO_LONG", "Message exceeds " + MAX_LENGTH + " bytes");
         }
 
         String trimmed = line.trim();
@@ -0,0 +1,22 @@
+package poker.model.protocol;
+
+/**
+ * Parameter keys of the text protocol.
+ * <p>
+ * Ordinals double as key codes in {@link BinaryCodec} frames, so new keys go at the end.
+ */
+public enum ParamKey {
+    AMOUNT, ANTE, ARGS, BET, CALL, CARDS, CODE, COUNT, DEALER, DISCARD, EQUITY, GAME, HAND,
+    HIGHESTBET, LIMIT, MESSAGE, MINRAISE, NAME, NEW, PHASE, PLAYER, PLAYERS, POT, RANK,
+    REASON, SAMPLES, STACK, TYPE, VERSION, PROTO;
+
+    private static final AsciiLookup<ParamKey> LOOKUP = new AsciiLookup<>(values());
+
+    /**
+     * Resolves a key from its wire name without allocating.
+     * @return The key, or null if the bytes name no known key
+     */
+    public static ParamKey lookup(byte[] bytes, int from, int to) {
+        return LOOKUP.find(bytes, from, to);
+    }
+}
@@ -0,0 +1,424 @@
+package poker.model.protocol;
+
+import poker.model.exceptions.ProtocolException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reusable result of parsing one protocol line in a single pass over its UTF-8 bytes.
+ * <p>
+ * Accepts exactly the grammar of {@link Message#parse(String)}, but records fields as
+ * offsets into the source bytes instead of copying them: the action and known parameter
+ * keys are resolved to {@link Action} and {@link ParamKey} constants, integers are read
+ * straight from the bytes, and Strings are only created when a field is asked for.
+ * One instance is meant to be kept per connection and refilled for every line, so the
+ * source bytes must stay unchanged until the next {@link #parse} and instances are not
+ * thread-safe. The line length limit counts bytes rather than chars.
+ */
+public final class ParsedFrame {
+    private static final int INITIAL_PARAMS = 8;
+
+    private byte[] source;
+    private int gameIdStart;
+    private int gameIdEnd;
+    private int playerIdStart;
+    private int playerIdEnd;
+    private int actionStart;
+    private int actionEnd;
+    private Action action;
+
+    private int paramCount;
+    private ParamKey[] keys = new ParamKey[INITIAL_PARAMS];
+    private int[] keyStarts = new int[INITIAL_PARAMS];
+    private int[] keyEnds = new int[INITIAL_PARAMS];
+    private int[] valueStarts = new int[INITIAL_PARAMS];
+    private int[] valueEnds = new int[INITIAL_PARAMS];
+
+    /** Text form of the last binary frame; see {@link BinaryCodec} */
+    private byte[] scratch = new byte[Message.MAX_LENGTH];
+    private int filled;
+
+    /**
+     * Parses the remaining bytes of a heap buffer without consuming them.
+     */
+    public ParsedFrame parse(ByteBuffer frame) {
+        if (!frame.hasArray()) {
+            byte[] copy = new byte[frame.remaining()];
+            frame.duplicate().get(copy);
+            return parse(copy, 0, copy.length);
+        }
+        return parse(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+    }
+
+    /**
+     * Parses a line given as a String; mainly for tests and tools.
+     */
+    public ParsedFrame parse(String line) {
+        if (line == null) {
+            throw new ProtocolException("INVALID_FORMAT", "Empty message");
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parses one line, replacing the previous contents of this frame.
+     * @param bytes UTF-8 encoded line, without the line separator
+     * @throws ProtocolException if the line is blank, too long or lacks the three header fields
+     */
+    public ParsedFrame parse(byte[] bytes, int offset, int length) {
+        return parse(bytes, offset, length, Message.MAX_LENGTH);
+    }
+
+    /**
+     * Parses one line of at most the given length; server lines may exceed the client limit.
+     */
+    ParsedFrame parse(byte[] bytes, int offset, int length, int maxLength) {
+        source = bytes;
+        action = null;
+        paramCount = 0;
+
+        int end = offset + length;
+        if (isBlank(bytes, offset, end)) {
+            throw new ProtocolException("INVALID_FORMAT", "Empty message");
+        }
+        if (length > maxLength) {
+            throw new ProtocolException("MESSAGE_TOO_LONG", "Message exceeds " + maxLength + " bytes");
+        }
+
+        int start = skipControl(bytes, offset, end);
+        end = trimEnd(bytes, start, end);
+
+        // Header: GAME_ID, PLAYER_ID and ACTION separated by spaces, with any
+        // whitespace allowed after each separator
+        int firstSpace = indexOf(bytes, start, end, (byte) ' ');
+        if (firstSpace < 0) {
+            throw missingHeader();
+        }
+        gameIdStart = start;
+        gameIdEnd = firstSpace;
+
+        int playerStart = skipControl(bytes, firstSpace + 1, end);
+        int secondSpace = indexOf(bytes, playerStart, end, (byte) ' ');
+        if (secondSpace < 0) {
+            throw missingHeader();
+        }
+        playerIdStart = playerStart;
+        playerIdEnd = secondSpace;
+
+        actionStart = skipControl(bytes, secondSpace + 1, end);
+        int thirdSpace = indexOf(bytes, actionStart, end, (byte) ' ');
+        actionEnd = thirdSpace < 0 ? end : thirdSpace;
+        action = Action.lookup(bytes, actionStart, actionEnd);
+
+        if (thirdSpace >= 0) {
+            parseParams(bytes, skipControl(bytes, thirdSpace + 1, end), end);
+        }
+        return this;
+    }
+
+    /**
+     * KEY=VALUE pairs: a key runs from the last boundary to the next '=', and a value runs
+     * until the next space-separated token containing '=' or the end of the line.
+     */
+    private void parseParams(byte[] bytes, int pos, int end) {
+        while (pos < end) {
+            int equals = indexOf(bytes, pos, end, (byte) '=');
+            if (equals < 0) {
+                break;
+            }
+            int keyStart = pos;
+            while (keyStart < equals && bytes[keyStart] == ' ') {
+                keyStart++;
+            }
+
+            int valueStart = equals + 1;
+            int valueEnd = end;
+            // The byte right after '=' never starts a boundary
+            int i = valueStart + 1;
+            while (i < end) {
+                if (bytes[i] != ' ') {
+                    i++;
+                    continue;
+                }
+                int token = i;
+                while (token < end && bytes[token] == ' ') {
+                    token++;
+                }
+                int tokenEnd = token;
+                boolean hasEquals = false;
+                while (tokenEnd < end && bytes[tokenEnd] != ' ') {
+                    hasEquals |= bytes[tokenEnd] == '=';
+                    tokenEnd++;
+                }
+                if (hasEquals) {
+                    valueEnd = i;
+                    break;
+                }
+                i = tokenEnd;
+            }
+
+            int trimmedStart = skipControl(bytes, valueStart, valueEnd);
+            addParam(bytes, keyStart, equals, trimmedStart, trimEnd(bytes, trimmedStart, valueEnd));
+            pos = valueEnd;
+        }
+    }
+
+    private void addParam(byte[] bytes, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+        // A repeated key keeps its last value
+        int slot = paramCount;
+        for (int i = 0; i < paramCount; i++) {
+            if (Arrays.equals(bytes, keyStarts[i], keyEnds[i], bytes, keyStart, keyEnd)) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot == paramCount) {
+            if (paramCount == keys.length) {
+                int capacity = paramCount * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                keyStarts = Arrays.copyOf(keyStarts, capacity);
+                keyEnds = Arrays.copyOf(keyEnds, capacity);
+                valueStarts = Arrays.copyOf(valueStarts, capacity);
+                valueEnds = Arrays.copyOf(valueEnds, capacity);
+            }
+            keys[slot] = ParamKey.lookup(bytes, keyStart, keyEnd);
+            keyStarts[slot] = keyStart;
+            keyEnds[slot] = keyEnd;
+            paramCount++;
+        }
+        valueStarts[slot] = valueStart;
+        valueEnds[slot] = valueEnd;
+    }
+
+    /**
+     * Resolved action, or null if the line names an action not in {@link Action}.
+     */
+    public Action action() {
+        return action;
+    }
+
+    /**
+     * Action exactly as sent, including unknown ones.
+     */
+    public String actionName() {
+        return string(actionStart, actionEnd);
+    }
+
+    /**
+     * Game id field, or null if it was "-".
+     */
+    public String gameId() {
+        return nullable(gameIdStart, gameIdEnd);
+    }
+
+    /**
+     * Player id field, or null if it was "-".
+     */
+    public String playerId() {
+        return nullable(playerIdStart, playerIdEnd);
+    }
+
+    public int paramCount() {
+        return paramCount;
+    }
+
+    public boolean has(ParamKey key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Value of a parameter, or null if absent.
+     */
+    public String get(ParamKey key) {
+        int index = indexOf(key);
+        return index < 0 ? null : string(valueStarts[index], valueEnds[index]);
+    }
+
+    /**
+     * Integer value of a parameter, read without creating a String.
+     * Accepts what {@link Integer#parseInt(String)} accepts.
+     * @throws NumberFormatException if the parameter is absent or not an int
+     */
+    public int getInt(ParamKey key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NumberFormatException("Missing " + key);
+        }
+        return parseInt(valueStarts[index], valueEnds[index]);
+    }
+
+    /**
+     * Copies the frame into the map-based form used by {@link Message#parse(String)}.
+     */
+    public Message.ParsedMessage toParsedMessage() {
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < paramCount; i++) {
+            params.put(string(keyStarts[i], keyEnds[i]), string(valueStarts[i], valueEnds[i]));
+        }
+        return new Message.ParsedMessage(gameId(), playerId(), actionName(), params);
+    }
+
+    // A binary frame is decoded by writing its fields as text into the scratch array and
+    // recording their offsets, so the accessors above work the same for both protocols
+
+    /**
+     * Clears the frame before {@link BinaryCodec} refills it.
+     */
+    void beginFill() {
+        source = scratch;
+        filled = 0;
+        action = null;
+        paramCount = 0;
+    }
+
+    /**
+     * Offset the next appended byte is written at.
+     */
+    int fillPosition() {
+        return filled;
+    }
+
+    void append(int b) {
+        ensureScratch(1);
+        scratch[filled++] = (byte) b;
+    }
+
+    /**
+     * Appends bytes taken from the source buffer.
+     */
+    void append(ByteBuffer bytes, int length) {
+        ensureScratch(length);
+        bytes.get(scratch, filled, length);
+        filled += length;
+    }
+
+    void appendAscii(String text) {
+        ensureScratch(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            scratch[filled++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Sets the header from text appended in wire order: action, game id, player id.
+     */
+    void fillHeader(Action resolved, int actionEnd, int gameIdEnd, int playerIdEnd) {
+        action = resolved;
+        actionStart = 0;
+        this.actionEnd = actionEnd;
+        gameIdStart = actionEnd;
+        this.gameIdEnd = gameIdEnd;
+        playerIdStart = gameIdEnd;
+        this.playerIdEnd = playerIdEnd;
+    }
+
+    void fillParam(int keyStart, int keyEnd, int valueStart, int valueEnd) {
+        addParam(source, keyStart, keyEnd, valueStart, valueEnd);
+    }
+
+    /**
+     * Writes the frame's fields, in order, as a binary body.
+     */
+    void writeTo(BinaryCodec.Body body) {
+        body.action(action, source, actionStart, actionEnd);
+        body.id(source, gameIdStart, gameIdEnd);
+        body.id(source, playerIdStart, playerIdEnd);
+        body.count(paramCount);
+        for (int i = 0; i < paramCount; i++) {
+            body.param(keys[i], source, keyStarts[i], keyEnds[i], valueStarts[i], valueEnds[i]);
+        }
+    }
+
+    private void ensureScratch(int bytes) {
+        if (scratch.length - filled < bytes) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, filled + bytes));
+            source = scratch;
+        }
+    }
+
+    private int indexOf(ParamKey key) {
+        for (int i = 0; i < paramCount; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int parseInt(int start, int end) {
+        if (start == end) {
+            throw new NumberFormatException("Empty number");
+        }
+        boolean negative = source[start] == '-';
+        int i = source[start] == '-' || source[start] == '+' ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException(string(start, end));
+        }
+        // Accumulate negatively so Integer.MIN_VALUE fits
+        long limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = source[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(string(start, end));
+            }
+            result = result * 10 - digit;
+            if (result < limit) {
+                throw new NumberFormatException(string(start, end));
+            }
+        }
+        return (int) (negative ? result : -result);
+    }
+
+    private String nullable(int start, int end) {
+        return end - start == 1 && source[start] == '-' ? null : string(start, end);
+    }
+
+    private String string(int start, int end) {
+        return new String(source, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static ProtocolException missingHeader() {
+        return new ProtocolException("INVALID_FORMAT", "Message must have at least: GAME_ID PLAYER_ID ACTION");
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Skips leading bytes String.trim() would remove */
+    private static int skipControl(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(byte[] bytes, int from, int to) {
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    /** Same test as String.isBlank() for the single-byte range */
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int b = bytes[i] & 0xFF;
+            if (b != ' ' && (b < 0x09 || b > 0x0D) && (b < 0x1C || b > 0x1F)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
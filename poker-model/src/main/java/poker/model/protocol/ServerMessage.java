@@ -1,49 +1,64 @@
 package poker.model.protocol;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Server-to-Client messages.
  */
 public class ServerMessage extends Message {
+    /** Message of the OK that answers HELLO */
+    public static final String WELCOME_MESSAGE = "Welcome to Poker Server";
 
     private ServerMessage(String gameId, String playerId, String action, Map<String, String> params) {
         super(gameId, playerId, action, params);
     }
 
     public static ServerMessage ok() {
-        return new ServerMessage(null, null, "OK", new HashMap<>());
+        return new ServerMessage(null, null, "OK", new LinkedHashMap<>());
     }
 
     public static ServerMessage ok(String message) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("MESSAGE", message);
         return new ServerMessage(null, null, "OK", params);
     }
 
+    /**
+     * Reply to HELLO; names the negotiated protocol unless it is the default text one.
+     */
+    public static ServerMessage hello(String proto) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("MESSAGE", WELCOME_MESSAGE);
+        if (proto != null) {
+            params.put("PROTO", proto);
+        }
+        return new ServerMessage(null, null, "OK", params);
+    }
+
     public static ServerMessage error(String code, String reason) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("CODE", code);
         params.put("REASON", reason);
         return new ServerMessage(null, null, "ERR", params);
     }
 
     public static ServerMessage welcome(String gameId, String playerId) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("GAME", gameId);
         params.put("PLAYER", playerId);
         return new ServerMessage(null, null, "WELCOME", params);
     }
 
     public static ServerMessage lobby(String gameId, String players) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYERS", players);
         return new ServerMessage(gameId, null, "LOBBY", params);
     }
 
     public static ServerMessage started(String gameId, String dealerId, int ante, int bet) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("DEALER", dealerId);
         params.put("ANTE", String.valueOf(ante));
         params.put("BET", String.valueOf(bet));
@@ -51,28 +66,28 @@ public class ServerMessage extends Message {
     }
 
     public static ServerMessage anteRequest(String gameId, String playerId, int amount) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("AMOUNT", String.valueOf(amount));
         return new ServerMessage(gameId, null, "ANTE", params);
     }
 
     public static ServerMessage anteOk(String gameId, String playerId, int stack) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("STACK", String.valueOf(stack));
         return new ServerMessage(gameId, null, "ANTE_OK", params);
     }
 
     public static ServerMessage deal(String gameId, String playerId, String cards) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("CARDS", cards);
         return new ServerMessage(gameId, null, "DEAL", params);
     }
 
     public static ServerMessage turn(String gameId, String playerId, String phase, int callAmount, int minRaise) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("PHASE", phase);
         params.put("CALL", String.valueOf(callAmount));
@@ -81,7 +96,7 @@ public class ServerMessage extends Message {
     }
 
     public static ServerMessage action(String gameId, String playerId, String type, String args) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("TYPE", type);
         if (args != null && !args.isEmpty()) {
@@ -91,22 +106,31 @@ public class ServerMessage extends Message {
     }
 
     public static ServerMessage drawOk(String gameId, String playerId, int count, String newCards) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("COUNT", String.valueOf(count));
         params.put("NEW", newCards);
         return new ServerMessage(gameId, null, "DRAWOK", params);
     }
 
+    public static ServerMessage hint(String gameId, String playerId, String discard, double equity, long samples) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("PLAYER", playerId);
+        params.put("DISCARD", discard);
+        params.put("EQUITY", String.format(Locale.ROOT, "%.4f", equity));
+        params.put("SAMPLES", String.valueOf(samples));
+        return new ServerMessage(gameId, null, "HINT", params);
+    }
+
     public static ServerMessage round(String gameId, int pot, int highestBet) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("POT", String.valueOf(pot));
         params.put("HIGHESTBET", String.valueOf(highestBet));
         return new ServerMessage(gameId, null, "ROUND", params);
     }
 
     public static ServerMessage showdown(String gameId, String playerId, String hand, String rank) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("HAND", hand);
         params.put("RANK", rank);
@@ -114,7 +138,7 @@ public class ServerMessage extends Message {
     }
 
     public static ServerMessage winner(String gameId, String playerId, int pot, String rank) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("POT", String.valueOf(pot));
         params.put("RANK", rank);
@@ -122,7 +146,7 @@ public class ServerMessage extends Message {
     }
 
     public static ServerMessage payout(String gameId, String playerId, int amount, int stack) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("PLAYER", playerId);
         params.put("AMOUNT", String.valueOf(amount));
         params.put("STACK", String.valueOf(stack));
@@ -130,7 +154,7 @@ public class ServerMessage extends Message {
     }
 
     public static ServerMessage end(String gameId, String reason) {
-        Map<String, String> params = new HashMap<>();
+        Map<String, String> params = new LinkedHashMap<>();
         params.put("REASON", reason);
         return new ServerMessage(gameId, null, "END", params);
     }
@@ -0,0 +1,229 @@
+package poker.model.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Encodes server messages straight into ByteBuffers, one typed method per message kind.
+ * <p>
+ * Each method writes the same line as the matching {@link ServerMessage} factory's
+ * {@link Message#toProtocolString()}, followed by the line separator, with parameters
+ * in the factory's fixed order. Fields are written into a per-thread scratch buffer
+ * without building Strings or maps, and the result is an exact-size read-only buffer
+ * that may be shared by many recipients.
+ */
+public final class ServerMessageEncoder {
+    private static final int INITIAL_CAPACITY = 512;
+    private static final ThreadLocal<LineWriter> WRITERS = ThreadLocal.withInitial(LineWriter::new);
+
+    private ServerMessageEncoder() {
+    }
+
+    public static ByteBuffer ok() {
+        return begin(null, "OK").finish();
+    }
+
+    public static ByteBuffer ok(String message) {
+        return begin(null, "OK").param("MESSAGE", message).finish();
+    }
+
+    public static ByteBuffer hello(String proto) {
+        LineWriter writer = begin(null, "OK").param("MESSAGE", ServerMessage.WELCOME_MESSAGE);
+        if (proto != null) {
+            writer.param("PROTO", proto);
+        }
+        return writer.finish();
+    }
+
+    public static ByteBuffer error(String code, String reason) {
+        return begin(null, "ERR").param("CODE", code).param("REASON", reason).finish();
+    }
+
+    public static ByteBuffer welcome(String gameId, String playerId) {
+        return begin(null, "WELCOME").param("GAME", gameId).param("PLAYER", playerId).finish();
+    }
+
+    public static ByteBuffer lobby(String gameId, String players) {
+        return begin(gameId, "LOBBY").param("PLAYERS", players).finish();
+    }
+
+    public static ByteBuffer started(String gameId, String dealerId, int ante, int bet) {
+        return begin(gameId, "STARTED").param("DEALER", dealerId).param("ANTE", ante).param("BET", bet).finish();
+    }
+
+    public static ByteBuffer anteRequest(String gameId, String playerId, int amount) {
+        return begin(gameId, "ANTE").param("PLAYER", playerId).param("AMOUNT", amount).finish();
+    }
+
+    public static ByteBuffer anteOk(String gameId, String playerId, int stack) {
+        return begin(gameId, "ANTE_OK").param("PLAYER", playerId).param("STACK", stack).finish();
+    }
+
+    public static ByteBuffer deal(String gameId, String playerId, String cards) {
+        return begin(gameId, "DEAL").param("PLAYER", playerId).param("CARDS", cards).finish();
+    }
+
+    public static ByteBuffer turn(String gameId, String playerId, String phase, int callAmount, int minRaise) {
+        return begin(gameId, "TURN")
+            .param("PLAYER", playerId)
+            .param("PHASE", phase)
+            .param("CALL", callAmount)
+            .param("MINRAISE", minRaise)
+            .finish();
+    }
+
+    public static ByteBuffer action(String gameId, String playerId, String type, String args) {
+        LineWriter writer = begin(gameId, "ACTION").param("PLAYER", playerId).param("TYPE", type);
+        if (args != null && !args.isEmpty()) {
+            writer.param("ARGS", args);
+        }
+        return writer.finish();
+    }
+
+    public static ByteBuffer drawOk(String gameId, String playerId, int count, String newCards) {
+        return begin(gameId, "DRAWOK").param("PLAYER", playerId).param("COUNT", count).param("NEW", newCards).finish();
+    }
+
+    public static ByteBuffer hint(String gameId, String playerId, String discard, double equity, long samples) {
+        return begin(gameId, "HINT")
+            .param("PLAYER", playerId)
+            .param("DISCARD", discard)
+            // Formatter's rounding is kept for byte compatibility; hints are rare
+            .param("EQUITY", String.format(Locale.ROOT, "%.4f", equity))
+            .param("SAMPLES", samples)
+            .finish();
+    }
+
+    public static ByteBuffer round(String gameId, int pot, int highestBet) {
+        return begin(gameId, "ROUND").param("POT", pot).param("HIGHESTBET", highestBet).finish();
+    }
+
+    public static ByteBuffer showdown(String gameId, String playerId, String hand, String rank) {
+        return begin(gameId, "SHOWDOWN").param("PLAYER", playerId).param("HAND", hand).param("RANK", rank).finish();
+    }
+
+    public static ByteBuffer winner(String gameId, String playerId, int pot, String rank) {
+        return begin(gameId, "WINNER").param("PLAYER", playerId).param("POT", pot).param("RANK", rank).finish();
+    }
+
+    public static ByteBuffer payout(String gameId, String playerId, int amount, int stack) {
+        return begin(gameId, "PAYOUT").param("PLAYER", playerId).param("AMOUNT", amount).param("STACK", stack).finish();
+    }
+
+    public static ByteBuffer end(String gameId, String reason) {
+        return begin(gameId, "END").param("REASON", reason).finish();
+    }
+
+    /**
+     * Starts a line; server messages never carry a player id in the header.
+     */
+    private static LineWriter begin(String gameId, String action) {
+        LineWriter writer = WRITERS.get();
+        writer.buffer.clear();
+        writer.text(gameId != null ? gameId : "-");
+        writer.ascii(" - ");
+        writer.ascii(action);
+        return writer;
+    }
+
+    /**
+     * Growable scratch buffer for one thread's lines.
+     */
+    private static final class LineWriter {
+        private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+        LineWriter param(String key, String value) {
+            key(key);
+            // Same as StringBuilder.append(null)
+            text(value != null ? value : "null");
+            return this;
+        }
+
+        LineWriter param(String key, long value) {
+            key(key);
+            number(value);
+            return this;
+        }
+
+        ByteBuffer finish() {
+            ensure(1);
+            buffer.put((byte) '\n');
+            buffer.flip();
+            ByteBuffer line = ByteBuffer.allocate(buffer.remaining());
+            line.put(buffer).flip();
+            return line.asReadOnlyBuffer();
+        }
+
+        private void key(String key) {
+            ensure(key.length() + 2);
+            buffer.put((byte) ' ');
+            ascii(key);
+            buffer.put((byte) '=');
+        }
+
+        private void ascii(String text) {
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                buffer.put((byte) text.charAt(i));
+            }
+        }
+
+        /**
+         * Writes UTF-8, replacing unpaired surrogates with '?' as String.getBytes does.
+         */
+        private void text(String text) {
+            ensure(text.length() * 3);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | (c >> 6)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else if (Character.isSurrogate(c)) {
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | (c >> 12)));
+                    buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+        }
+
+        private void number(long value) {
+            ensure(20);
+            if (value < 0) {
+                buffer.put((byte) '-');
+            } else {
+                value = -value;
+            }
+            // Digits of the negated value, so Long.MIN_VALUE needs no special case
+            int start = buffer.position();
+            do {
+                buffer.put((byte) ('0' - value % 10));
+                value /= 10;
+            } while (value != 0);
+            for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+                byte digit = buffer.get(i);
+                buffer.put(i, buffer.get(j));
+                buffer.put(j, digit);
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+}
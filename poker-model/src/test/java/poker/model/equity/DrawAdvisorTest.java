@@ -0,0 +1,112 @@
+package poker.model.equity;
+
+import org.junit.jupiter.api.Test;
+import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+import poker.model.game.HandEvaluator;
+import poker.model.game.HandRank;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrawAdvisorTest {
+
+    private final DrawAdvisor advisor =
+        new DrawAdvisor(new EquityCalculator(new HandEvaluator.LookupTableEvaluator(), 5));
+
+    private static List<Card> hand(String cards) {
+        return Arrays.stream(cards.split(",")).map(Card::fromString).toList();
+    }
+
+    @Test
+    void testDiscardSubsetsFollowDrawLimit() {
+        assertEquals(32, DrawAdvisor.discardSubsets(5).size());
+        assertEquals(26, DrawAdvisor.discardSubsets(3).size());
+        assertEquals(List.of(List.of()), DrawAdvisor.discardSubsets(0));
+    }
+
+    @Test
+    void testEvaluatesEveryAllowedDiscard() {
+        DrawAdvice advice = advisor.advise(hand("AH,KH,7H,4H,9C"), 1, CardSet.EMPTY,
+            SimulationBudget.iterations(500), 1L);
+
+        assertEquals(32, advice.options().size());
+        for (int i = 1; i < advice.options().size(); i++) {
+            assertTrue(advice.options().get(i - 1).equity() >= advice.options().get(i).equity());
+        }
+    }
+
+    @Test
+    void testStandsPatOnRoyalFlush() {
+        DrawAdvice advice = advisor.advise(hand("AS,KS,QS,JS,TS"), 2, CardSet.EMPTY,
+            SimulationBudget.iterations(2000), 1L);
+
+        assertEquals(List.of(), advice.best().discardIndices());
+        assertEquals("NONE", advice.best().toProtocolString());
+        assertEquals(1.0, advice.best().categoryRate(HandRank.PokerRank.ROYAL_FLUSH));
+    }
+
+    @Test
+    void testKeepsFourOfAKind() {
+        DrawAdvice advice = advisor.advise(hand("9S,9H,9D,9C,2D"), 1, CardSet.EMPTY,
+            SimulationBudget.iterations(2000), 1L);
+
+        List<Integer> discards = advice.best().discardIndices();
+        assertTrue(discards.isEmpty() || discards.equals(List.of(4)), "Discarded " + discards);
+
+        DrawOption kicker = advice.options().stream()
+            .filter(option -> option.discardIndices().equals(List.of(4)))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1.0, kicker.categoryRate(HandRank.PokerRank.FOUR_OF_A_KIND));
+        assertEquals("4", kicker.toProtocolString());
+    }
+
+    @Test
+    void testCategoryDistributionSumsToOne() {
+        DrawAdvice advice = advisor.advise(hand("AH,KH,7H,4H,9C"), 1, CardSet.EMPTY,
+            SimulationBudget.iterations(3000), 5L);
+
+        for (DrawOption option : advice.options()) {
+            double total = 0;
+            for (HandRank.PokerRank category : HandRank.PokerRank.values()) {
+                total += option.categoryRate(category);
+            }
+            assertEquals(1.0, total, 1e-9);
+            assertEquals(3000, option.result().getIterations());
+        }
+    }
+
+    @Test
+    void testSeededAdviceIsReproducible() {
+        DrawAdvice first = advisor.advise(hand("AH,KH,7H,4H,9C"), 2, CardSet.EMPTY,
+            SimulationBudget.iterations(1000), 9L);
+        DrawAdvice second = advisor.advise(hand("AH,KH,7H,4H,9C"), 2, CardSet.EMPTY,
+            SimulationBudget.iterations(1000), 9L);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testTimeBudgetBoundsLatency() {
+        long start = System.nanoTime();
+        DrawAdvice advice = advisor.advise(hand("AH,KH,7H,4H,9C"), 3, CardSet.EMPTY,
+            SimulationBudget.time(Duration.ofMillis(30)), 1L);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2000, "Took " + elapsedMillis + " ms");
+        assertTrue(advice.best().result().getIterations() > 0);
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DrawAdvisor((EquityCalculator) null));
+        assertThrows(IllegalArgumentException.class, () ->
+            advisor.advise(hand("AH,KH,7H,4H,9C"), 0, CardSet.EMPTY, SimulationBudget.iterations(10), 1L));
+        assertThrows(IllegalArgumentException.class, () ->
+            advisor.advise(hand("AH,KH"), 1, CardSet.EMPTY, SimulationBudget.iterations(10), 1L));
+    }
+}
@@ -0,0 +1,272 @@
+package poker.model.equity;
+
+import org.junit.jupiter.api.Test;
+import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+import poker.model.game.GameConfig;
+import poker.model.game.HandEvaluator;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquityCalculatorTest {
+
+    private final EquityCalculator calculator =
+        new EquityCalculator(new HandEvaluator.LookupTableEvaluator(), 3);
+
+    private static List<Card> hand(String cards) {
+        return Arrays.stream(cards.split(",")).map(Card::fromString).toList();
+    }
+
+    @Test
+    void testPatHandsAreDecided() {
+        Seat aces = Seat.holding(hand("AS,AD,7C,5H,2D"));
+        Seat kings = Seat.holding(hand("KS,KD,8C,6H,3D"));
+
+        EquityResult result = calculator.calculate(List.of(aces, kings), CardSet.EMPTY,
+            SimulationBudget.iterations(1000), new SplittableRandom(1));
+
+        assertEquals(1000, result.getIterations());
+        assertEquals(1000, result.getWins(0));
+        assertEquals(1000, result.getLosses(1));
+        assertEquals(1.0, result.equity(0));
+        assertEquals(0.0, result.equity(1));
+    }
+
+    @Test
+    void testIdenticalRanksSplitThePot() {
+        Seat first = Seat.holding(hand("AS,KS,QD,JC,9H"));
+        Seat second = Seat.holding(hand("AD,KD,QC,JH,9S"));
+
+        EquityResult result = calculator.calculate(List.of(first, second), CardSet.EMPTY,
+            SimulationBudget.iterations(100), new SplittableRandom(1));
+
+        assertEquals(100, result.getTies(0));
+        assertEquals(100, result.getTies(1));
+        assertEquals(0.5, result.equity(0));
+        assertEquals(0.5, result.equity(1));
+    }
+
+    @Test
+    void testFlushDrawAgainstSmallPair() {
+        // 21 of the 42 unseen cards win for the drawing hand:
+        // 9 hearts and 12 cards pairing A/K/7/4
+        Seat drawing = Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(4));
+        Seat pat = Seat.holding(hand("2S,2D,5C,8D,JC"));
+
+        EquityResult result = calculator.calculate(List.of(drawing, pat), CardSet.EMPTY,
+            SimulationBudget.iterations(200_000), new SplittableRandom(42));
+
+        assertEquals(21.0 / 42, result.equity(0), 0.01);
+        assertEquals(result.getWins(0), result.getLosses(1));
+        assertEquals(0, result.getTies(0));
+    }
+
+    @Test
+    void testDeadCardsAreNotDealt() {
+        // With every remaining heart dead, the flush draw can only pair up
+        Seat drawing = Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(4));
+        Seat pat = Seat.holding(hand("2S,2D,5C,8D,JC"));
+        CardSet dead = CardSet.parse("QH,JH,TH,9H,8H,6H,5H,3H,2H");
+
+        EquityResult result = calculator.calculate(List.of(drawing, pat), dead,
+            SimulationBudget.iterations(100_000), new SplittableRandom(7));
+
+        assertEquals(12.0 / 33, result.equity(0), 0.01);
+    }
+
+    @Test
+    void testUnknownOpponentsShareOfEquity() {
+        // Symmetric seats: three hidden hands split equity evenly
+        List<Seat> seats = List.of(Seat.unknown(), Seat.unknown(), Seat.unknown());
+
+        EquityResult result = calculator.calculate(seats, CardSet.EMPTY,
+            SimulationBudget.iterations(60_000), new SplittableRandom(3));
+
+        double total = 0;
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(1.0 / 3, result.equity(seat), 0.01);
+            assertEquals(result.getIterations(),
+                result.getWins(seat) + result.getTies(seat) + result.getLosses(seat));
+            total += result.equity(seat);
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test
+    void testSeededRunsAreReproducible() {
+        List<Seat> seats = List.of(Seat.holding(hand("AS,AD,7C,5H,2D")), Seat.unknown());
+
+        EquityResult first = calculator.calculate(seats, CardSet.EMPTY,
+            SimulationBudget.iterations(5000), new SplittableRandom(99));
+        EquityResult second = calculator.calculate(seats, CardSet.EMPTY,
+            SimulationBudget.iterations(5000), new SplittableRandom(99));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testTimeBudgetStopsTheRun() {
+        List<Seat> seats = List.of(Seat.unknown(), Seat.unknown());
+
+        EquityResult result = calculator.calculate(seats, CardSet.EMPTY,
+            SimulationBudget.time(Duration.ofMillis(20)));
+
+        assertTrue(result.getIterations() > 0);
+        assertTrue(result.getIterations() < Long.MAX_VALUE);
+    }
+
+    @Test
+    void testUsesGameConfigDrawLimit() {
+        GameConfig config = GameConfig.builder().ante(10).fixedBet(20).maxDraw(2).build();
+        EquityCalculator limited = new EquityCalculator(config);
+        Seat drawingThree = Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(2, 3, 4));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            limited.calculate(List.of(drawingThree, Seat.unknown()), CardSet.EMPTY,
+                SimulationBudget.iterations(10)));
+    }
+
+    @Test
+    void testRejectsSharedCards() {
+        Seat first = Seat.holding(hand("AS,AD,7C,5H,2D"));
+        Seat second = Seat.holding(hand("AS,KD,8C,6H,3D"));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            calculator.calculate(List.of(first, second), CardSet.EMPTY, SimulationBudget.iterations(10)));
+        assertThrows(IllegalArgumentException.class, () ->
+            calculator.calculate(List.of(first, Seat.unknown()), CardSet.parse("7C"),
+                SimulationBudget.iterations(10)));
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new EquityCalculator(null, 3));
+        assertThrows(IllegalArgumentException.class, () ->
+            calculator.calculate(List.of(), CardSet.EMPTY, SimulationBudget.iterations(10)));
+        assertThrows(IllegalArgumentException.class, () -> SimulationBudget.iterations(0));
+        assertThrows(IllegalArgumentException.class, () -> SimulationBudget.time(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () ->
+            Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(5)));
+        assertThrows(IllegalArgumentException.class, () -> Seat.holding(hand("AH,KH")));
+    }
+
+    @Test
+    void testTooManySeatsForTheDeck() {
+        List<Seat> seats = Collections.nCopies(11, Seat.unknown());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            calculator.calculate(seats, CardSet.EMPTY, SimulationBudget.iterations(10)));
+    }
+
+    @Test
+    void testEnumerationIsExact() {
+        Seat drawing = Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(4));
+        Seat pat = Seat.holding(hand("2S,2D,5C,8D,JC"));
+
+        EquityResult result = calculator.enumerate(List.of(drawing, pat), CardSet.EMPTY);
+
+        assertEquals(42, result.getIterations());
+        assertEquals(21, result.getWins(0));
+        assertEquals(21, result.getLosses(0));
+        assertEquals(0.5, result.equity(0));
+    }
+
+    @Test
+    void testEnumerationCoversEveryCompletion() {
+        // Two cards drawn by each of two seats: C(42,2) * C(40,2) deals
+        Seat first = Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(3, 4));
+        Seat second = Seat.drawing(hand("2S,2D,5C,8D,JC"), List.of(2, 3));
+        List<Seat> seats = List.of(first, second);
+
+        EquityResult result = calculator.enumerate(seats, CardSet.EMPTY);
+
+        assertEquals(861L * 780, calculator.completions(seats, CardSet.EMPTY));
+        assertEquals(861L * 780, result.getIterations());
+        assertEquals(1.0, result.equity(0) + result.equity(1), 1e-12);
+    }
+
+    @Test
+    void testSolveEnumeratesSmallSpaces() {
+        Seat drawing = Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(4));
+        Seat pat = Seat.holding(hand("2S,2D,5C,8D,JC"));
+
+        EquityResult result = calculator.solve(List.of(drawing, pat), CardSet.EMPTY,
+            SimulationBudget.iterations(1_000_000), 1L);
+
+        assertEquals(42, result.getIterations());
+    }
+
+    @Test
+    void testSolveSamplesLargeSpaces() {
+        List<Seat> seats = List.of(Seat.holding(hand("AS,AD,7C,5H,2D")), Seat.unknown());
+
+        EquityResult result = calculator.solve(seats, CardSet.EMPTY, SimulationBudget.iterations(50_000), 1L);
+
+        assertEquals(50_000, result.getIterations());
+        assertTrue(calculator.completions(seats, CardSet.EMPTY) > EquityCalculator.DEFAULT_EXHAUSTIVE_THRESHOLD);
+    }
+
+    @Test
+    void testParallelSamplingMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            EquityCalculator parallel = new EquityCalculator(new HandEvaluator.LookupTableEvaluator(), 3,
+                EquityCalculator.DEFAULT_EXHAUSTIVE_THRESHOLD, pool);
+            List<Seat> seats = List.of(Seat.drawing(hand("AH,KH,7H,4H,9C"), List.of(4)),
+                Seat.unknown(), Seat.unknown());
+            // Not a multiple of the block size, so the last block is partial
+            SimulationBudget budget = SimulationBudget.iterations(5 * EquityCalculator.BLOCK_SIZE + 123);
+
+            EquityResult sequential = calculator.sample(seats, CardSet.EMPTY, budget, 2024L, false);
+            EquityResult concurrent = parallel.sample(seats, CardSet.EMPTY, budget, 2024L, true);
+
+            assertEquals(5L * EquityCalculator.BLOCK_SIZE + 123, sequential.getIterations());
+            assertEquals(sequential, concurrent);
+            assertNotEquals(sequential, calculator.sample(seats, CardSet.EMPTY, budget, 2025L, false));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSampleWithTimeBudget() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            EquityCalculator parallel = new EquityCalculator(new HandEvaluator.LookupTableEvaluator(), 3,
+                EquityCalculator.DEFAULT_EXHAUSTIVE_THRESHOLD, pool);
+            List<Seat> seats = List.of(Seat.unknown(), Seat.unknown());
+            SimulationBudget budget = SimulationBudget.time(Duration.ofMillis(20));
+
+            EquityResult sequential = calculator.sample(seats, CardSet.EMPTY, budget, 7L, false);
+            EquityResult concurrent = parallel.sample(seats, CardSet.EMPTY, budget, 7L, true);
+
+            assertTrue(sequential.getIterations() > 0);
+            assertTrue(concurrent.getIterations() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testMergeAddsCounts() {
+        List<Seat> seats = List.of(Seat.unknown(), Seat.unknown());
+        EquityResult first = calculator.calculate(seats, CardSet.EMPTY,
+            SimulationBudget.iterations(100), new SplittableRandom(1));
+        EquityResult second = calculator.calculate(seats, CardSet.EMPTY,
+            SimulationBudget.iterations(50), new SplittableRandom(2));
+
+        EquityResult merged = first.merge(second);
+
+        assertEquals(150, merged.getIterations());
+        assertEquals(first.getWins(0) + second.getWins(0), merged.getWins(0));
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(
+            calculator.enumerate(List.of(Seat.holding(hand("AS,AD,7C,5H,2D"))), CardSet.EMPTY)));
+    }
+}
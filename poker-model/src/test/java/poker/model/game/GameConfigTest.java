@@ -40,6 +40,8 @@ class GameConfigTest {
         assertEquals(2, config.getMinPlayers()); // default
         assertEquals(4, config.getMaxPlayers()); // default
         assertEquals(1000, config.getInitialChips()); // default
+        assertInstanceOf(HandEvaluator.StandardPokerEvaluator.class, config.getHandEvaluator()); // default
+        assertNotNull(config.getShuffleSource()); // default
     }
 
     @Test
@@ -243,4 +245,47 @@ class GameConfigTest {
         assertEquals(6, config.getMaxPlayers());
         assertEquals(500, config.getInitialChips());
     }
+
+    @Test
+    void testCustomHandEvaluator() {
+        GameConfig config = GameConfig.builder()
+            .ante(10)
+            .fixedBet(20)
+            .handEvaluator(new HandEvaluator.LookupTableEvaluator())
+            .build();
+
+        assertDoesNotThrow(config::validate);
+        assertInstanceOf(HandEvaluator.LookupTableEvaluator.class, config.getHandEvaluator());
+        assertSame(config.getHandEvaluator(), new PokerGame(GameId.generate(), config).getHandEvaluator());
+    }
+
+    @Test
+    void testInvalidHandEvaluatorNull() {
+        GameConfig config = GameConfig.builder()
+            .ante(10)
+            .fixedBet(20)
+            .handEvaluator(null)
+            .build();
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            config::validate
+        );
+        assertTrue(exception.getMessage().contains("Hand evaluator cannot be null"));
+    }
+
+    @Test
+    void testInvalidShuffleSourceNull() {
+        GameConfig config = GameConfig.builder()
+            .ante(10)
+            .fixedBet(20)
+            .shuffleSource(null)
+            .build();
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            config::validate
+        );
+        assertTrue(exception.getMessage().contains("Shuffle source cannot be null"));
+    }
 }
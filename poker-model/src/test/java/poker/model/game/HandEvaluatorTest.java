@@ -3,8 +3,11 @@ package poker.model.game;
 import org.junit.jupiter.api.Test;
 import poker.common.cards.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -186,4 +189,139 @@ class HandEvaluatorTest {
 
         assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(hand));
     }
+
+    @Test
+    void testWheelIsFiveHighStraight() {
+        List<Card> wheel = Arrays.asList(
+            new Card(Suit.SPADES, Rank.ACE),
+            new Card(Suit.HEARTS, Rank.TWO),
+            new Card(Suit.DIAMONDS, Rank.THREE),
+            new Card(Suit.CLUBS, Rank.FOUR),
+            new Card(Suit.SPADES, Rank.FIVE)
+        );
+        List<Card> sixHigh = Arrays.asList(
+            new Card(Suit.SPADES, Rank.SIX),
+            new Card(Suit.HEARTS, Rank.TWO),
+            new Card(Suit.DIAMONDS, Rank.THREE),
+            new Card(Suit.CLUBS, Rank.FOUR),
+            new Card(Suit.SPADES, Rank.FIVE)
+        );
+
+        HandRank rank = evaluator.evaluate(wheel);
+        assertEquals(HandRank.PokerRank.STRAIGHT, rank.getRank());
+        assertEquals(Rank.FIVE, rank.getKickers()[0]);
+        assertTrue(evaluator.evaluate(sixHigh).compareTo(rank) > 0);
+    }
+
+    @Test
+    void testSteelWheelIsStraightFlush() {
+        List<Card> hand = Arrays.asList(
+            new Card(Suit.HEARTS, Rank.ACE),
+            new Card(Suit.HEARTS, Rank.TWO),
+            new Card(Suit.HEARTS, Rank.THREE),
+            new Card(Suit.HEARTS, Rank.FOUR),
+            new Card(Suit.HEARTS, Rank.FIVE)
+        );
+
+        HandRank rank = evaluator.evaluate(hand);
+        assertEquals(HandRank.PokerRank.STRAIGHT_FLUSH, rank.getRank());
+        assertEquals(Rank.FIVE, rank.getKickers()[0]);
+    }
+
+    @Test
+    void testLookupTableMatchesStandardEvaluator() {
+        HandEvaluator lookup = new HandEvaluator.LookupTableEvaluator();
+        List<Card> deck = new ArrayList<>(Deck.createSortedDeck().getCards());
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            Collections.shuffle(deck, random);
+            List<Card> hand = deck.subList(0, 5);
+            HandRank expected = evaluator.evaluate(hand);
+            HandRank actual = lookup.evaluate(hand);
+
+            assertEquals(expected.getRank(), actual.getRank());
+            assertEquals(expected.toProtocolString(), actual.toProtocolString());
+            assertEquals(expected.getStrength(), lookup.evaluateStrength(hand));
+            assertEquals(evaluator.evaluateStrength(hand), lookup.evaluateStrength(hand));
+            assertEquals(expected.getStrength(), lookup.evaluateStrength(CardSet.maskOf(hand)));
+        }
+    }
+
+    @Test
+    void testLookupTableReusesHandRankInstances() {
+        HandEvaluator lookup = new HandEvaluator.LookupTableEvaluator();
+        List<Card> hand1 = Arrays.asList(
+            new Card(Suit.SPADES, Rank.TEN),
+            new Card(Suit.HEARTS, Rank.TEN),
+            new Card(Suit.DIAMONDS, Rank.KING),
+            new Card(Suit.CLUBS, Rank.FIVE),
+            new Card(Suit.SPADES, Rank.THREE)
+        );
+        List<Card> hand2 = Arrays.asList(
+            new Card(Suit.CLUBS, Rank.TEN),
+            new Card(Suit.DIAMONDS, Rank.TEN),
+            new Card(Suit.HEARTS, Rank.KING),
+            new Card(Suit.SPADES, Rank.FIVE),
+            new Card(Suit.CLUBS, Rank.THREE)
+        );
+
+        assertSame(lookup.evaluate(hand1), lookup.evaluate(hand2));
+    }
+
+    @Test
+    void testLookupTableRejectsInvalidHands() {
+        HandEvaluator lookup = new HandEvaluator.LookupTableEvaluator();
+        List<Card> tooShort = Arrays.asList(
+            new Card(Suit.SPADES, Rank.ACE),
+            new Card(Suit.HEARTS, Rank.KING)
+        );
+        List<Card> duplicateFlush = Arrays.asList(
+            new Card(Suit.SPADES, Rank.ACE),
+            new Card(Suit.SPADES, Rank.ACE),
+            new Card(Suit.SPADES, Rank.QUEEN),
+            new Card(Suit.SPADES, Rank.JACK),
+            new Card(Suit.SPADES, Rank.NINE)
+        );
+
+        List<Card> duplicatePair = Arrays.asList(
+            new Card(Suit.SPADES, Rank.ACE),
+            new Card(Suit.SPADES, Rank.ACE),
+            new Card(Suit.DIAMONDS, Rank.KING),
+            new Card(Suit.CLUBS, Rank.SEVEN),
+            new Card(Suit.HEARTS, Rank.TWO)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> lookup.evaluate(tooShort));
+        assertThrows(IllegalArgumentException.class, () -> lookup.evaluate(duplicateFlush));
+        assertThrows(IllegalArgumentException.class, () -> lookup.evaluate(duplicatePair));
+    }
+
+    @Test
+    void testKickersAreNotShared() {
+        HandEvaluator lookup = new HandEvaluator.LookupTableEvaluator();
+        List<Card> hand = Arrays.asList(
+            new Card(Suit.SPADES, Rank.TEN),
+            new Card(Suit.HEARTS, Rank.TEN),
+            new Card(Suit.DIAMONDS, Rank.KING),
+            new Card(Suit.CLUBS, Rank.FIVE),
+            new Card(Suit.SPADES, Rank.THREE)
+        );
+
+        lookup.evaluate(hand).getKickers()[0] = Rank.TWO;
+
+        assertEquals(Rank.TEN, lookup.evaluate(hand).getKickers()[0]);
+    }
+
+    @Test
+    void testEvaluateStrengthFromMask() {
+        long mask = CardSet.parse("AS,AH,KD,KC,2S").bits();
+        HandEvaluator lookup = new HandEvaluator.LookupTableEvaluator();
+
+        int strength = evaluator.evaluateStrength(mask);
+        assertEquals(HandRank.PokerRank.TWO_PAIR, HandRank.categoryOf(strength));
+        assertEquals(strength, lookup.evaluateStrength(mask));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluateStrength(CardSet.parse("AS,AH").bits()));
+        assertThrows(IllegalArgumentException.class, () -> lookup.evaluateStrength(CardSet.parse("AS,AH").bits()));
+    }
 }
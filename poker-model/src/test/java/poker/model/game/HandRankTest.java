@@ -169,4 +169,58 @@ class HandRankTest {
         assertTrue(str.contains("("));
         assertTrue(str.contains(")"));
     }
+
+    @Test
+    void testStrengthPacksCategoryAndKickers() {
+        HandRank rank = new HandRank(HandRank.PokerRank.TWO_PAIR, Rank.ACE, Rank.KING, Rank.TWO);
+
+        assertEquals(0x3ED200, rank.getStrength());
+        assertEquals(rank.getStrength(), HandRank.pack(HandRank.PokerRank.TWO_PAIR, Rank.ACE, Rank.KING, Rank.TWO));
+        assertEquals(HandRank.PokerRank.TWO_PAIR, HandRank.categoryOf(rank.getStrength()));
+    }
+
+    @Test
+    void testStrengthOrderMatchesCompareTo() {
+        HandRank highCard = new HandRank(HandRank.PokerRank.HIGH_CARD,
+            Rank.ACE, Rank.KING, Rank.QUEEN, Rank.JACK, Rank.NINE);
+        HandRank lowPair = new HandRank(HandRank.PokerRank.PAIR, Rank.TWO, Rank.FIVE, Rank.FOUR, Rank.THREE);
+        HandRank shortPair = new HandRank(HandRank.PokerRank.PAIR, Rank.TWO);
+
+        assertTrue(lowPair.getStrength() > highCard.getStrength());
+        assertTrue(lowPair.getStrength() > shortPair.getStrength());
+        assertTrue(lowPair.compareTo(highCard) > 0);
+        assertTrue(shortPair.compareTo(lowPair) < 0);
+    }
+
+    @Test
+    void testFromStrengthRoundTrip() {
+        HandRank original = new HandRank(HandRank.PokerRank.FLUSH,
+            Rank.ACE, Rank.TEN, Rank.EIGHT, Rank.FOUR, Rank.TWO);
+        HandRank decoded = HandRank.fromStrength(original.getStrength());
+
+        assertEquals(HandRank.PokerRank.FLUSH, decoded.getRank());
+        assertArrayEquals(original.getKickers(), decoded.getKickers());
+        assertEquals(0, original.compareTo(decoded));
+        assertEquals(original.toProtocolString(), decoded.toProtocolString());
+    }
+
+    @Test
+    void testFromStrengthRejectsInvalidKickers() {
+        assertThrows(IllegalArgumentException.class, () -> HandRank.fromStrength(0x310000));
+        assertThrows(IllegalArgumentException.class, () -> HandRank.fromStrength(0x3F0000));
+    }
+
+    @Test
+    void testTooManyKickers() {
+        assertThrows(IllegalArgumentException.class, () -> new HandRank(HandRank.PokerRank.HIGH_CARD,
+            Rank.ACE, Rank.KING, Rank.QUEEN, Rank.JACK, Rank.NINE, Rank.EIGHT));
+    }
+
+    @Test
+    void testPokerRankFromValue() {
+        assertEquals(HandRank.PokerRank.HIGH_CARD, HandRank.PokerRank.fromValue(1));
+        assertEquals(HandRank.PokerRank.ROYAL_FLUSH, HandRank.PokerRank.fromValue(10));
+        assertThrows(IllegalArgumentException.class, () -> HandRank.PokerRank.fromValue(0));
+        assertThrows(IllegalArgumentException.class, () -> HandRank.PokerRank.fromValue(11));
+    }
 }
@@ -0,0 +1,142 @@
+package poker.model.game;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.common.cards.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTableEvaluatorTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path tablePath;
+    private static MappedTableEvaluator evaluator;
+    private final HandEvaluator reference = new HandEvaluator.LookupTableEvaluator();
+
+    @BeforeAll
+    static void generateTable() throws IOException {
+        tablePath = tempDir.resolve("strengths.bin");
+        evaluator = MappedTableEvaluator.open(tablePath);
+    }
+
+    @Test
+    void testHandIndexCoversRange() {
+        assertEquals(0, MappedTableEvaluator.handIndex(0b11111L));
+        assertEquals(MappedTableEvaluator.HAND_COUNT - 1, MappedTableEvaluator.handIndex(0b11111L << 47));
+    }
+
+    @Test
+    void testTableFileSize() throws IOException {
+        // 20-byte header, 7462 class strengths, one short per hand
+        assertEquals(20 + 7462 * 4 + MappedTableEvaluator.HAND_COUNT * 2L, Files.size(tablePath));
+    }
+
+    @Test
+    void testAgreesWithLookupEvaluator() {
+        Random random = new Random(11);
+        List<Card> deck = new ArrayList<>(Deck.createSortedDeck().getCards());
+
+        for (int i = 0; i < 100_000; i++) {
+            Collections.shuffle(deck, random);
+            List<Card> hand = deck.subList(0, 5);
+
+            assertEquals(reference.evaluateStrength(hand), evaluator.evaluateStrength(hand), hand::toString);
+            assertEquals(reference.evaluateStrength(CardSet.maskOf(hand)),
+                evaluator.evaluateStrength(CardSet.maskOf(hand)), hand::toString);
+        }
+    }
+
+    @Test
+    void testEvaluateReturnsHandRank() {
+        List<Card> wheel = Arrays.asList(
+            Card.of(Suit.HEARTS, Rank.ACE),
+            Card.of(Suit.HEARTS, Rank.TWO),
+            Card.of(Suit.HEARTS, Rank.THREE),
+            Card.of(Suit.HEARTS, Rank.FOUR),
+            Card.of(Suit.HEARTS, Rank.FIVE)
+        );
+
+        HandRank rank = evaluator.evaluate(wheel);
+
+        assertEquals(HandRank.PokerRank.STRAIGHT_FLUSH, rank.getRank());
+        assertEquals(0, rank.compareTo(reference.evaluate(wheel)));
+    }
+
+    @Test
+    void testReopenMapsExistingFile() throws IOException {
+        FileTime before = Files.getLastModifiedTime(tablePath);
+
+        MappedTableEvaluator reopened = MappedTableEvaluator.open(tablePath);
+
+        assertEquals(before, Files.getLastModifiedTime(tablePath));
+        long royal = CardSet.parse("AS,KS,QS,JS,TS").bits();
+        assertEquals(evaluator.evaluateStrength(royal), reopened.evaluateStrength(royal));
+    }
+
+    @Test
+    void testRegeneratesInvalidFile() throws IOException {
+        Path corrupt = tempDir.resolve("corrupt.bin");
+        Files.write(corrupt, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+
+        MappedTableEvaluator regenerated = MappedTableEvaluator.open(corrupt);
+
+        assertEquals(Files.size(tablePath), Files.size(corrupt));
+        long hand = CardSet.parse("2C,2D,9H,9S,KC").bits();
+        assertEquals(reference.evaluateStrength(hand), regenerated.evaluateStrength(hand));
+    }
+
+    @Test
+    void testRegeneratesFileFailingChecksum() throws IOException {
+        Path damaged = tempDir.resolve("damaged.bin");
+        byte[] bytes = Files.readAllBytes(tablePath);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(damaged, bytes);
+
+        MappedTableEvaluator regenerated = MappedTableEvaluator.open(damaged);
+
+        assertArrayEquals(Files.readAllBytes(tablePath), Files.readAllBytes(damaged));
+        long hand = CardSet.parse("2C,2D,9H,9S,KC").bits();
+        assertEquals(reference.evaluateStrength(hand), regenerated.evaluateStrength(hand));
+    }
+
+    @Test
+    void testRegeneratesFileWithClassIdOutOfRange() throws IOException {
+        // A planted file with a correct checksum must still not be trusted
+        Path planted = tempDir.resolve("planted.bin");
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(tablePath));
+        bytes.putShort(bytes.capacity() - Short.BYTES, Short.MAX_VALUE);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate().position(20));
+        bytes.putInt(16, (int) crc.getValue());
+        Files.write(planted, bytes.array());
+
+        MappedTableEvaluator regenerated = MappedTableEvaluator.open(planted);
+
+        assertArrayEquals(Files.readAllBytes(tablePath), Files.readAllBytes(planted));
+        assertEquals(reference.evaluateStrength(0b11111L << 47), regenerated.evaluateStrength(0b11111L << 47));
+    }
+
+    @Test
+    void testInvalidHands() {
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluateStrength(0b1111L));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(null));
+        Card ace = Card.of(Suit.SPADES, Rank.ACE);
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(Arrays.asList(
+            ace, ace, Card.of(Suit.SPADES, Rank.TWO), Card.of(Suit.SPADES, Rank.THREE), Card.of(Suit.SPADES, Rank.FOUR))));
+    }
+}
@@ -2,6 +2,8 @@ package poker.model.game;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import poker.common.cards.Deck;
+import poker.common.cards.ShuffleSource;
 import poker.model.exceptions.*;
 import poker.model.players.Player;
 import poker.model.players.PlayerId;
@@ -513,4 +515,52 @@ class PokerGameTest {
         assertEquals(0, game.getPot());
         assertFalse(payouts.isEmpty());
     }
+
+    @Test
+    void testSeededShuffleSourceDealsReproducibly() {
+        GameConfig seeded = GameConfig.builder()
+            .ante(10)
+            .fixedBet(20)
+            .shuffleSource(ShuffleSource.seeded(1234))
+            .build();
+        GameConfig sameSeed = GameConfig.builder()
+            .ante(10)
+            .fixedBet(20)
+            .shuffleSource(ShuffleSource.seeded(1234))
+            .build();
+
+        PokerGame first = dealTwoPlayerGame(seeded);
+        PokerGame second = dealTwoPlayerGame(sameSeed);
+
+        assertEquals(first.getPlayer(PlayerId.of("P1")).getHand(), second.getPlayer(PlayerId.of("P1")).getHand());
+        assertEquals(first.getPlayer(PlayerId.of("P2")).getHand(), second.getPlayer(PlayerId.of("P2")).getHand());
+    }
+
+    @Test
+    void testDeckIsReusedAcrossHands() {
+        PokerGame pokerGame = new PokerGame(GameId.generate(), config);
+        var deck = pokerGame.getDeck();
+        // Full and unshuffled until the first deal
+        assertEquals(52, deck.remaining());
+        assertEquals(Deck.createSortedDeck().getCards(), deck.getCards());
+
+        pokerGame.addPlayer(PlayerId.of("P1"), "Alice");
+        pokerGame.addPlayer(PlayerId.of("P2"), "Bob");
+        pokerGame.startGame();
+        pokerGame.collectAnte();
+        pokerGame.dealInitialCards();
+
+        assertSame(deck, pokerGame.getDeck());
+        assertEquals(42, deck.remaining());
+    }
+
+    private PokerGame dealTwoPlayerGame(GameConfig gameConfig) {
+        PokerGame pokerGame = new PokerGame(GameId.generate(), gameConfig);
+        pokerGame.addPlayer(PlayerId.of("P1"), "Alice");
+        pokerGame.addPlayer(PlayerId.of("P2"), "Bob");
+        pokerGame.startGame();
+        pokerGame.collectAnte();
+        pokerGame.dealInitialCards();
+        return pokerGame;
+    }
 }
@@ -0,0 +1,148 @@
+package poker.model.protocol;
+
+import org.junit.jupiter.api.Test;
+import poker.model.exceptions.ProtocolException;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+
+    private static final String GAME = "3f2a9c0b71de";
+    private static final String PLAYER = "0a1b2c3d";
+
+    private final ParsedFrame frame = new ParsedFrame();
+
+    /**
+     * Decodes a length-prefixed frame into the test's frame.
+     */
+    private ParsedFrame decodeFrame(byte[] bytes) throws IOException {
+        return BinaryCodec.decode(BinaryCodec.read(new ByteArrayInputStream(bytes)), frame);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Transcodes a text line and checks the binary frame decodes to what the line parses to.
+     */
+    private void assertRoundTrip(String line) throws IOException {
+        Message.ParsedMessage expected = new ParsedFrame().parse(line).toParsedMessage();
+        ByteBuffer encoded = BinaryCodec.fromText(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+
+        Message.ParsedMessage actual = decodeFrame(bytes(encoded)).toParsedMessage();
+        assertEquals(expected.getGameId(), actual.getGameId(), line);
+        assertEquals(expected.getPlayerId(), actual.getPlayerId(), line);
+        assertEquals(expected.getAction(), actual.getAction(), line);
+        assertEquals(expected.getParams(), actual.getParams(), line);
+    }
+
+    @Test
+    void testServerMessagesRoundTrip() throws IOException {
+        List<ServerMessage> messages = List.of(
+            ServerMessage.hello("BIN"),
+            ServerMessage.error("NOT_YOUR_TURN", "Wait for your turn"),
+            ServerMessage.welcome(GAME, PLAYER),
+            ServerMessage.lobby(GAME, "Alice,Bob"),
+            ServerMessage.started(GAME, PLAYER, 10, 20),
+            ServerMessage.deal(GAME, PLAYER, "AS,KD,2C,9H,TS"),
+            ServerMessage.deal(GAME, PLAYER, "*,*,*,*,*"),
+            ServerMessage.turn(GAME, PLAYER, "BET1", 0, 980),
+            ServerMessage.action(GAME, PLAYER, "BET", "-40"),
+            ServerMessage.drawOk(GAME, PLAYER, 0, ""),
+            ServerMessage.hint(GAME, PLAYER, "3,4", 0.123456, 20_000),
+            ServerMessage.showdown(GAME, PLAYER, "AS,AD,AH,KS,KD", "FULL_HOUSE"),
+            ServerMessage.payout(GAME, PLAYER, 60, 1040));
+        for (ServerMessage message : messages) {
+            assertRoundTrip(message.toProtocolString());
+        }
+    }
+
+    @Test
+    void testClientMessageEncoding() throws IOException {
+        ClientMessage message = ClientMessage.draw(GAME, PLAYER, "0,2,4");
+
+        ParsedFrame decoded = decodeFrame(BinaryCodec.encode(message));
+
+        assertEquals(Action.DRAW, decoded.action());
+        assertEquals(GAME, decoded.gameId());
+        assertEquals(PLAYER, decoded.playerId());
+        assertEquals("0,2,4", decoded.get(ParamKey.CARDS));
+    }
+
+    @Test
+    void testValuesKeepTheirExactText() throws IOException {
+        for (String value : List.of("0", "007", "-0", "+5", "-2147483649", "9223372036854775807",
+                "abc", "ABC", "ad", "AD", "as", "AS,", "*", "*,AS", "10H", "fffffffffffffff",
+                "ffffffffffffffff", "Zoë", "a b", "-", "none")) {
+            assertRoundTrip("G P BET VALUE=" + value);
+        }
+        assertRoundTrip("- - DANCE STYLE=waltz");
+        assertRoundTrip("00ff 0 CALL");
+    }
+
+    @Test
+    void testMatchesTextOnRandomLines() throws IOException {
+        char[] alphabet = {' ', '=', 'A', 'S', 'a', 'f', '0', '7', '-', ',', '*', 'T', 'H'};
+        Random random = new Random(23);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder line = new StringBuilder("g p X K=");
+            for (int i = random.nextInt(30); i > 0; i--) {
+                line.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertRoundTrip(line.toString());
+        }
+    }
+
+    @Test
+    void testBinaryIsSmallerThanText() {
+        ServerMessage deal = ServerMessage.deal(GAME, PLAYER, "AS,KD,2C,9H,TS");
+        ServerMessage turn = ServerMessage.turn(GAME, PLAYER, "BET1", 20, 980);
+
+        for (ServerMessage message : List.of(deal, turn)) {
+            int text = (message.toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8).length;
+            int binary = BinaryCodec.encode(message).length;
+            assertTrue(binary * 2 < text, binary + " vs " + text);
+        }
+    }
+
+    @Test
+    void testMalformedBodiesAreRejected() {
+        for (byte[] body : List.of(new byte[0], new byte[] {(byte) 0xEE, 0, 0, 0}, new byte[] {5, 0, 0},
+                new byte[] {5, 0, 0, 1, 1, 9}, new byte[] {5, 0, 0, 0, 42})) {
+            ProtocolException e = assertThrows(ProtocolException.class,
+                () -> BinaryCodec.decode(ByteBuffer.wrap(body), frame));
+            assertEquals("INVALID_FORMAT", e.getCode());
+        }
+    }
+
+    @Test
+    void testReadLength() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {(byte) 0x80, 0x04, 1});
+        assertEquals(512, BinaryCodec.readLength(buffer));
+        assertEquals(2, buffer.position());
+
+        ByteBuffer partial = ByteBuffer.wrap(new byte[] {(byte) 0x80});
+        assertEquals(-1, BinaryCodec.readLength(partial));
+        assertEquals(0, partial.position());
+
+        byte[] tooLong = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F};
+        assertEquals(-2, BinaryCodec.readLength(ByteBuffer.wrap(tooLong)));
+    }
+
+    @Test
+    void testReadStopsAtEndOfStream() throws IOException {
+        assertNull(BinaryCodec.read(new ByteArrayInputStream(new byte[0])));
+        assertThrows(EOFException.class, () -> BinaryCodec.read(new ByteArrayInputStream(new byte[] {3, 1})));
+    }
+}
@@ -121,6 +121,16 @@ class ClientMessageTest {
         assertTrue(protocol.contains("PLAYER456"));
     }
 
+    @Test
+    void testHintMessage() {
+        ClientMessage msg = ClientMessage.hint("GAME123", "PLAYER456");
+        String protocol = msg.toProtocolString();
+        
+        assertTrue(protocol.contains("HINT"));
+        assertTrue(protocol.contains("GAME123"));
+        assertTrue(protocol.contains("PLAYER456"));
+    }
+
     @Test
     void testStatusMessage() {
         ClientMessage msg = ClientMessage.status("GAME123", "PLAYER456");
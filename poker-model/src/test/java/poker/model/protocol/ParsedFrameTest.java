@@ -0,0 +1,154 @@
+package poker.model.protocol;
+
+import org.junit.jupiter.api.Test;
+import poker.model.exceptions.ProtocolException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedFrameTest {
+
+    private final ParsedFrame frame = new ParsedFrame();
+
+    /**
+     * Parses with both parsers and checks they agree on the result or the error.
+     */
+    private void assertSameAsMessageParse(String line) {
+        Message.ParsedMessage expected;
+        try {
+            expected = Message.parse(line);
+        } catch (ProtocolException e) {
+            ProtocolException actual = assertThrows(ProtocolException.class, () -> frame.parse(line), line);
+            assertEquals(e.getCode(), actual.getCode(), line);
+            assertEquals(e.getMessage(), actual.getMessage(), line);
+            return;
+        }
+        Message.ParsedMessage actual = frame.parse(line).toParsedMessage();
+        assertEquals(expected.getGameId(), actual.getGameId(), line);
+        assertEquals(expected.getPlayerId(), actual.getPlayerId(), line);
+        assertEquals(expected.getAction(), actual.getAction(), line);
+        assertEquals(expected.getParams(), actual.getParams(), line);
+    }
+
+    @Test
+    void testParsesFields() {
+        frame.parse("GAME123 PLAYER456 BET AMOUNT=40 NAME=Big Al");
+
+        assertEquals("GAME123", frame.gameId());
+        assertEquals("PLAYER456", frame.playerId());
+        assertEquals(Action.BET, frame.action());
+        assertEquals("BET", frame.actionName());
+        assertEquals(2, frame.paramCount());
+        assertEquals(40, frame.getInt(ParamKey.AMOUNT));
+        assertEquals("Big Al", frame.get(ParamKey.NAME));
+        assertFalse(frame.has(ParamKey.CARDS));
+        assertNull(frame.get(ParamKey.CARDS));
+    }
+
+    @Test
+    void testDashMeansNoId() {
+        frame.parse("- - HELLO VERSION=1.0");
+
+        assertNull(frame.gameId());
+        assertNull(frame.playerId());
+        assertEquals(Action.HELLO, frame.action());
+    }
+
+    @Test
+    void testUnknownActionAndKeysAreKept() {
+        frame.parse("- - DANCE STYLE=waltz");
+
+        assertNull(frame.action());
+        assertEquals("DANCE", frame.actionName());
+        assertEquals("waltz", frame.toParsedMessage().getParams().get("STYLE"));
+    }
+
+    @Test
+    void testFrameIsReusable() {
+        frame.parse("- - DRAW CARDS=0,1");
+        frame.parse("G P CHECK");
+
+        assertEquals(Action.CHECK, frame.action());
+        assertEquals(0, frame.paramCount());
+        assertFalse(frame.has(ParamKey.CARDS));
+    }
+
+    @Test
+    void testParsesSliceOfBuffer() {
+        byte[] bytes = "xx- - FOLD\nrest".getBytes(StandardCharsets.UTF_8);
+
+        frame.parse(ByteBuffer.wrap(bytes, 2, 8).slice());
+
+        assertEquals(Action.FOLD, frame.action());
+    }
+
+    @Test
+    void testGetIntMatchesParseInt() {
+        for (String value : List.of("0", "-7", "+12", "2147483647", "-2147483648")) {
+            assertEquals(Integer.parseInt(value), frame.parse("- - BET AMOUNT=" + value).getInt(ParamKey.AMOUNT));
+        }
+        for (String value : List.of("", "-", "2147483648", "-2147483649", "1a", "1.5")) {
+            frame.parse("- - BET AMOUNT=" + value);
+            assertThrows(NumberFormatException.class, () -> frame.getInt(ParamKey.AMOUNT), value);
+        }
+        frame.parse("- - BET");
+        assertThrows(NumberFormatException.class, () -> frame.getInt(ParamKey.AMOUNT));
+    }
+
+    @Test
+    void testMatchesMessageParseOnEdgeCases() {
+        List<String> lines = List.of(
+            "GAME123 PLAYER456 JOIN NAME=Alice GAME=GAME123",
+            "  G   P   ACTION   A=1    B=2  ",
+            "G P X A= B=2",
+            "G P X A=1 B =2",
+            "G P X A=x y z B=2 C=",
+            "G P X A=1 A=2",
+            "G P X key with spaces=1",
+            "G P X =1",
+            "G P X A==1 =2",
+            "G P X no params here",
+            "G P X A=1\tB=2",
+            "G\tP X",
+            "G P",
+            "G",
+            "",
+            "   ",
+            "\u0001",
+            "- - HELLO NAME=Zoë",
+            "A ".repeat(300) + "B C"
+        );
+        for (String line : lines) {
+            assertSameAsMessageParse(line);
+        }
+        assertSameAsMessageParse(null);
+    }
+
+    @Test
+    void testMatchesMessageParseOnRandomInput() {
+        char[] alphabet = {' ', ' ', '=', '=', 'A', 'b', '1', '-', '\t', ','};
+        Random random = new Random(17);
+        for (int n = 0; n < 50_000; n++) {
+            char[] line = new char[random.nextInt(40)];
+            for (int i = 0; i < line.length; i++) {
+                line[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            assertSameAsMessageParse(new String(line));
+        }
+    }
+
+    @Test
+    void testEnumLookup() {
+        byte[] bytes = "XANTE_OKX".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(Action.ANTE_OK, Action.lookup(bytes, 1, 8));
+        assertEquals(Action.ANTE, Action.lookup(bytes, 1, 5));
+        assertNull(Action.lookup(bytes, 0, 8));
+        assertEquals(ParamKey.HIGHESTBET, ParamKey.lookup("HIGHESTBET".getBytes(StandardCharsets.US_ASCII), 0, 10));
+        assertNull(ParamKey.lookup(bytes, 0, bytes.length));
+    }
+}
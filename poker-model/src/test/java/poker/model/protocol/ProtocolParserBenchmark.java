@@ -0,0 +1,77 @@
+package poker.model.protocol;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of {@link Message#parse(String)} and {@link ParsedFrame}.
+ * Run with: mvn test -Pbenchmark -pl poker-model -am -Dtest=ProtocolParserBenchmark
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolParserBenchmark {
+
+    @Param({
+        "- - HELLO VERSION=1.0",
+        "7c9e6679-7425-40de-944b-e07fc1f90ae7 a3bb189e-8bf9-3888-9912-ace4e6543002 BET AMOUNT=40",
+        "- - JOIN GAME=7c9e6679-7425-40de-944b-e07fc1f90ae7 NAME=Alice Smith",
+        "7c9e6679-7425-40de-944b-e07fc1f90ae7 - TURN PLAYER=a3bb189e PHASE=BET1 CALL=20 MINRAISE=40 POT=120"
+    })
+    public String line;
+
+    private byte[] bytes;
+    private final ParsedFrame frame = new ParsedFrame();
+
+    @Setup
+    public void encode() {
+        bytes = line.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Message.ParsedMessage currentParser() {
+        return Message.parse(line);
+    }
+
+    @Benchmark
+    public ParsedFrame singlePass() {
+        return frame.parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Single pass plus the copy into the map-based form, for callers still using it.
+     */
+    @Benchmark
+    public Message.ParsedMessage singlePassToParsedMessage() {
+        return frame.parse(bytes, 0, bytes.length).toParsedMessage();
+    }
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ProtocolParserBenchmark.class.getName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package poker.model.protocol;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerMessageEncoderTest {
+
+    private static final String GAME = "7c9e6679-7425-40de-944b-e07fc1f90ae7";
+    private static final String PLAYER = "a3bb189e-8bf9-3888-9912-ace4e6543002";
+
+    private static void assertEncodes(ServerMessage expected, ByteBuffer actual) {
+        byte[] bytes = new byte[actual.remaining()];
+        actual.duplicate().get(bytes);
+        assertArrayEquals((expected.toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8), bytes);
+        assertTrue(actual.isReadOnly());
+    }
+
+    @Test
+    void testMatchesFactories() {
+        assertEncodes(ServerMessage.ok(), ServerMessageEncoder.ok());
+        assertEncodes(ServerMessage.ok("Game created: " + GAME), ServerMessageEncoder.ok("Game created: " + GAME));
+        assertEncodes(ServerMessage.hello(null), ServerMessageEncoder.hello(null));
+        assertEncodes(ServerMessage.hello("BIN"), ServerMessageEncoder.hello("BIN"));
+        assertEncodes(ServerMessage.error("NOT_YOUR_TURN", "Wait"), ServerMessageEncoder.error("NOT_YOUR_TURN", "Wait"));
+        assertEncodes(ServerMessage.welcome(GAME, PLAYER), ServerMessageEncoder.welcome(GAME, PLAYER));
+        assertEncodes(ServerMessage.lobby(GAME, "Alice,Bob"), ServerMessageEncoder.lobby(GAME, "Alice,Bob"));
+        assertEncodes(ServerMessage.started(GAME, PLAYER, 10, 20), ServerMessageEncoder.started(GAME, PLAYER, 10, 20));
+        assertEncodes(ServerMessage.anteRequest(GAME, PLAYER, 10), ServerMessageEncoder.anteRequest(GAME, PLAYER, 10));
+        assertEncodes(ServerMessage.anteOk(GAME, PLAYER, 990), ServerMessageEncoder.anteOk(GAME, PLAYER, 990));
+        assertEncodes(ServerMessage.deal(GAME, PLAYER, "AS,KD,2C,9H,TS"),
+            ServerMessageEncoder.deal(GAME, PLAYER, "AS,KD,2C,9H,TS"));
+        assertEncodes(ServerMessage.turn(GAME, PLAYER, "BET1", 20, 40),
+            ServerMessageEncoder.turn(GAME, PLAYER, "BET1", 20, 40));
+        assertEncodes(ServerMessage.action(GAME, PLAYER, "BET", "40"), ServerMessageEncoder.action(GAME, PLAYER, "BET", "40"));
+        assertEncodes(ServerMessage.action(GAME, PLAYER, "CHECK", ""), ServerMessageEncoder.action(GAME, PLAYER, "CHECK", ""));
+        assertEncodes(ServerMessage.drawOk(GAME, PLAYER, 2, "3C,4D"), ServerMessageEncoder.drawOk(GAME, PLAYER, 2, "3C,4D"));
+        assertEncodes(ServerMessage.hint(GAME, PLAYER, "3,4", 0.123456, 20_000),
+            ServerMessageEncoder.hint(GAME, PLAYER, "3,4", 0.123456, 20_000));
+        assertEncodes(ServerMessage.round(GAME, 120, 40), ServerMessageEncoder.round(GAME, 120, 40));
+        assertEncodes(ServerMessage.showdown(GAME, PLAYER, "AS,AD,AC,KS,KD", "FULL_HOUSE"),
+            ServerMessageEncoder.showdown(GAME, PLAYER, "AS,AD,AC,KS,KD", "FULL_HOUSE"));
+        assertEncodes(ServerMessage.winner(GAME, PLAYER, 120, "FULL_HOUSE"),
+            ServerMessageEncoder.winner(GAME, PLAYER, 120, "FULL_HOUSE"));
+        assertEncodes(ServerMessage.payout(GAME, PLAYER, 120, 1110), ServerMessageEncoder.payout(GAME, PLAYER, 120, 1110));
+        assertEncodes(ServerMessage.end(GAME, "Normal"), ServerMessageEncoder.end(GAME, "Normal"));
+    }
+
+    @Test
+    void testEdgeValues() {
+        assertEncodes(ServerMessage.turn(null, null, null, Integer.MIN_VALUE, 0),
+            ServerMessageEncoder.turn(null, null, null, Integer.MIN_VALUE, 0));
+        assertEncodes(ServerMessage.payout(GAME, PLAYER, -5, Integer.MAX_VALUE),
+            ServerMessageEncoder.payout(GAME, PLAYER, -5, Integer.MAX_VALUE));
+        assertEncodes(ServerMessage.hint(GAME, PLAYER, "NONE", 1.0, Long.MAX_VALUE),
+            ServerMessageEncoder.hint(GAME, PLAYER, "NONE", 1.0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testNonAsciiText() {
+        String players = "Zoë,Łukasz,李,🂡,bad\uD800";
+
+        assertEncodes(ServerMessage.lobby(GAME, players), ServerMessageEncoder.lobby(GAME, players));
+    }
+
+    @Test
+    void testLongLinesGrowTheBuffer() {
+        String players = "player".repeat(500);
+
+        assertEncodes(ServerMessage.lobby(GAME, players), ServerMessageEncoder.lobby(GAME, players));
+        assertEncodes(ServerMessage.ok(), ServerMessageEncoder.ok());
+    }
+
+    @Test
+    void testParameterOrderIsStable() {
+        assertEquals(GAME + " - TURN PLAYER=" + PLAYER + " PHASE=BET1 CALL=20 MINRAISE=40",
+            ServerMessage.turn(GAME, PLAYER, "BET1", 20, 40).toProtocolString());
+        assertEquals("- - ERR CODE=X REASON=Y", ServerMessage.error("X", "Y").toProtocolString());
+    }
+}
@@ -177,6 +177,18 @@ class ServerMessageTest {
         assertTrue(protocol.contains("NEW=2♠,3♥"));
     }
 
+    @Test
+    void testHintMessage() {
+        ServerMessage msg = ServerMessage.hint("GAME123", "PLAYER456", "3,4", 0.41236, 20000);
+        String protocol = msg.toProtocolString();
+        
+        assertTrue(protocol.contains("HINT"));
+        assertTrue(protocol.contains("PLAYER=PLAYER456"));
+        assertTrue(protocol.contains("DISCARD=3,4"));
+        assertTrue(protocol.contains("EQUITY=0.4124"));
+        assertTrue(protocol.contains("SAMPLES=20000"));
+    }
+
     @Test
     void testRoundMessage() {
         ServerMessage msg = ServerMessage.round("GAME123", 150, 50);
@@ -0,0 +1,84 @@
+package poker.server;
+
+import poker.model.protocol.BinaryCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits a client's byte stream into varint length-prefixed {@link BinaryCodec} frames,
+ * handed over without the prefix.
+ * <p>
+ * A frame longer than the limit is reported once and its bytes are skipped as they
+ * arrive, so the buffer never holds more than one frame. A malformed length prefix
+ * cannot be skipped past; it is reported and every later byte is dropped.
+ */
+final class BinaryFramer implements Framer {
+    private final ByteBuffer buffer;
+    private final int maxFrameBytes;
+    /** Bytes of an oversized frame still to drop; negative once the stream is unreadable */
+    private long skipping;
+
+    /**
+     * @param capacity Read buffer size; must exceed the frame limit and its prefix
+     * @param maxFrameBytes Longest accepted frame body
+     */
+    BinaryFramer(int capacity, int maxFrameBytes) {
+        if (maxFrameBytes < 1 || capacity <= maxFrameBytes + 5) {
+            throw new IllegalArgumentException("Capacity must exceed the frame limit");
+        }
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    public void drain(Listener listener) {
+        buffer.flip();
+        while (true) {
+            if (skipping < 0) {
+                buffer.position(buffer.limit());
+                break;
+            }
+            if (skipping > 0) {
+                int skipped = (int) Math.min(skipping, buffer.remaining());
+                buffer.position(buffer.position() + skipped);
+                skipping -= skipped;
+                if (skipping > 0) {
+                    break;
+                }
+            }
+
+            int start = buffer.position();
+            int length = BinaryCodec.readLength(buffer);
+            if (length == -1) {
+                break;
+            }
+            if (length < 0) {
+                listener.onOversized();
+                skipping = -1;
+                continue;
+            }
+            if (length > maxFrameBytes) {
+                listener.onOversized();
+                skipping = length;
+                continue;
+            }
+            if (buffer.remaining() < length) {
+                // Incomplete body; read the prefix again once the rest arrives
+                buffer.position(start);
+                break;
+            }
+
+            ByteBuffer frame = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            if (!listener.onFrame(frame)) {
+                break;
+            }
+        }
+        buffer.compact();
+    }
+}
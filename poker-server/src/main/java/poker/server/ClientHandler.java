@@ -2,14 +2,22 @@ package poker.server;
 
 import lombok.extern.slf4j.Slf4j;
 import poker.common.cards.Card;
+import poker.common.cards.CardSet;
+import poker.model.equity.DrawAdvisor;
+import poker.model.equity.DrawOption;
+import poker.model.equity.SimulationBudget;
 import poker.model.exceptions.InvalidMoveException;
 import poker.model.exceptions.ProtocolException;
 import poker.model.game.*;
 import poker.model.players.Player;
 import poker.model.players.PlayerId;
+import poker.model.protocol.Action;
+import poker.model.protocol.BinaryCodec;
 import poker.model.protocol.Message;
-import poker.model.protocol.ServerMessage;
-import poker.server.GameManager;
+import poker.model.protocol.ParamKey;
+import poker.model.protocol.ParsedFrame;
+import poker.model.protocol.ServerMessageEncoder;
+import poker.server.CommandTable.Routing;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -19,6 +27,12 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -28,18 +42,115 @@ import java.util.stream.Collectors;
 public class ClientHandler {
     private static final int BUFFER_SIZE = 8192;
     private static final String LINE_SEPARATOR = "\n";
+    /** Most queued messages passed to one gathering write */
+    private static final int MAX_GATHER = 64;
+    /** Bytes written per writable event before yielding the reactor to other clients */
+    private static final int MAX_FLUSH_BYTES = 64 * 1024;
+    /** Upper bound on samples per discard option for a HINT; the server's hint budget usually ends it sooner */
+    private static final long HINT_MAX_SAMPLES = 20_000;
+
+    // Outbound queue states; anything but NORMAL drops new messages
+    private static final int NORMAL = 0;
+    /** Over its limits under COLLAPSE; the backlog was dropped and is being written out */
+    private static final int COLLAPSED = 1;
+    /** Caught up after a collapse; a table snapshot is on its way */
+    private static final int RESYNCING = 2;
+    /** Over its limits under DISCONNECT; closing */
+    private static final int EVICTED = 3;
+
+    private static final CommandTable<ClientHandler> COMMANDS = new CommandTable<ClientHandler>()
+        .register(Action.HELLO, Routing.INLINE,
+            frame -> new Command.Hello(frame.get(ParamKey.VERSION), frame.get(ParamKey.PROTO)),
+            ClientHandler::handleHello)
+        .register(Action.CREATE, Routing.INLINE,
+            frame -> new Command.Create(frame.getInt(ParamKey.ANTE), frame.getInt(ParamKey.BET)),
+            ClientHandler::handleCreate,
+            (client, e) -> client.sendError("CREATE_FAILED", e.getMessage()))
+        .register(Action.JOIN, Routing.TARGET,
+            frame -> new Command.Join(frame.get(ParamKey.GAME), frame.get(ParamKey.NAME)),
+            ClientHandler::handleJoin)
+        .register(Action.LEAVE, Routing.TABLE, (client, command) -> client.handleLeave())
+        .register(Action.START, Routing.TABLE, (client, command) -> client.handleStart())
+        .register(Action.CHECK, Routing.TABLE, (client, command) -> client.handleCheck())
+        .register(Action.CALL, Routing.TABLE, (client, command) -> client.handleCall())
+        .register(Action.BET, Routing.TABLE,
+            frame -> new Command.Bet(frame.getInt(ParamKey.AMOUNT)),
+            ClientHandler::handleBet,
+            ClientHandler::reportActionError)
+        .register(Action.FOLD, Routing.TABLE, (client, command) -> client.handleFold())
+        .register(Action.DRAW, Routing.TABLE,
+            frame -> Command.Draw.parse(frame.get(ParamKey.CARDS)),
+            ClientHandler::handleDraw,
+            ClientHandler::reportActionError)
+        .register(Action.HINT, Routing.TABLE, (client, command) -> client.handleHint())
+        .register(Action.STATUS, Routing.TABLE, (client, command) -> client.handleStatus())
+        .register(Action.QUIT, Routing.TABLE, (client, command) -> client.handleQuit());
 
     private final SocketChannel channel;
     private final GameManager gameManager;
     private final Map<GameId, Set<ClientHandler>> gameClients;
     private final PokerServer server;
     
-    private final ByteBuffer readBuffer;
-    private final StringBuilder messageBuilder;
-    private final Queue<String> writeQueue;
+    // Framing state is only used on the thread reading the connection
+    private Framer framer;
+    /** Set by a HELLO that negotiates the binary protocol; takes over after that line */
+    private Framer nextFramer;
+    private boolean binaryIn;
+    /** Refilled for every frame */
+    private final ParsedFrame parsedFrame = new ParsedFrame();
+    private final Framer.Listener frameListener = new Framer.Listener() {
+        @Override
+        public boolean onFrame(ByteBuffer frame) {
+            if (binaryIn || !isEmpty(frame)) {
+                processMessage(frame);
+            }
+            return nextFramer == null;
+        }
+
+        @Override
+        public void onOversized() {
+            route.submit(() -> sendError("MESSAGE_TOO_LONG",
+                "Message exceeds " + Message.MAX_LENGTH + " bytes"));
+        }
+    };
+    /** Encoded outbound lines; broadcast lines are per-recipient views of one shared buffer */
+    private final Queue<ByteBuffer> writeQueue;
+    /** Scratch array for gathering writes; only used in the write context, see {@link IoLoop#execute} */
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    private final ServerMetrics metrics;
+    private final int maxQueuedMessages;
+    private final long maxQueuedBytes;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    /** Messages and unwritten bytes in the write queue, counted before a buffer is offered */
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicInteger queueState = new AtomicInteger(NORMAL);
+    private final HashedWheelTimer timer;
+    private final TurnClock turnClock;
+    private final TableReaper tableReaper;
+    /** Longest silence before the connection is closed, or 0 to keep it open */
+    private final long idleTimeoutNanos;
+    /** Time of the last read that returned data */
+    private volatile long lastReadNanos;
+    
+    private final TableDispatcher tableDispatcher;
+    /** Orders this connection's handlers across tables; used by the I/O thread only */
+    private final TableDispatcher.Route route;
+    private volatile IoLoop io;
+    private volatile SelectionKey key;
+    /** Set while write interest is requested or armed; lets one request cover many sends */
+    private final AtomicBoolean writePending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    /** Set while a hint is being computed; a connection gets one at a time */
+    private final AtomicBoolean hintInFlight = new AtomicBoolean();
+    /** Set by QUIT; the connection closes once its queued replies are written */
+    private volatile boolean closeAfterFlush;
+    /** Replies and broadcasts are transcoded to binary frames once HELLO has been answered */
+    private volatile boolean binaryOut;
     
-    private PlayerId playerId;
-    private GameId currentGameId;
+    // Written by handlers, which run on table executors one at a time per connection
+    private volatile PlayerId playerId;
+    private volatile GameId currentGameId;
 
     public ClientHandler(
             SocketChannel channel,
@@ -50,13 +161,85 @@ public class ClientHandler {
         this.gameManager = gameManager;
         this.gameClients = gameClients;
         this.server = server;
-        this.readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
-        this.messageBuilder = new StringBuilder();
+        this.tableDispatcher = server.getTableDispatcher();
+        this.route = tableDispatcher.newRoute();
+        this.framer = new LineFramer(BUFFER_SIZE, Message.MAX_LENGTH);
         this.writeQueue = new ConcurrentLinkedQueue<>();
+        this.metrics = server.getMetrics();
+        this.maxQueuedMessages = server.getConfig().getMaxQueuedMessages();
+        this.maxQueuedBytes = server.getConfig().getMaxQueuedBytes();
+        this.slowConsumerPolicy = server.getConfig().getSlowConsumerPolicy();
+        this.timer = server.getTimer();
+        this.turnClock = server.getTurnClock();
+        this.tableReaper = server.getTableReaper();
+        this.idleTimeoutNanos = server.getConfig().getIdleTimeout().toNanos();
+    }
+
+    /**
+     * Pins this client to the reactor or connection threads that will serve its I/O.
+     */
+    void bind(IoLoop io) {
+        this.io = io;
+        if (idleTimeoutNanos > 0) {
+            lastReadNanos = System.nanoTime();
+            timer.schedule(this::checkIdle, idleTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Closes the connection if it has been silent for the idle timeout, or checks again
+     * when it would next be. Runs on the timer thread; one check is pending per
+     * connection, rather than a timeout rescheduled on every read.
+     */
+    private void checkIdle(HashedWheelTimer.Timeout timeout) {
+        if (closed.get()) {
+            return;
+        }
+        long silent = System.nanoTime() - lastReadNanos;
+        if (silent < idleTimeoutNanos) {
+            timer.schedule(this::checkIdle, idleTimeoutNanos - silent, TimeUnit.NANOSECONDS);
+            return;
+        }
+        log.info("Closing connection idle for {} ms", TimeUnit.NANOSECONDS.toMillis(silent));
+        metrics.recordIdleDisconnect();
+        onIoLoop(this::close);
+    }
+
+    /**
+     * Records the key this client's channel was registered under. Called on its reactor thread.
+     */
+    void attach(SelectionKey key) {
+        this.key = key;
+        if (!writeQueue.isEmpty()) {
+            // Replies queued before registration completed
+            enableWrite();
+        }
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Arms write interest. Called on the reactor thread, which owns the key's interest set.
+     */
+    void enableWrite() {
+        SelectionKey selectionKey = key;
+        if (selectionKey != null && selectionKey.isValid()) {
+            selectionKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
     }
 
     public void handleRead(SelectionKey key) throws IOException {
-        int bytesRead = channel.read(readBuffer);
+        handleRead();
+    }
+
+    /**
+     * Reads what the channel has, blocking if it is in blocking mode, and processes the
+     * complete messages. Closes the connection at end of stream.
+     */
+    void handleRead() throws IOException {
+        int bytesRead = channel.read(framer.buffer());
         
         if (bytesRead == -1) {
             // Client disconnected
@@ -65,140 +248,412 @@ public class ClientHandler {
         }
 
         if (bytesRead > 0) {
-            readBuffer.flip();
-            byte[] data = new byte[readBuffer.remaining()];
-            readBuffer.get(data);
-            readBuffer.clear();
-
-            String chunk = new String(data, StandardCharsets.UTF_8);
-            messageBuilder.append(chunk);
-
+            lastReadNanos = System.nanoTime();
             // Process complete messages (lines ending with \n)
-            processMessages();
+            framer.drain(frameListener);
+            if (nextFramer != null) {
+                // Bytes after the HELLO line are binary frames
+                nextFramer.buffer().put(framer.buffer().flip());
+                framer = nextFramer;
+                nextFramer = null;
+                binaryIn = true;
+                framer.drain(frameListener);
+            }
         }
     }
 
-    private void processMessages() {
-        String buffered = messageBuilder.toString();
-        int newlineIndex;
-        
-        while ((newlineIndex = buffered.indexOf(LINE_SEPARATOR)) != -1) {
-            String message = buffered.substring(0, newlineIndex).trim();
-            buffered = buffered.substring(newlineIndex + 1);
-            
-            if (!message.isEmpty()) {
-                processMessage(message);
+    /**
+     * Parses a message on the I/O thread, decodes its parameters through the command
+     * table and queues its handling on the table the connection is routed to. Handlers
+     * run on that table's serial executor.
+     */
+    private void processMessage(ByteBuffer line) {
+        if (log.isDebugEnabled()) {
+            log.debug("Received: {}", describe(line));
+        }
+
+        try {
+            ParsedFrame frame = binaryIn ? BinaryCodec.decode(line, parsedFrame) : parsedFrame.parse(line);
+            CommandTable.Entry<ClientHandler, ?> entry = COMMANDS.get(frame.action());
+            if (entry == null) {
+                String name = frame.actionName();
+                route.submit(() -> sendError("UNKNOWN_ACTION", "Unknown action: " + name));
+                return;
             }
+            dispatch(entry, frame);
+        } catch (Exception e) {
+            log.error("Error processing message: {}", describe(line), e);
+            route.submit(() -> sendError("INVALID_FORMAT", "Invalid message format"));
         }
-        
-        messageBuilder.setLength(0);
-        messageBuilder.append(buffered);
     }
 
-    private void processMessage(String line) {
-        log.debug("Received: {}", line);
-
+    private <C extends Command> void dispatch(CommandTable.Entry<ClientHandler, C> entry, ParsedFrame frame) {
+        C command;
         try {
-            Message.ParsedMessage parsed = Message.parse(line);
-            String action = parsed.getAction();
-
-            switch (action) {
-                case "HELLO" -> handleHello(parsed);
-                case "CREATE" -> handleCreate(parsed);
-                case "JOIN" -> handleJoin(parsed);
-                case "LEAVE" -> handleLeave();
-                case "START" -> handleStart();
-                case "CHECK" -> handleCheck();
-                case "CALL" -> handleCall();
-                case "BET" -> handleBet(parsed);
-                case "FOLD" -> handleFold();
-                case "DRAW" -> handleDraw(parsed);
-                default -> sendError("UNKNOWN_ACTION", "Unknown action: " + action);
+            command = entry.decoder().decode(frame);
+        } catch (RuntimeException e) {
+            if (entry.onError() == null) {
+                throw e;
+            }
+            Runnable report = () -> entry.onError().handle(this, e);
+            if (entry.routing() == Routing.TABLE) {
+                dispatchToTable(report);
+            } else {
+                route.submit(report);
+            }
+            return;
+        }
+
+        Runnable handler = () -> entry.handler().handle(this, command);
+        switch (entry.routing()) {
+            case INLINE -> handler.run();
+            case CONNECTION -> route.submit(handler);
+            case TABLE -> dispatchToTable(handler);
+            case TARGET -> {
+                GameId table = command.table();
+                if (table == null || !gameManager.hasGame(table)) {
+                    // Missing, malformed or unknown id: the handler reports it. Unknown ids
+                    // never reach the dispatcher, which would keep a mailbox for each
+                    route.submit(handler);
+                } else {
+                    route.submit(table, handler);
+                }
             }
-        } catch (Exception e) {
-            log.error("Error processing message: {}", line, e);
-            sendError("INVALID_FORMAT", "Invalid message format");
         }
     }
 
-    public void handleWrite(SelectionKey key) throws IOException {
-        while (!writeQueue.isEmpty()) {
-            String message = writeQueue.peek();
-            ByteBuffer buffer = ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8));
-            
-            int written = channel.write(buffer);
-            
-            if (buffer.hasRemaining()) {
-                // Couldn't write all data, will try again later
-                return;
+    /** True for lines that are empty once trimmed; these are ignored */
+    private static boolean isEmpty(ByteBuffer line) {
+        for (int i = line.position(); i < line.limit(); i++) {
+            if ((line.get(i) & 0xFF) > ' ') {
+                return false;
             }
-            
-            // Successfully wrote the message
-            writeQueue.poll();
         }
-        
+        return true;
+    }
+
+    private static String decode(ByteBuffer line) {
+        return StandardCharsets.UTF_8.decode(line.duplicate()).toString().trim();
+    }
+
+    private String describe(ByteBuffer frame) {
+        return binaryIn ? "binary frame of " + frame.limit() + " bytes" : decode(frame);
+    }
+
+    /**
+     * Queues a handler on the connection's current table, or runs it right away if the
+     * connection has no table yet (the handler then reports NOT_IN_GAME).
+     */
+    private void dispatchToTable(Runnable handler) {
+        GameId table = route.current();
+        if (table == null) {
+            handler.run();
+        } else {
+            route.submit(table, () -> onTable(table, handler));
+        }
+    }
+
+    /**
+     * Runs a handler if the player is seated at the executing table. After a failed JOIN
+     * the route points at a table the player never sat down at; the handler is then
+     * passed on to the table the player is actually seated at.
+     */
+    private void onTable(GameId executing, Runnable handler) {
+        GameId seated = currentGameId;
+        if (seated != null && !seated.equals(executing)) {
+            tableDispatcher.execute(seated, () -> onTable(seated, handler));
+            return;
+        }
+        handler.run();
+    }
+
+    public void handleWrite(SelectionKey key) throws IOException {
+        if (!flush() || !onDrained()) {
+            return;
+        }
+
         // No more data to write, remove write interest
-        if (writeQueue.isEmpty()) {
-            key.interestOps(SelectionKey.OP_READ);
+        key.interestOps(SelectionKey.OP_READ);
+        writePending.set(false);
+        // A send racing with the flag reset saw it still set and did not request a write
+        if (!writeQueue.isEmpty() && writePending.compareAndSet(false, true)) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
         }
     }
 
-    public void send(String message) {
-        if (!message.endsWith(LINE_SEPARATOR)) {
-            message += LINE_SEPARATOR;
+    /**
+     * Writes the queue out on a blocking channel until it stays empty. Runs in the
+     * connection's write context after {@link IoLoop#requestWrite}.
+     */
+    void writeBlocking() throws IOException {
+        while (true) {
+            while (!flush()) {
+                // Blocking writes complete; only the flush cap stops early
+            }
+            if (!onDrained()) {
+                return;
+            }
+            writePending.set(false);
+            if (writeQueue.isEmpty() || !writePending.compareAndSet(false, true)) {
+                return;
+            }
         }
-        
-        log.debug("Queuing: {}", message.trim());
-        writeQueue.offer(message);
-        
-        // Register write interest
-        try {
-            for (SelectionKey key : server.getSelector().keys()) {
-                if (key.channel() == channel && key.isValid()) {
-                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
-                    server.getSelector().wakeup();
+    }
+
+    /**
+     * Writes queued buffers, gathering several per call, up to the flush cap.
+     * @return True if the queue was emptied
+     */
+    private boolean flush() throws IOException {
+        long flushed = 0;
+        while (flushed < MAX_FLUSH_BYTES) {
+            int count = 0;
+            long batchBytes = 0;
+            for (ByteBuffer buffer : writeQueue) {
+                // A message larger than the cap still goes out alone as the first of a flush
+                boolean first = count == 0 && flushed == 0;
+                if (count == MAX_GATHER
+                        || (!first && flushed + batchBytes + buffer.remaining() > MAX_FLUSH_BYTES)) {
                     break;
                 }
+                gather[count++] = buffer;
+                batchBytes += buffer.remaining();
             }
-        } catch (Exception e) {
-            log.error("Error registering write interest", e);
+            if (count == 0) {
+                break;
+            }
+
+            long written = channel.write(gather, 0, count);
+            flushed += written;
+
+            int completed = 0;
+            while (completed < count && !gather[completed].hasRemaining()) {
+                writeQueue.poll();
+                completed++;
+            }
+            queuedMessages.addAndGet(-completed);
+            queuedBytes.addAndGet(-written);
+            metrics.recordWrite(written, completed);
+            metrics.recordDequeued(written, completed);
+            Arrays.fill(gather, 0, count, null);
+
+            if (completed < count) {
+                // Socket buffer is full, will try again later
+                return false;
+            }
+        }
+        // False if the flush cap was reached; the rest goes out on the next write
+        return writeQueue.isEmpty();
+    }
+
+    /**
+     * Finishes a QUIT or a queue collapse once everything before it has been written.
+     * @return False if the connection was closed
+     */
+    private boolean onDrained() {
+        if (closeAfterFlush) {
+            close();
+            return false;
+        }
+        if (queueState.compareAndSet(COLLAPSED, RESYNCING)) {
+            resync();
+        }
+        return true;
+    }
+
+    public void send(String message) {
+        log.debug("Queuing: {}", message.trim());
+        send(encode(message));
+    }
+
+    /**
+     * Queues an encoded line, such as one from {@link ServerMessageEncoder}. The buffer may
+     * be shared by many recipients and is never consumed; this client writes from its own
+     * view, or from a binary transcoding if it negotiated the binary protocol.
+     */
+    void send(ByteBuffer encoded) {
+        enqueue(binaryOut ? BinaryCodec.fromText(encoded) : encoded.duplicate());
+    }
+
+    private void enqueue(ByteBuffer buffer) {
+        if (queueState.get() != NORMAL || closed.get()) {
+            metrics.recordDropped(1);
+            return;
+        }
+        int bytes = buffer.remaining();
+        int depth = queuedMessages.incrementAndGet();
+        long total = queuedBytes.addAndGet(bytes);
+        writeQueue.offer(buffer);
+        metrics.recordQueued(bytes, depth);
+        if (closed.get()) {
+            // Raced with close, which may already have discarded the queue
+            discardQueued(0);
+            return;
+        }
+        if (depth > maxQueuedMessages || total > maxQueuedBytes) {
+            onOverflow(depth, total);
+            return;
+        }
+
+        // Only the first send since the last flush asks for a write
+        IoLoop current = io;
+        if (current != null && writePending.compareAndSet(false, true)) {
+            current.requestWrite(this);
+        }
+    }
+
+    /**
+     * Applies the slow-consumer policy to a queue that went over its limits. Only the
+     * first sender to see the overflow acts on it; later messages are dropped.
+     */
+    private void onOverflow(int depth, long bytes) {
+        if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+            if (queueState.compareAndSet(NORMAL, EVICTED)) {
+                log.warn("Disconnecting slow client {}: {} messages, {} bytes queued", playerId, depth, bytes);
+                metrics.recordEviction();
+                onIoLoop(this::close);
+            }
+        } else if (queueState.compareAndSet(NORMAL, COLLAPSED)) {
+            log.warn("Collapsing queue of slow client {}: {} messages, {} bytes queued", playerId, depth, bytes);
+            metrics.recordCollapse();
+            onIoLoop(this::collapse);
+        }
+    }
+
+    /**
+     * Drops the backlog but its head, which may be partly written. The table snapshot
+     * follows once the head is out, see {@link #onDrained}. Runs in the write context.
+     */
+    private void collapse() {
+        if (closed.get()) {
+            return;
+        }
+        discardQueued(1);
+        IoLoop current = io;
+        if (current != null && writePending.compareAndSet(false, true)) {
+            current.requestWrite(this);
+        } else if (writeQueue.isEmpty() && queueState.compareAndSet(COLLAPSED, RESYNCING)) {
+            resync();
+        }
+    }
+
+    /**
+     * Removes queued buffers after the first {@code keep} and releases their accounting.
+     */
+    private void discardQueued(int keep) {
+        int dropped = 0;
+        long bytes = 0;
+        Iterator<ByteBuffer> queued = writeQueue.iterator();
+        for (int i = 0; i < keep && queued.hasNext(); i++) {
+            queued.next();
+        }
+        while (queued.hasNext()) {
+            bytes += queued.next().remaining();
+            queued.remove();
+            dropped++;
         }
+        queuedMessages.addAndGet(-dropped);
+        queuedBytes.addAndGet(-bytes);
+        metrics.recordDequeued(bytes, dropped);
+        metrics.recordDropped(dropped);
+    }
+
+    /**
+     * Sends a collapsed client its table's state on the table's executor, after which
+     * its queue accepts messages again.
+     */
+    private void resync() {
+        GameId table = currentGameId;
+        if (table == null) {
+            queueState.set(NORMAL);
+            return;
+        }
+        tableDispatcher.execute(table, () -> onTable(table, () -> {
+            queueState.set(NORMAL);
+            sendError("MESSAGES_DROPPED", "Connection fell behind; current table state follows");
+            GameId seated = currentGameId;
+            if (seated == null) {
+                return;
+            }
+            try {
+                PokerGame game = gameManager.getGame(seated);
+                sendTableState(game);
+                sendHand(game);
+            } catch (Exception e) {
+                log.error("Error resynchronizing client", e);
+            }
+        }));
+    }
+
+    /**
+     * Runs in this client's write context, or right away if it is not bound to an I/O loop.
+     */
+    private void onIoLoop(Runnable task) {
+        IoLoop current = io;
+        if (current != null) {
+            current.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Encodes a protocol line, appending the separator if missing, into a read-only buffer.
+     */
+    static ByteBuffer encode(String message) {
+        String line = message.endsWith(LINE_SEPARATOR) ? message : message + LINE_SEPARATOR;
+        return ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
     }
 
     private void sendError(String code, String message) {
-        send(ServerMessage.error(code, message).toProtocolString());
+        send(ServerMessageEncoder.error(code, message));
     }
 
-    private void handleHello(Message.ParsedMessage msg) {
-        String version = msg.getParams().get("VERSION");
-        log.info("Client hello, version: {}", version);
-        send(ServerMessage.ok("Welcome to Poker Server").toProtocolString());
+    /**
+     * Runs on the I/O thread so a switch to the binary protocol applies from the next frame.
+     * The reply still goes out in the protocol the HELLO arrived in.
+     */
+    private void handleHello(Command.Hello hello) {
+        if (hello.binary() && !binaryIn) {
+            nextFramer = new BinaryFramer(BUFFER_SIZE, Message.MAX_LENGTH);
+        }
+        boolean binary = binaryIn || nextFramer != null;
+        route.submit(() -> {
+            log.info("Client hello, version: {}, protocol: {}", hello.version(), binary ? "binary" : "text");
+            send(ServerMessageEncoder.hello(binary ? BinaryCodec.PROTO_BINARY : null));
+            binaryOut = binary;
+        });
     }
 
-    private void handleCreate(Message.ParsedMessage msg) {
+    /**
+     * Creates the game on the I/O thread (GameManager is thread-safe) and routes the
+     * connection to the new table.
+     */
+    private void handleCreate(Command.Create create) {
         try {
-            int ante = Integer.parseInt(msg.getParams().get("ANTE"));
-            int bet = Integer.parseInt(msg.getParams().get("BET"));
-
             GameConfig config = GameConfig.builder()
-                .ante(ante)
-                .fixedBet(bet)
+                .ante(create.ante())
+                .fixedBet(create.bet())
+                .handEvaluator(server.getHandEvaluator())
                 .build();
 
             GameId gameId = gameManager.createGame(config);
-            currentGameId = gameId;
+            tableReaper.watch(gameId);
 
-            log.info("Game created: {}", gameId.getId());
-            send(ServerMessage.ok("Game created: " + gameId.getId()).toProtocolString());
+            route.submit(gameId, () -> {
+                currentGameId = gameId;
+                log.info("Game created: {}", gameId.getId());
+                send(ServerMessageEncoder.ok("Game created: " + gameId.getId()));
+            });
         } catch (Exception e) {
-            sendError("CREATE_FAILED", e.getMessage());
+            route.submit(() -> sendError("CREATE_FAILED", e.getMessage()));
         }
     }
 
-    private void handleJoin(Message.ParsedMessage msg) {
+    private void handleJoin(Command.Join join) {
         try {
-            String gameIdStr = msg.getParams().get("GAME");
-            String playerName = msg.getParams().get("NAME");
+            String gameIdStr = join.game();
+            String playerName = join.name();
 
             if (gameIdStr == null || playerName == null) {
                 throw new ProtocolException("MISSING_PARAM", "GAME and NAME required");
@@ -218,7 +673,7 @@ public class ClientHandler {
 
             log.info("Player {} joined game {}", playerName, gameId.getId());
 
-            send(ServerMessage.welcome(gameId.getId(), newPlayerId.getId()).toProtocolString());
+            send(ServerMessageEncoder.welcome(gameId.getId(), newPlayerId.getId()));
 
             // Broadcast lobby update
             broadcastLobby(game);
@@ -235,12 +690,16 @@ public class ClientHandler {
 
         try {
             PokerGame game = gameManager.getGame(currentGameId);
+            boolean folded = foldIfToAct(game);
             game.removePlayer(playerId);
 
             gameClients.get(currentGameId).remove(this);
 
-            send(ServerMessage.ok("Left game").toProtocolString());
+            send(ServerMessageEncoder.ok("Left game"));
             broadcastLobby(game);
+            if (folded) {
+                advanceGame(game);
+            }
 
             currentGameId = null;
             playerId = null;
@@ -260,21 +719,21 @@ public class ClientHandler {
             game.startGame();
 
             GameConfig config = game.getConfig();
-            broadcast(currentGameId, ServerMessage.started(
+            broadcast(currentGameId, ServerMessageEncoder.started(
                 currentGameId.getId(),
                 game.getDealerId().getId(),
                 config.getAnte(),
                 config.getFixedBet()
-            ).toProtocolString());
+            ));
 
             // Collect ante
             game.collectAnte();
             for (Player player : game.getAllPlayers()) {
-                broadcast(currentGameId, ServerMessage.anteOk(
+                broadcast(currentGameId, ServerMessageEncoder.anteOk(
                     currentGameId.getId(),
                     player.getId().getId(),
                     player.getChips()
-                ).toProtocolString());
+                ));
             }
 
             // Deal cards
@@ -291,8 +750,8 @@ public class ClientHandler {
     private void handleCheck() {
         handleGameAction(game -> {
             game.check(playerId);
-            broadcast(currentGameId, ServerMessage.action(
-                currentGameId.getId(), playerId.getId(), "CHECK", "").toProtocolString());
+            broadcast(currentGameId, ServerMessageEncoder.action(
+                currentGameId.getId(), playerId.getId(), "CHECK", ""));
             advanceGame(game);
         });
     }
@@ -300,18 +759,18 @@ public class ClientHandler {
     private void handleCall() {
         handleGameAction(game -> {
             game.call(playerId);
-            broadcast(currentGameId, ServerMessage.action(
-                currentGameId.getId(), playerId.getId(), "CALL", "").toProtocolString());
+            broadcast(currentGameId, ServerMessageEncoder.action(
+                currentGameId.getId(), playerId.getId(), "CALL", ""));
             advanceGame(game);
         });
     }
 
-    private void handleBet(Message.ParsedMessage msg) {
+    private void handleBet(Command.Bet bet) {
         handleGameAction(game -> {
-            int amount = Integer.parseInt(msg.getParams().get("AMOUNT"));
+            int amount = bet.amount();
             game.raise(playerId, amount);
-            broadcast(currentGameId, ServerMessage.action(
-                currentGameId.getId(), playerId.getId(), "BET", String.valueOf(amount)).toProtocolString());
+            broadcast(currentGameId, ServerMessageEncoder.action(
+                currentGameId.getId(), playerId.getId(), "BET", String.valueOf(amount)));
             advanceGame(game);
         });
     }
@@ -319,49 +778,167 @@ public class ClientHandler {
     private void handleFold() {
         handleGameAction(game -> {
             game.fold(playerId);
-            broadcast(currentGameId, ServerMessage.action(
-                currentGameId.getId(), playerId.getId(), "FOLD", "").toProtocolString());
+            broadcast(currentGameId, ServerMessageEncoder.action(
+                currentGameId.getId(), playerId.getId(), "FOLD", ""));
             advanceGame(game);
         });
     }
 
-    private void handleDraw(Message.ParsedMessage msg) {
+    private void handleDraw(Command.Draw draw) {
         handleGameAction(game -> {
-            String cardsStr = msg.getParams().get("CARDS");
-            List<Integer> indices = parseCardIndices(cardsStr);
-            
+            List<Integer> indices = draw.indices();
             List<Card> newCards = game.draw(playerId, indices);
             
-            broadcast(currentGameId, ServerMessage.drawOk(
+            broadcast(currentGameId, ServerMessageEncoder.drawOk(
                 currentGameId.getId(),
                 playerId.getId(),
                 indices.size(),
                 "*"
-            ).toProtocolString());
+            ));
             
             // Send new cards only to the player
             String cardStr = newCards.stream()
                 .map(Card::toString)
                 .collect(Collectors.joining(","));
-            send(ServerMessage.drawOk(
+            send(ServerMessageEncoder.drawOk(
                 currentGameId.getId(),
                 playerId.getId(),
                 indices.size(),
                 cardStr
-            ).toProtocolString());
+            ));
             
             advanceGame(game);
         });
     }
 
-    private List<Integer> parseCardIndices(String cardsStr) {
-        if (cardsStr == null || cardsStr.isEmpty() || cardsStr.equalsIgnoreCase("none")) {
-            return List.of();
+    private void handleHint() {
+        if (currentGameId == null || playerId == null) {
+            sendError("NOT_IN_GAME", "Not in a game");
+            return;
+        }
+
+        try {
+            PokerGame game = gameManager.getGame(currentGameId);
+            Player player = game.getPlayer(playerId);
+            List<Card> hand = player == null ? List.of() : List.copyOf(player.getHand());
+            if (hand.size() != 5) {
+                sendError("NO_HAND", "No hand to advise on");
+                return;
+            }
+
+            int opponents = (int) Math.max(1, game.getActivePlayerCount() - 1);
+            DrawAdvisor advisor = new DrawAdvisor(game.getConfig());
+            SimulationBudget budget = new SimulationBudget(HINT_MAX_SAMPLES, server.getHintBudget());
+            String gameId = currentGameId.getId();
+            String hintPlayerId = playerId.getId();
+
+            // Sampling is CPU-bound, so a client pipelining HINTs must not start one per line
+            if (!hintInFlight.compareAndSet(false, true)) {
+                sendError("HINT_BUSY", "A hint is already being computed");
+                return;
+            }
+            // Advising takes up to the hint budget, so run it off the table thread, on the
+            // server's hint pool rather than the carriers shared with tables and connections
+            Runnable hint = () -> {
+                DrawOption best;
+                try {
+                    best = advisor.advise(hand, opponents, CardSet.EMPTY, budget,
+                        ThreadLocalRandom.current().nextLong()).best();
+                } catch (Exception e) {
+                    log.error("Error computing hint", e);
+                    hintInFlight.set(false);
+                    sendError("HINT_FAILED", e.getMessage());
+                    return;
+                }
+                // Cleared before replying, so a HINT sent after the reply is never refused
+                hintInFlight.set(false);
+                send(ServerMessageEncoder.hint(gameId, hintPlayerId, best.toProtocolString(),
+                    best.equity(), best.result().getIterations()));
+            };
+            try {
+                server.getHintExecutor().execute(hint);
+            } catch (RejectedExecutionException e) {
+                hintInFlight.set(false);
+                sendError("HINT_BUSY", "Server is busy computing hints");
+            }
+        } catch (Exception e) {
+            sendError("HINT_FAILED", e.getMessage());
+        }
+    }
+
+    /**
+     * Replies to the connection alone with the table's lobby, pot and, if a betting or
+     * draw round is running, whose turn it is.
+     */
+    private void handleStatus() {
+        if (currentGameId == null) {
+            sendError("NOT_IN_GAME", "Not in a game");
+            return;
+        }
+
+        try {
+            sendTableState(gameManager.getGame(currentGameId));
+        } catch (Exception e) {
+            sendError("STATUS_FAILED", e.getMessage());
+        }
+    }
+
+    private void sendTableState(PokerGame game) {
+        send(encodeLobby(game));
+        send(ServerMessageEncoder.round(currentGameId.getId(), game.getPot(), game.getCurrentBet()));
+        ByteBuffer turn = encodeTurn(game);
+        if (turn != null) {
+            send(turn);
         }
-        return Arrays.stream(cardsStr.split(","))
-            .map(String::trim)
-            .map(Integer::parseInt)
-            .toList();
+    }
+
+    /**
+     * Sends the player's own cards, if they hold any.
+     */
+    private void sendHand(PokerGame game) {
+        Player player = playerId == null ? null : game.getPlayer(playerId);
+        if (player != null && !player.getHand().isEmpty()) {
+            send(ServerMessageEncoder.deal(currentGameId.getId(), playerId.getId(), player.getHand().stream()
+                .map(Card::toString)
+                .collect(Collectors.joining(","))));
+        }
+    }
+
+    /**
+     * Leaves the current game, if any, says goodbye and closes the connection once the
+     * reply has been written.
+     */
+    private void handleQuit() {
+        GameId gameId = currentGameId;
+        if (gameId != null && playerId != null) {
+            try {
+                PokerGame game = gameManager.getGame(gameId);
+                boolean folded = foldIfToAct(game);
+                game.removePlayer(playerId);
+                gameClients.get(gameId).remove(this);
+                broadcastLobby(game);
+                if (folded) {
+                    advanceGame(game);
+                }
+            } catch (Exception e) {
+                log.error("Error leaving game on quit", e);
+            }
+        }
+        currentGameId = null;
+        playerId = null;
+
+        closeAfterFlush = true;
+        send(ServerMessageEncoder.ok("Goodbye"));
+    }
+
+    /**
+     * Reports a BET or DRAW whose parameters failed to decode, checking the seat first
+     * as the action itself would.
+     */
+    private void reportActionError(Exception error) {
+        handleGameAction(game -> {
+            throw error;
+        });
     }
 
     private void handleGameAction(GameAction action) {
@@ -380,6 +957,23 @@ public class ClientHandler {
         }
     }
 
+    /**
+     * Folds for this connection's player if the hand is waiting on them. Called before a
+     * player leaves the table: PokerGame does not move the turn on when the player to act
+     * is removed, so the table would otherwise wait on them for good.
+     * @return True if the player folded; the game must then be advanced once they are gone
+     */
+    private boolean foldIfToAct(PokerGame game) {
+        GameState state = game.getState();
+        if ((state != GameState.DRAW && state != GameState.BET1 && state != GameState.BET2)
+                || !playerId.equals(game.getCurrentTurn())) {
+            return false;
+        }
+        game.fold(playerId);
+        broadcast(currentGameId, ServerMessageEncoder.action(currentGameId.getId(), playerId.getId(), "FOLD", ""));
+        return true;
+    }
+
     private void advanceGame(PokerGame game) {
         GameState state = game.getState();
 
@@ -393,12 +987,12 @@ public class ClientHandler {
                     .map(Card::toString)
                     .collect(Collectors.joining(","));
                 
-                broadcast(currentGameId, ServerMessage.showdown(
+                broadcast(currentGameId, ServerMessageEncoder.showdown(
                     currentGameId.getId(),
                     entry.getKey().getId(),
                     handStr,
                     entry.getValue().toProtocolString()
-                ).toProtocolString());
+                ));
             }
 
             // Distribute pot
@@ -407,22 +1001,23 @@ public class ClientHandler {
             for (PokerGame.Payout payout : payouts) {
                 HandRank winningRank = rankings.get(payout.playerId());
                 
-                broadcast(currentGameId, ServerMessage.winner(
+                broadcast(currentGameId, ServerMessageEncoder.winner(
                     currentGameId.getId(),
                     payout.playerId().getId(),
                     payout.amount(),
                     winningRank.toProtocolString()
-                ).toProtocolString());
+                ));
                 
-                broadcast(currentGameId, ServerMessage.payout(
+                broadcast(currentGameId, ServerMessageEncoder.payout(
                     currentGameId.getId(),
                     payout.playerId().getId(),
                     payout.amount(),
                     payout.newStack()
-                ).toProtocolString());
+                ));
             }
 
-            broadcast(currentGameId, ServerMessage.end(currentGameId.getId(), "Normal").toProtocolString());
+            broadcast(currentGameId, ServerMessageEncoder.end(currentGameId.getId(), "Normal"));
+            turnClock.stop(currentGameId);
         } else if (state == GameState.DRAW || state == GameState.BET1 || state == GameState.BET2) {
             notifyTurn(game);
         }
@@ -432,64 +1027,144 @@ public class ClientHandler {
         for (Player player : game.getAllPlayers()) {
             if (player.isActive()) {
                 // Send masked cards to others
-                broadcast(currentGameId, ServerMessage.deal(
+                broadcast(currentGameId, ServerMessageEncoder.deal(
                     currentGameId.getId(),
                     player.getId().getId(),
                     "*,*,*,*,*"
-                ).toProtocolString());
+                ));
 
                 // Send actual cards to the player
                 String cardStr = player.getHand().stream()
                     .map(Card::toString)
                     .collect(Collectors.joining(","));
                 
-                sendToPlayer(currentGameId, player.getId(), ServerMessage.deal(
+                sendToPlayer(currentGameId, player.getId(), ServerMessageEncoder.deal(
                     currentGameId.getId(),
                     player.getId().getId(),
                     cardStr
-                ).toProtocolString());
+                ));
             }
         }
     }
 
+    /**
+     * Announces whose turn it is and starts their clock.
+     */
     private void notifyTurn(PokerGame game) {
-        PlayerId currentPlayer = game.getCurrentTurn();
-        if (currentPlayer != null) {
-            Player player = game.getPlayer(currentPlayer);
-            int callAmount = Math.max(0, game.getCurrentBet() - player.getCurrentBet());
+        GameId table = currentGameId;
+        ByteBuffer turn = encodeTurn(game);
+        if (turn == null) {
+            turnClock.stop(table);
+            return;
+        }
+        broadcast(table, turn);
+        PlayerId player = game.getCurrentTurn();
+        turnClock.start(table, () -> onTurnExpired(table, player));
+    }
 
-            broadcast(currentGameId, ServerMessage.turn(
-                currentGameId.getId(),
-                currentPlayer.getId(),
-                game.getState().name(),
-                callAmount,
-                player.getChips()
-            ).toProtocolString());
+    /**
+     * Finds a connection still seated at the table to take the expired turn on behalf
+     * of the player, who may have left. Runs on the table's executor.
+     */
+    private void onTurnExpired(GameId table, PlayerId player) {
+        Set<ClientHandler> clients = gameClients.get(table);
+        if (clients == null) {
+            return;
+        }
+        for (ClientHandler client : clients) {
+            if (table.equals(client.currentGameId)) {
+                client.takeExpiredTurn(player);
+                return;
+            }
         }
     }
 
+    /**
+     * Acts for a player who let their clock run out: draws nothing in the draw round,
+     * otherwise checks if they can and folds if they cannot.
+     */
+    private void takeExpiredTurn(PlayerId player) {
+        try {
+            PokerGame game = gameManager.getGame(currentGameId);
+            Player seated = game.getPlayer(player);
+            if (seated == null || !player.equals(game.getCurrentTurn())) {
+                return;
+            }
+            metrics.recordTurnTimeout();
+            if (game.getState() == GameState.DRAW) {
+                game.draw(player, List.of());
+                broadcast(currentGameId, ServerMessageEncoder.drawOk(currentGameId.getId(), player.getId(), 0, "*"));
+            } else if (game.getCurrentBet() <= seated.getCurrentBet()) {
+                game.check(player);
+                broadcast(currentGameId, ServerMessageEncoder.action(currentGameId.getId(), player.getId(), "CHECK", ""));
+            } else {
+                game.fold(player);
+                broadcast(currentGameId, ServerMessageEncoder.action(currentGameId.getId(), player.getId(), "FOLD", ""));
+            }
+            advanceGame(game);
+        } catch (Exception e) {
+            log.error("Error taking expired turn", e);
+        }
+    }
+
+    /**
+     * TURN line for the player to act, or null if it is nobody's turn.
+     */
+    private ByteBuffer encodeTurn(PokerGame game) {
+        PlayerId currentPlayer = game.getCurrentTurn();
+        if (currentPlayer == null) {
+            return null;
+        }
+        Player player = game.getPlayer(currentPlayer);
+        int callAmount = Math.max(0, game.getCurrentBet() - player.getCurrentBet());
+
+        return ServerMessageEncoder.turn(
+            currentGameId.getId(),
+            currentPlayer.getId(),
+            game.getState().name(),
+            callAmount,
+            player.getChips()
+        );
+    }
+
     private void broadcastLobby(PokerGame game) {
+        broadcast(currentGameId, encodeLobby(game));
+    }
+
+    private ByteBuffer encodeLobby(PokerGame game) {
         String playerNames = game.getAllPlayers().stream()
             .map(Player::getName)
             .collect(Collectors.joining(","));
-        broadcast(currentGameId, ServerMessage.lobby(currentGameId.getId(), playerNames).toProtocolString());
+        return ServerMessageEncoder.lobby(currentGameId.getId(), playerNames);
     }
 
-    private void broadcast(GameId gameId, String message) {
+    private void broadcast(GameId gameId, ByteBuffer encoded) {
         Set<ClientHandler> clients = gameClients.get(gameId);
         if (clients != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Broadcasting: {}", decode(encoded));
+            }
+            // Transcoded once for all binary recipients
+            ByteBuffer binary = null;
             for (ClientHandler client : clients) {
-                client.send(message);
+                if (client.binaryOut) {
+                    if (binary == null) {
+                        binary = BinaryCodec.fromText(encoded);
+                    }
+                    client.enqueue(binary.duplicate());
+                } else {
+                    client.send(encoded);
+                }
             }
         }
     }
 
-    private void sendToPlayer(GameId gameId, PlayerId targetPlayerId, String message) {
+    private void sendToPlayer(GameId gameId, PlayerId targetPlayerId, ByteBuffer encoded) {
         Set<ClientHandler> clients = gameClients.get(gameId);
         if (clients != null) {
             for (ClientHandler handler : clients) {
                 if (targetPlayerId.equals(handler.playerId)) {
-                    handler.send(message);
+                    handler.send(encoded);
                     break;
                 }
             }
@@ -502,25 +1177,45 @@ public class ClientHandler {
     }
 
     public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (io != null) {
+            io.unregistered();
+        }
         try {
-            if (currentGameId != null && playerId != null) {
-                try {
-                    PokerGame game = gameManager.getGame(currentGameId);
-                    game.removePlayer(playerId);
-                    
-                    Set<ClientHandler> clients = gameClients.get(currentGameId);
-                    if (clients != null) {
-                        clients.remove(this);
-                    }
-                } catch (Exception e) {
-                    log.error("Error removing player on disconnect", e);
-                }
-            }
-            
             channel.close();
             log.info("Client disconnected");
         } catch (IOException e) {
             log.error("Error closing channel", e);
         }
+        discardQueued(0);
+        // Seat removal runs on the table, after the connection's pending messages
+        GameId table = route.current();
+        if (table != null) {
+            route.submit(table, () -> onTable(table, this::leaveOnDisconnect));
+        }
+    }
+
+    private void leaveOnDisconnect() {
+        GameId gameId = currentGameId;
+        if (gameId == null || playerId == null) {
+            return;
+        }
+        try {
+            PokerGame game = gameManager.getGame(gameId);
+            boolean folded = foldIfToAct(game);
+            game.removePlayer(playerId);
+
+            Set<ClientHandler> clients = gameClients.get(gameId);
+            if (clients != null) {
+                clients.remove(this);
+            }
+            if (folded) {
+                advanceGame(game);
+            }
+        } catch (Exception e) {
+            log.error("Error removing player on disconnect", e);
+        }
     }
 }
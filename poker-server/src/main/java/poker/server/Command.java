@@ -0,0 +1,71 @@
+package poker.server;
+
+import poker.model.game.GameId;
+import poker.model.protocol.BinaryCodec;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parameters of a client command, decoded once on the I/O thread by the command's
+ * {@link CommandTable} entry and handed to its handler on the table executor.
+ */
+sealed interface Command {
+    /** Shared instance for commands without parameters */
+    Empty EMPTY = new Empty();
+
+    /**
+     * Table named by the command, for {@link CommandTable.Routing#TARGET} routing; null if none.
+     */
+    default GameId table() {
+        return null;
+    }
+
+    record Empty() implements Command {
+    }
+
+    record Hello(String version, String proto) implements Command {
+        boolean binary() {
+            return BinaryCodec.PROTO_BINARY.equals(proto);
+        }
+    }
+
+    record Create(int ante, int bet) implements Command {
+    }
+
+    /**
+     * Raw JOIN parameters; the handler validates them so failures are reported as JOIN_FAILED.
+     */
+    record Join(String game, String name) implements Command {
+        /**
+         * Table the join is routed to, or null if the id is missing or malformed.
+         */
+        @Override
+        public GameId table() {
+            try {
+                return GameId.of(game);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+
+    record Bet(int amount) implements Command {
+    }
+
+    record Draw(List<Integer> indices) implements Command {
+        /**
+         * Parses comma-separated card indices; an absent value or "none" draws nothing.
+         * @throws NumberFormatException if an index is not a number
+         */
+        static Draw parse(String cards) {
+            if (cards == null || cards.isEmpty() || cards.equalsIgnoreCase("none")) {
+                return new Draw(List.of());
+            }
+            return new Draw(Arrays.stream(cards.split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package poker.server;
+
+import poker.model.protocol.Action;
+import poker.model.protocol.ParsedFrame;
+
+/**
+ * Registry of client commands indexed by {@link Action} ordinal, so dispatching a parsed
+ * line is one array load. Each entry decodes the line into its {@link Command} record,
+ * says where the handler runs, and handles it against a target such as a connection.
+ * @param <T> Type the handlers act on
+ */
+final class CommandTable<T> {
+
+    /**
+     * Where a command's handler runs.
+     */
+    enum Routing {
+        /** On the I/O thread; the handler does its own routing */
+        INLINE,
+        /** In the connection's order, on whichever table it is routed to */
+        CONNECTION,
+        /** On the table the connection is seated at */
+        TABLE,
+        /** On the table named by the command, see {@link Command#table()} */
+        TARGET
+    }
+
+    @FunctionalInterface
+    interface Decoder<C extends Command> {
+        C decode(ParsedFrame frame);
+    }
+
+    @FunctionalInterface
+    interface Handler<T, C> {
+        void handle(T target, C command);
+    }
+
+    /**
+     * One command: its decoder, routing, handler, and the handler for lines that fail to
+     * decode. The error handler runs in the connection's order, or on its table for
+     * {@link Routing#TABLE} commands; if it is null, decoding errors are left to the caller.
+     */
+    record Entry<T, C extends Command>(
+            Action action,
+            Routing routing,
+            Decoder<C> decoder,
+            Handler<T, C> handler,
+            Handler<T, Exception> onError) {
+    }
+
+    private final Entry<T, ?>[] entries;
+
+    @SuppressWarnings("unchecked")
+    CommandTable() {
+        entries = (Entry<T, ?>[]) new Entry<?, ?>[Action.values().length];
+    }
+
+    /**
+     * Registers a command.
+     * @throws IllegalArgumentException if the action is already registered
+     */
+    <C extends Command> CommandTable<T> register(
+            Action action,
+            Routing routing,
+            Decoder<C> decoder,
+            Handler<T, C> handler,
+            Handler<T, Exception> onError) {
+        if (entries[action.ordinal()] != null) {
+            throw new IllegalArgumentException("Action already registered: " + action);
+        }
+        entries[action.ordinal()] = new Entry<>(action, routing, decoder, handler, onError);
+        return this;
+    }
+
+    /**
+     * Registers a command whose decoder cannot fail.
+     */
+    <C extends Command> CommandTable<T> register(
+            Action action,
+            Routing routing,
+            Decoder<C> decoder,
+            Handler<T, C> handler) {
+        return register(action, routing, decoder, handler, null);
+    }
+
+    /**
+     * Registers a command without parameters.
+     */
+    CommandTable<T> register(Action action, Routing routing, Handler<T, Command.Empty> handler) {
+        return register(action, routing, frame -> Command.EMPTY, handler, null);
+    }
+
+    /**
+     * Entry for an action, or null if clients may not send it.
+     */
+    Entry<T, ?> get(Action action) {
+        return action == null ? null : entries[action.ordinal()];
+    }
+}
@@ -0,0 +1,32 @@
+package poker.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits a client's byte stream into protocol frames without copying it.
+ */
+interface Framer {
+
+    /**
+     * Buffer to read into, in write mode. Unconsumed bytes stay at its front.
+     */
+    ByteBuffer buffer();
+
+    /**
+     * Hands every complete frame in the buffer to the listener and keeps the partial tail.
+     */
+    void drain(Listener listener);
+
+    interface Listener {
+        /**
+         * Receives one frame. The slice is only valid during the call.
+         * @return false to stop draining; the remaining bytes stay in the buffer
+         */
+        boolean onFrame(ByteBuffer frame);
+
+        /**
+         * Called once for each frame exceeding the limit; its bytes are skipped.
+         */
+        void onOversized();
+    }
+}
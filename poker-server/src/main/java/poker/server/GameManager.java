@@ -1,38 +1,449 @@
 package poker.server;
 
+import lombok.extern.slf4j.Slf4j;
 import poker.model.game.GameConfig;
 import poker.model.game.GameId;
 import poker.model.game.PokerGame;
 
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * Manages all active poker games on the server.
+ * <p>
+ * Games are split over a power-of-two number of shards by the hash of their {@link GameId}.
+ * A shard owns both its games and their connection sets, see {@link #getClientSets()}, in
+ * maps of its own, so tables on different shards never contend and each shard can report
+ * its own load. {@link #checkBalance()} hands the shard stats to a {@link RebalanceHook}
+ * when tables or lookups pile up on one shard.
+ * <p>
+ * Every lookup of a game marks it active. A game that nobody has looked up for a while
+ * is idle, and an idle game with no players left can be reclaimed, see {@link TableReaper}.
  */
+@Slf4j
 public class GameManager {
-    private final Map<GameId, PokerGame> games = new ConcurrentHashMap<>();
+    /** Busiest shard over the mean before {@link #checkBalance()} reports a skew */
+    public static final double DEFAULT_SKEW_THRESHOLD = 2.0;
+    /** Fewer tables than this per shard are never reported as skewed */
+    private static final int MIN_TABLES_FOR_SKEW = 16;
+
+    private final Shard[] shards;
+    private final int mask;
+    private final ClientSets clientSets = new ClientSets();
+    private volatile RebalanceHook rebalanceHook = GameManager::logSkew;
+    private volatile double skewThreshold = DEFAULT_SKEW_THRESHOLD;
+
+    /**
+     * Creates a manager with one shard per available processor.
+     */
+    public GameManager() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param shardCount Number of shards, rounded up to a power of two
+     */
+    public GameManager(int shardCount) {
+        if (shardCount < 1 || shardCount > 1 << 16) {
+            throw new IllegalArgumentException("Shard count must be between 1 and 65536");
+        }
+        int size = Integer.highestOneBit(shardCount);
+        if (size < shardCount) {
+            size <<= 1;
+        }
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.mask = size - 1;
+    }
 
     public GameId createGame(GameConfig config) {
         GameId gameId = GameId.generate();
         PokerGame game = new PokerGame(gameId, config);
-        games.put(gameId, game);
+        shardOf(gameId).games.put(gameId, new Table(game));
         return gameId;
     }
 
     public PokerGame getGame(GameId gameId) {
-        PokerGame game = games.get(gameId);
-        if (game == null) {
+        Shard shard = shardOf(gameId);
+        Table table = shard.games.get(gameId);
+        if (table == null) {
             throw new IllegalArgumentException("Game not found: " + gameId.getId());
         }
-        return game;
+        shard.lookups.increment();
+        table.lastActiveNanos = System.nanoTime();
+        return table.game;
+    }
+
+    /**
+     * Whether the game exists. Unlike {@link #getGame}, does not mark it active.
+     */
+    public boolean hasGame(GameId gameId) {
+        return shardOf(gameId).games.containsKey(gameId);
     }
 
     public void removeGame(GameId gameId) {
-        games.remove(gameId);
+        shardOf(gameId).games.remove(gameId);
     }
 
+    /**
+     * Number of live games, idle or not.
+     */
     public int getGameCount() {
-        return games.size();
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.games.size();
+        }
+        return count;
+    }
+
+    /**
+     * Time since the game was last looked up, in nanoseconds, or -1 if there is no such game.
+     */
+    public long getIdleNanos(GameId gameId) {
+        Table table = shardOf(gameId).games.get(gameId);
+        return table == null ? -1 : System.nanoTime() - table.lastActiveNanos;
+    }
+
+    /**
+     * Number of games not looked up for at least the given time. Scans every game.
+     */
+    public int getIdleGameCount(Duration idle) {
+        long now = System.nanoTime();
+        long idleNanos = idle.toNanos();
+        int count = 0;
+        for (Shard shard : shards) {
+            for (Table table : shard.games.values()) {
+                if (now - table.lastActiveNanos >= idleNanos) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes the game if nobody is seated and it has been idle for at least the given
+     * time. Reads the game's players, so it must run on the game's table executor.
+     * @return True if the game was removed
+     */
+    public boolean reclaimIfIdle(GameId gameId, Duration idle) {
+        Shard shard = shardOf(gameId);
+        Table table = shard.games.get(gameId);
+        if (table == null
+                || System.nanoTime() - table.lastActiveNanos < idle.toNanos()
+                || table.game.getPlayerCount() > 0
+                || !shard.games.remove(gameId, table)) {
+            return false;
+        }
+        shard.reclaimed.increment();
+        return true;
+    }
+
+    /**
+     * Games removed by {@link #reclaimIfIdle} since the manager was created.
+     */
+    public long getReclaimedCount() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.reclaimed.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Connection sets of the games, keyed by game and stored on the game's shard.
+     * Reads and updates go straight to the one shard a key belongs to; iterating walks
+     * the shards one after another and is only weakly consistent across them.
+     */
+    public ConcurrentMap<GameId, Set<ClientHandler>> getClientSets() {
+        return clientSets;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Index of the shard owning a game.
+     */
+    public int getShardIndex(GameId gameId) {
+        int h = gameId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Current load of every shard, in shard order. Counts connections, so it walks every
+     * connection set.
+     */
+    public List<ShardStats> getShardStats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            int connections = 0;
+            for (Set<ClientHandler> clients : shard.clients.values()) {
+                connections += clients.size();
+            }
+            stats.add(new ShardStats(i, shard.games.size(), connections,
+                shard.lookups.sum(), shard.reclaimed.sum()));
+        }
+        return stats;
+    }
+
+    /**
+     * Replaces the hook told about skewed shards; the default logs a warning.
+     * @param skewThreshold Ratio of the busiest shard to the mean, in tables or in lookups
+     *                      since the last check, above which the hook is called
+     */
+    public void setRebalanceHook(RebalanceHook hook, double skewThreshold) {
+        if (hook == null) {
+            throw new IllegalArgumentException("Rebalance hook is required");
+        }
+        if (!(skewThreshold > 1.0)) {
+            throw new IllegalArgumentException("Skew threshold must be above 1");
+        }
+        this.rebalanceHook = hook;
+        this.skewThreshold = skewThreshold;
+    }
+
+    /**
+     * Compares each shard's tables, and its lookups since the previous check, with the
+     * mean over all shards, and calls the rebalance hook if the busiest is over the skew
+     * threshold. Meant to be called periodically from one thread.
+     * @return True if the hook was called
+     */
+    public synchronized boolean checkBalance() {
+        List<ShardStats> stats = getShardStats();
+        long[] recentLookups = new long[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            long total = stats.get(i).lookups();
+            recentLookups[i] = total - shards[i].lookupsAtLastCheck;
+            shards[i].lookupsAtLastCheck = total;
+        }
+        if (shards.length == 1) {
+            return false;
+        }
+
+        int busiest = 0;
+        int tables = 0;
+        for (ShardStats shard : stats) {
+            tables += shard.tables();
+            if (shard.tables() > stats.get(busiest).tables()) {
+                busiest = shard.index();
+            }
+        }
+        double meanTables = (double) tables / shards.length;
+        boolean tablesSkewed = tables >= MIN_TABLES_FOR_SKEW * shards.length
+            && stats.get(busiest).tables() > meanTables * skewThreshold;
+
+        int hottest = 0;
+        for (int i = 1; i < recentLookups.length; i++) {
+            if (recentLookups[i] > recentLookups[hottest]) {
+                hottest = i;
+            }
+        }
+        double meanLookups = (double) Arrays.stream(recentLookups).sum() / shards.length;
+        boolean lookupsSkewed = meanLookups > 0 && recentLookups[hottest] > meanLookups * skewThreshold;
+
+        if (!tablesSkewed && !lookupsSkewed) {
+            return false;
+        }
+        try {
+            rebalanceHook.onSkew(stats.get(tablesSkewed ? busiest : hottest), stats);
+        } catch (RuntimeException e) {
+            log.error("Error in rebalance hook", e);
+        }
+        return true;
+    }
+
+    private static void logSkew(ShardStats busiest, List<ShardStats> all) {
+        log.warn("Shard {} is skewed: {} tables, {} lookups ({} shards)",
+            busiest.index(), busiest.tables(), busiest.lookups(), all.size());
+    }
+
+    private Shard shardOf(GameId gameId) {
+        return shards[getShardIndex(gameId)];
+    }
+
+    /**
+     * Load of one shard when the stats were taken.
+     * @param lookups Game lookups on the shard since the manager was created
+     * @param reclaimed Games reclaimed from the shard since the manager was created
+     */
+    public record ShardStats(int index, int tables, int connections, long lookups, long reclaimed) {
+    }
+
+    /**
+     * Told by {@link #checkBalance()} when one shard carries much more than its share.
+     * Games stay on the shard their id hashes to; the hook decides what to do about it,
+     * such as steering new tables elsewhere or alerting.
+     */
+    @FunctionalInterface
+    public interface RebalanceHook {
+        /**
+         * @param busiest The skewed shard
+         * @param all Every shard, in shard order
+         */
+        void onSkew(ShardStats busiest, List<ShardStats> all);
+    }
+
+    /**
+     * Games and connection sets whose ids hash to one index.
+     */
+    private static final class Shard {
+        private final Map<GameId, Table> games = new ConcurrentHashMap<>();
+        private final ConcurrentMap<GameId, Set<ClientHandler>> clients = new ConcurrentHashMap<>();
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder reclaimed = new LongAdder();
+        /** Only used by {@link #checkBalance()} */
+        private long lookupsAtLastCheck;
+    }
+
+    /**
+     * A game and the time it was last looked up.
+     */
+    private static final class Table {
+        private final PokerGame game;
+        private volatile long lastActiveNanos = System.nanoTime();
+
+        private Table(PokerGame game) {
+            this.game = game;
+        }
+    }
+
+    /**
+     * Map view routing each key to the connection sets of its shard.
+     */
+    private final class ClientSets extends AbstractMap<GameId, Set<ClientHandler>>
+            implements ConcurrentMap<GameId, Set<ClientHandler>> {
+
+        private ConcurrentMap<GameId, Set<ClientHandler>> shard(Object key) {
+            return shardOf((GameId) key).clients;
+        }
+
+        @Override
+        public Set<ClientHandler> get(Object key) {
+            return key instanceof GameId ? shard(key).get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof GameId && shard(key).containsKey(key);
+        }
+
+        @Override
+        public Set<ClientHandler> put(GameId key, Set<ClientHandler> value) {
+            return shard(key).put(key, value);
+        }
+
+        @Override
+        public Set<ClientHandler> putIfAbsent(GameId key, Set<ClientHandler> value) {
+            return shard(key).putIfAbsent(key, value);
+        }
+
+        @Override
+        public Set<ClientHandler> computeIfAbsent(GameId key,
+                Function<? super GameId, ? extends Set<ClientHandler>> mappingFunction) {
+            return shard(key).computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public Set<ClientHandler> remove(Object key) {
+            return key instanceof GameId ? shard(key).remove(key) : null;
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            return key instanceof GameId && shard(key).remove(key, value);
+        }
+
+        @Override
+        public boolean replace(GameId key, Set<ClientHandler> oldValue, Set<ClientHandler> newValue) {
+            return shard(key).replace(key, oldValue, newValue);
+        }
+
+        @Override
+        public Set<ClientHandler> replace(GameId key, Set<ClientHandler> value) {
+            return shard(key).replace(key, value);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Shard shard : shards) {
+                size += shard.clients.size();
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (Shard shard : shards) {
+                if (!shard.clients.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            for (Shard shard : shards) {
+                shard.clients.clear();
+            }
+        }
+
+        @Override
+        public Set<Entry<GameId, Set<ClientHandler>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<GameId, Set<ClientHandler>>> iterator() {
+                    return new Iterator<>() {
+                        private int shard;
+                        private Iterator<Entry<GameId, Set<ClientHandler>>> current =
+                            shards[0].clients.entrySet().iterator();
+
+                        @Override
+                        public boolean hasNext() {
+                            while (!current.hasNext() && ++shard < shards.length) {
+                                current = shards[shard].clients.entrySet().iterator();
+                            }
+                            return current.hasNext();
+                        }
+
+                        @Override
+                        public Entry<GameId, Set<ClientHandler>> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return current.next();
+                        }
+
+                        @Override
+                        public void remove() {
+                            current.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ClientSets.this.size();
+                }
+            };
+        }
     }
 }
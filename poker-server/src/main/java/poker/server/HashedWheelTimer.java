@@ -0,0 +1,261 @@
+package poker.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coarse timer for large numbers of mostly cancelled timeouts, such as turn clocks and
+ * idle checks, run by a single thread.
+ * <p>
+ * Timeouts hang in a ring of buckets, one per tick; a timeout further away than one turn
+ * of the ring counts down the rounds it still has to wait. Scheduling and cancelling only
+ * queue the timeout for the worker, which links it into or out of its bucket, so both are
+ * O(1) for the caller and the worker. Expiry is late by up to one tick.
+ * <p>
+ * Tasks run on the worker thread and must be short; anything more should be handed to
+ * another executor.
+ */
+@Slf4j
+public class HashedWheelTimer {
+    /** Timeouts moved from the schedule queue into buckets per tick, so a burst cannot stall expiry */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    @FunctionalInterface
+    public interface TimerTask {
+        void run(Timeout timeout);
+    }
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final long startNanos = System.nanoTime();
+    private volatile boolean running = true;
+    private Thread worker;
+    /** Ticks completed; only used by the worker */
+    private long tick;
+
+    /**
+     * @param tick Resolution of the timer
+     * @param wheelSize Buckets in the ring, rounded up to a power of two
+     */
+    public HashedWheelTimer(String name, long tick, TimeUnit unit, int wheelSize) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30");
+        }
+        this.name = name;
+        this.tickNanos = unit.toNanos(tick);
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+    }
+
+    /**
+     * Runs a task once the delay has passed. Starts the worker thread on first use.
+     * Once the timer is stopped, the returned timeout is already cancelled.
+     */
+    public Timeout schedule(TimerTask task, long delay, TimeUnit unit) {
+        if (!running) {
+            Timeout timeout = new Timeout(task, 0);
+            timeout.state.set(Timeout.CANCELLED);
+            return timeout;
+        }
+        if (!started.get() && started.compareAndSet(false, true)) {
+            worker = Thread.ofPlatform().name(name).daemon().start(this::run);
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Timeouts neither expired nor cancelled yet.
+     */
+    public long getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker; pending timeouts never run.
+     */
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep;
+            while (running && (sleep = deadline - (System.nanoTime() - startNanos)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!running) {
+                break;
+            }
+            unlinkCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void unlinkCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduled.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            long due = timeout.deadline / tickNanos;
+            timeout.rounds = (due - tick) / wheel.length;
+            // Already due: expire on the current tick
+            wheel[(int) (Math.max(due, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimerTask task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // Bucket links, only used by the worker
+        private long rounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimerTask task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Stops the task from running. Safe to call from any thread, including from the task.
+         * @return False if it already ran or was cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.offer(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                task.run(this);
+            } catch (RuntimeException e) {
+                log.error("Error in timer task", e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts falling on one slot of the ring.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Runs the timeouts due in this round and counts down the others.
+         */
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
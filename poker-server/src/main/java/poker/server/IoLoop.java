@@ -0,0 +1,24 @@
+package poker.server;
+
+/**
+ * Runs a client's socket I/O on behalf of its {@link ClientHandler}: a {@link Reactor}
+ * shared by many clients, or a connection's own virtual threads.
+ */
+interface IoLoop {
+
+    /**
+     * Asks for the handler's queued messages to be written. Safe to call from any thread.
+     */
+    void requestWrite(ClientHandler handler);
+
+    /**
+     * Runs a task in the handler's write context, serialized with its writes.
+     * Safe to call from any thread.
+     */
+    void execute(Runnable task);
+
+    /**
+     * Called once by the handler when its connection is closed.
+     */
+    void unregistered();
+}
@@ -0,0 +1,12 @@
+package poker.server;
+
+/**
+ * How the server runs connection I/O. Both modes share the command handling, table
+ * executors, queue limits and metrics; only the threads touching sockets differ.
+ */
+public enum IoMode {
+    /** Non-blocking channels multiplexed over {@link ServerConfig#getReactorCount()} selectors */
+    REACTOR,
+    /** Blocking channels, each connection read and written by its own virtual threads */
+    VIRTUAL_THREADS
+}
@@ -0,0 +1,72 @@
+package poker.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits a client's byte stream into '\n'-terminated frames, handed over without the '\n'.
+ * <p>
+ * Bytes are read straight into {@link #buffer()}; {@link #drain} scans the new bytes for
+ * line ends, hands each complete frame to the listener as a slice of the buffer and
+ * compacts the unfinished tail to the front. A frame longer than the limit is reported
+ * once and its bytes are dropped up to the next line end, so a client that never sends
+ * '\n' cannot make the server buffer more than the limit.
+ */
+final class LineFramer implements Framer {
+    private final ByteBuffer buffer;
+    private final int maxFrameBytes;
+    /** Bytes of the buffered tail already scanned for a line end */
+    private int scanned;
+    private boolean discarding;
+
+    /**
+     * @param capacity Read buffer size; must exceed the frame limit
+     * @param maxFrameBytes Longest accepted frame, excluding the '\n'
+     */
+    LineFramer(int capacity, int maxFrameBytes) {
+        if (maxFrameBytes < 1 || capacity <= maxFrameBytes) {
+            throw new IllegalArgumentException("Capacity must exceed the frame limit");
+        }
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    public void drain(Listener listener) {
+        buffer.flip();
+        int start = buffer.position();
+        int limit = buffer.limit();
+        for (int i = start + scanned; i < limit; i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            if (discarding) {
+                discarding = false;
+            } else if (i - start > maxFrameBytes) {
+                listener.onOversized();
+            } else if (!listener.onFrame(buffer.slice(start, i - start))) {
+                // Stopped: keep the rest, unscanned, for whoever reads it next
+                buffer.position(i + 1);
+                scanned = 0;
+                buffer.compact();
+                return;
+            }
+            start = i + 1;
+        }
+
+        buffer.position(start);
+        if (!discarding && buffer.remaining() > maxFrameBytes) {
+            listener.onOversized();
+            discarding = true;
+        }
+        if (discarding) {
+            buffer.position(limit);
+        }
+        scanned = buffer.remaining();
+        buffer.compact();
+    }
+}
@@ -2,38 +2,88 @@ package poker.server;
 
 import lombok.extern.slf4j.Slf4j;
 import poker.model.game.GameId;
+import poker.model.game.HandEvaluator;
+import poker.model.game.MappedTableEvaluator;
 import poker.server.GameManager;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.util.Iterator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * NIO-based poker server using non-blocking I/O with channels and selectors.
  * Implements Bonus 1: java.nio usage.
+ * <p>
+ * Runs as a set of {@link Reactor}s: the thread calling {@link #start()} accepts
+ * connections and deals them round-robin to {@link ServerConfig#getReactorCount()}
+ * worker selectors, each on its own thread. A client stays on the reactor it was
+ * given for its whole connection. With a single reactor, accepting and client I/O
+ * share the calling thread.
+ * <p>
+ * In {@link IoMode#VIRTUAL_THREADS} mode the calling thread instead accepts blocking
+ * channels and each connection runs on its own virtual threads, see
+ * {@link VirtualThreadAcceptor}. Everything past the socket is shared by both modes.
  */
 @Slf4j
 public class PokerServer {
     private static final int DEFAULT_PORT = 7777;
+    private static final long TIMER_TICK_MILLIS = 100;
+    /** Ticks per turn of the timer's wheel; 512 at 100 ms covers 51 seconds without rounds */
+    private static final int TIMER_WHEEL_SIZE = 512;
+    private static final long SHARD_CHECK_SECONDS = 30;
     
-    private final int port;
+    private final ServerConfig config;
     private final GameManager gameManager;
     private final Map<GameId, Set<ClientHandler>> gameClients;
-    private Selector selector;
+    private final TableDispatcher tableDispatcher;
+    private final ServerMetrics metrics = new ServerMetrics();
+    private final HashedWheelTimer timer;
+    private final TurnClock turnClock;
+    private final TableReaper tableReaper;
+    private final ExecutorService hintExecutor;
+    private final List<Reactor> workers;
+    private Reactor acceptor;
+    private volatile VirtualThreadAcceptor virtualAcceptor;
     private ServerSocketChannel serverChannel;
+    private int nextWorker;
+    private volatile HandEvaluator handEvaluator;
     private volatile boolean running;
 
     public PokerServer(int port) {
-        this.port = port;
-        this.gameManager = new GameManager();
-        this.gameClients = new ConcurrentHashMap<>();
+        this(ServerConfig.builder().port(port).build());
+    }
+
+    public PokerServer(ServerConfig config) {
+        config.validate();
+        this.config = config;
+        this.gameManager = new GameManager(config.getShardCount());
+        // Connection sets live on the same shard as their game
+        this.gameClients = gameManager.getClientSets();
+        // Reclaimed and unknown games never get their mailbox back
+        this.tableDispatcher = new TableDispatcher(config.getTableThreads(), gameManager::hasGame);
+        this.timer = new HashedWheelTimer("poker-timer", TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS, TIMER_WHEEL_SIZE);
+        this.turnClock = new TurnClock(timer, tableDispatcher, config.getTurnTimeout());
+        this.tableReaper = new TableReaper(
+            timer, tableDispatcher, gameManager, gameClients, turnClock, config.getTableTimeout());
+        // Bounded so a burst of HINTs is refused rather than piling up sampling work
+        this.hintExecutor = new ThreadPoolExecutor(config.getHintThreads(), config.getHintThreads(),
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getHintThreads()),
+            Thread.ofPlatform().name("hint-", 0).daemon(true).factory());
+        this.workers = new ArrayList<>();
+        this.handEvaluator = new HandEvaluator.LookupTableEvaluator();
         this.running = false;
     }
 
@@ -42,105 +92,218 @@ public class PokerServer {
             throw new IllegalStateException("Server is already running");
         }
 
-        selector = Selector.open();
         serverChannel = ServerSocketChannel.open();
-        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.bind(new InetSocketAddress(config.getPort()));
+        if (config.getIoMode() == IoMode.VIRTUAL_THREADS) {
+            startVirtualThreads();
+            return;
+        }
+
+        acceptor = new Reactor("poker-acceptor", this);
         serverChannel.configureBlocking(false);
-        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        serverChannel.register(acceptor.getSelector(), SelectionKey.OP_ACCEPT);
 
-        running = true;
-        log.info("NIO Poker server started on port {}", port);
-        log.info("Using non-blocking I/O with Selector");
-
-        while (running) {
-            try {
-                // Block until at least one channel is ready
-                selector.select();
-
-                Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
-                while (keyIterator.hasNext()) {
-                    SelectionKey key = keyIterator.next();
-                    keyIterator.remove();
-
-                    if (!key.isValid()) {
-                        continue;
-                    }
-
-                    try {
-                        if (key.isAcceptable()) {
-                            handleAccept(key);
-                        } else if (key.isReadable()) {
-                            handleRead(key);
-                        } else if (key.isWritable()) {
-                            handleWrite(key);
-                        }
-                    } catch (IOException e) {
-                        log.error("Error handling key", e);
-                        closeClient(key);
-                    }
-                }
-            } catch (IOException e) {
-                if (running) {
-                    log.error("Error in selector loop", e);
-                }
+        if (config.getReactorCount() == 1) {
+            workers.add(acceptor);
+        } else {
+            for (int i = 0; i < config.getReactorCount(); i++) {
+                Reactor worker = new Reactor("poker-reactor-" + i, this);
+                workers.add(worker);
+                Thread.ofPlatform().name(worker.getName()).start(worker);
             }
         }
+
+        // Connections queue in the backlog while the table is mapped (or generated on first start)
+        handEvaluator = loadHandEvaluator();
+        scheduleBalanceCheck();
+
+        running = true;
+        log.info("NIO Poker server started on port {}", getLocalPort());
+        log.info("Using non-blocking I/O with {} reactor(s)", workers.size());
+
+        acceptor.run();
     }
 
-    private void handleAccept(SelectionKey key) throws IOException {
+    /**
+     * Runs the blocking accept loop on the calling thread until the server stops.
+     */
+    private void startVirtualThreads() {
+        virtualAcceptor = new VirtualThreadAcceptor(serverChannel, this);
+        handEvaluator = loadHandEvaluator();
+        scheduleBalanceCheck();
+
+        running = true;
+        log.info("Poker server started on port {}", getLocalPort());
+        log.info("Using a virtual thread per connection");
+
+        virtualAcceptor.run();
+    }
+
+    /**
+     * Checks the game shards for skew every {@value #SHARD_CHECK_SECONDS} seconds while
+     * the timer runs. The check walks every connection set, so it runs off the timer thread.
+     */
+    private void scheduleBalanceCheck() {
+        timer.schedule(timeout -> Thread.ofVirtual().name("shard-check").start(() -> {
+            gameManager.checkBalance();
+            scheduleBalanceCheck();
+        }), SHARD_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Maps the shared precomputed strength table, generating it on the first start.
+     * Falls back to the in-memory lookup evaluator if the file cannot be written, mapped
+     * or validated.
+     */
+    private HandEvaluator loadHandEvaluator() {
+        try {
+            return MappedTableEvaluator.openDefault();
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Strength table unavailable, using in-memory evaluator", e);
+            return new HandEvaluator.LookupTableEvaluator();
+        }
+    }
+
+    /**
+     * Accepts a pending connection and hands it to the next worker reactor.
+     * Runs on the acceptor thread.
+     */
+    void handleAccept(SelectionKey key) throws IOException {
         ServerSocketChannel serverChannel = (ServerSocketChannel) key.channel();
         SocketChannel clientChannel = serverChannel.accept();
         
         if (clientChannel != null) {
             clientChannel.configureBlocking(false);
+            // Read before handing off: the worker may close the channel at any time afterwards
+            SocketAddress remoteAddress = clientChannel.getRemoteAddress();
             
-            ClientHandler handler = new ClientHandler(
-                clientChannel, 
-                gameManager, 
-                gameClients,
-                this
-            );
-            
-            SelectionKey clientKey = clientChannel.register(selector, SelectionKey.OP_READ);
-            clientKey.attach(handler);
+            ClientHandler handler = newClientHandler(clientChannel);
+
+            Reactor worker = workers.get(nextWorker);
+            nextWorker = (nextWorker + 1) % workers.size();
+            worker.register(handler);
             
-            log.info("Accepted connection from {}", clientChannel.getRemoteAddress());
+            log.info("Accepted connection from {} on {}", remoteAddress, worker.getName());
         }
     }
 
-    private void handleRead(SelectionKey key) throws IOException {
-        ClientHandler handler = (ClientHandler) key.attachment();
-        if (handler != null) {
-            handler.handleRead(key);
-        }
+    /**
+     * Creates the handler serving a newly accepted connection.
+     */
+    ClientHandler newClientHandler(SocketChannel channel) {
+        return new ClientHandler(channel, gameManager, gameClients, this);
     }
 
-    private void handleWrite(SelectionKey key) throws IOException {
-        ClientHandler handler = (ClientHandler) key.attachment();
-        if (handler != null) {
-            handler.handleWrite(key);
+    /**
+     * Selector of the acceptor reactor.
+     */
+    public Selector getSelector() {
+        return acceptor == null ? null : acceptor.getSelector();
+    }
+
+    /**
+     * Port the server is bound to, or -1 if it is not listening.
+     */
+    public int getLocalPort() {
+        try {
+            ServerSocketChannel channel = serverChannel;
+            if (channel != null && channel.isOpen() && channel.getLocalAddress() != null) {
+                return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+            }
+        } catch (IOException e) {
+            log.debug("Could not read local address", e);
         }
+        return -1;
+    }
+
+    /**
+     * Number of open connections on each worker reactor; empty in virtual thread mode.
+     */
+    public List<Integer> getConnectionsPerReactor() {
+        return workers.stream().map(Reactor::getConnectionCount).toList();
     }
 
-    private void closeClient(SelectionKey key) {
-        ClientHandler handler = (ClientHandler) key.attachment();
-        if (handler != null) {
-            handler.close();
+    /**
+     * Number of open connections, in either I/O mode.
+     */
+    public int getConnectionCount() {
+        VirtualThreadAcceptor current = virtualAcceptor;
+        if (current != null) {
+            return current.getConnectionCount();
         }
-        key.cancel();
+        return workers.stream().mapToInt(Reactor::getConnectionCount).sum();
     }
 
-    public Selector getSelector() {
-        return selector;
+    public ServerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Evaluator used for games created on this server.
+     */
+    public HandEvaluator getHandEvaluator() {
+        return handEvaluator;
+    }
+
+    /**
+     * Executor running each game's logic on its own serial mailbox.
+     */
+    public TableDispatcher getTableDispatcher() {
+        return tableDispatcher;
+    }
+
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Timer shared by turn clocks and idle connection checks.
+     */
+    HashedWheelTimer getTimer() {
+        return timer;
+    }
+
+    TurnClock getTurnClock() {
+        return turnClock;
+    }
+
+    TableReaper getTableReaper() {
+        return tableReaper;
+    }
+
+    /**
+     * Games on this server, with their live, idle and reclaimed counts.
+     */
+    public GameManager getGameManager() {
+        return gameManager;
+    }
+
+    public Duration getHintBudget() {
+        return config.getHintBudget();
+    }
+
+    /**
+     * Runs draw hints; rejects them with a {@link java.util.concurrent.RejectedExecutionException}
+     * when every hint thread is busy and the wait queue is full.
+     */
+    ExecutorService getHintExecutor() {
+        return hintExecutor;
     }
 
     public void stop() {
         running = false;
         
         try {
-            if (selector != null && selector.isOpen()) {
-                selector.wakeup();
-                selector.close();
+            if (virtualAcceptor != null) {
+                virtualAcceptor.stop();
+            }
+            for (Reactor worker : workers) {
+                if (worker != acceptor) {
+                    worker.stop();
+                }
+            }
+            if (acceptor != null) {
+                acceptor.stop();
             }
             if (serverChannel != null && serverChannel.isOpen()) {
                 serverChannel.close();
@@ -148,14 +311,26 @@ public class PokerServer {
         } catch (IOException e) {
             log.error("Error stopping server", e);
         }
+        timer.stop();
+        tableDispatcher.shutdown();
+        // Nobody is left to read a hint
+        hintExecutor.shutdownNow();
         
-        log.info("NIO Poker server stopped");
+        log.info("NIO Poker server stopped ({})", metrics);
     }
 
     public static void main(String[] args) {
         int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ServerConfig.ServerConfigBuilder config = ServerConfig.builder().port(port);
+        if (args.length > 1) {
+            if (args[1].equalsIgnoreCase("virtual")) {
+                config.ioMode(IoMode.VIRTUAL_THREADS);
+            } else {
+                config.reactorCount(Integer.parseInt(args[1]));
+            }
+        }
         
-        PokerServer server = new PokerServer(port);
+        PokerServer server = new PokerServer(config.build());
         
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             log.info("Shutdown signal received");
@@ -0,0 +1,204 @@
+package poker.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One selector and the thread that runs its event loop.
+ * <p>
+ * Client channels are handed over from the acceptor through a queue and registered by
+ * the reactor's own thread; from then on every read and write of that client runs on
+ * this reactor. A reactor can also own the server channel, in which case acceptable
+ * keys are passed back to the {@link PokerServer}.
+ */
+@Slf4j
+class Reactor implements IoLoop, Runnable {
+    private final String name;
+    private final PokerServer server;
+    private final Selector selector;
+    private final Queue<ClientHandler> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<ClientHandler> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /** Set once a wakeup has been issued for the current select; later requests ride along */
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private volatile Thread thread;
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean running = true;
+
+    Reactor(String name, PokerServer server) throws IOException {
+        this.name = name;
+        this.server = server;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Queues a client for registration with this reactor. Safe to call from any thread.
+     */
+    void register(ClientHandler handler) {
+        handler.bind(this);
+        connections.incrementAndGet();
+        pending.offer(handler);
+        selector.wakeup();
+    }
+
+    /**
+     * Arms the handler's write interest. Calls from other threads arriving during the
+     * same select share a single wakeup.
+     */
+    @Override
+    public void requestWrite(ClientHandler handler) {
+        if (Thread.currentThread() == thread) {
+            handler.enableWrite();
+            return;
+        }
+        pendingWrites.offer(handler);
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Runs a task on this reactor's thread, right away if called from it. Used for work
+     * that touches a handler's I/O state, such as closing it from a table thread.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (Thread.currentThread() == thread) {
+            task.run();
+            return;
+        }
+        tasks.offer(task);
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        log.debug("Reactor {} started", name);
+        while (running) {
+            try {
+                selector.select();
+                wakeupPending.set(false);
+                registerPending();
+                enablePendingWrites();
+                runTasks();
+
+                Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+                while (keyIterator.hasNext()) {
+                    SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+
+                    try {
+                        if (key.isAcceptable()) {
+                            server.handleAccept(key);
+                            continue;
+                        }
+                        ClientHandler handler = (ClientHandler) key.attachment();
+                        if (key.isReadable()) {
+                            handler.handleRead(key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            handler.handleWrite(key);
+                        }
+                    } catch (IOException e) {
+                        log.error("Error handling key", e);
+                        if (key.attachment() instanceof ClientHandler) {
+                            closeClient(key);
+                        }
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException e) {
+                if (running) {
+                    log.error("Error in selector loop", e);
+                }
+            }
+        }
+        log.debug("Reactor {} stopped", name);
+    }
+
+    private void registerPending() {
+        ClientHandler handler;
+        while ((handler = pending.poll()) != null) {
+            SocketChannel channel = handler.getChannel();
+            try {
+                handler.attach(channel.register(selector, SelectionKey.OP_READ, handler));
+            } catch (IOException e) {
+                log.error("Error registering client", e);
+                handler.close();
+            }
+        }
+    }
+
+    private void enablePendingWrites() {
+        ClientHandler handler;
+        while ((handler = pendingWrites.poll()) != null) {
+            handler.enableWrite();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Error running reactor task", e);
+            }
+        }
+    }
+
+    private void closeClient(SelectionKey key) {
+        ClientHandler handler = (ClientHandler) key.attachment();
+        if (handler != null) {
+            handler.close();
+        }
+        key.cancel();
+    }
+
+    @Override
+    public void unregistered() {
+        connections.decrementAndGet();
+    }
+
+    void stop() {
+        running = false;
+        try {
+            if (selector.isOpen()) {
+                selector.wakeup();
+                selector.close();
+            }
+        } catch (IOException e) {
+            log.error("Error closing reactor {}", name, e);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Selector getSelector() {
+        return selector;
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+}
@@ -0,0 +1,120 @@
+package poker.server;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Configuration for a poker server.
+ */
+@Getter
+@Builder
+public class ServerConfig {
+    static final int MIN_QUEUED_MESSAGES = 16;
+    static final long MIN_QUEUED_BYTES = 16 * 1024;
+
+    /** Port to listen on; 0 picks a free port */
+    @Builder.Default
+    private final int port = 7777;
+
+    @Builder.Default
+    private final IoMode ioMode = IoMode.REACTOR;
+
+    /**
+     * Number of selector threads serving client connections in {@link IoMode#REACTOR} mode.
+     * With 1, accepting and all client I/O run on the thread calling {@link PokerServer#start()};
+     * with more, that thread only accepts and hands connections to the worker reactors.
+     */
+    @Builder.Default
+    private final int reactorCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Platform threads running game logic, or 0 to run each table's mailbox on virtual threads.
+     * Either way a table's messages are handled one at a time, in arrival order.
+     */
+    @Builder.Default
+    private final int tableThreads = 0;
+
+    /** Shards of the table registry, rounded up to a power of two; see {@link GameManager} */
+    @Builder.Default
+    private final int shardCount = Runtime.getRuntime().availableProcessors();
+
+    /** Most messages queued for one client before its slow-consumer policy applies */
+    @Builder.Default
+    private final int maxQueuedMessages = 4096;
+
+    /** Most bytes queued for one client before its slow-consumer policy applies */
+    @Builder.Default
+    private final long maxQueuedBytes = 1024 * 1024;
+
+    @Builder.Default
+    private final SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DISCONNECT;
+
+    /** Time a player has to act before the server checks, or folds, for them; zero disables */
+    @Builder.Default
+    private final Duration turnTimeout = Duration.ofSeconds(30);
+
+    /** Time a connection may go without sending anything before it is closed; zero disables */
+    @Builder.Default
+    private final Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Time a table may stay empty and idle before it is removed; zero keeps tables forever */
+    @Builder.Default
+    private final Duration tableTimeout = Duration.ofMinutes(5);
+
+    /** Time the server may spend computing a draw hint */
+    @Builder.Default
+    private final Duration hintBudget = Duration.ofMillis(50);
+
+    /**
+     * Platform threads computing draw hints. As many more hints may wait for a thread;
+     * past that a HINT is refused as busy. Kept off the carrier threads that run virtual
+     * table mailboxes and connections, so sampling never stalls game logic or I/O.
+     */
+    @Builder.Default
+    private final int hintThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    public void validate() {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Port must be between 0 and 65535");
+        }
+        if (reactorCount < 1) {
+            throw new IllegalArgumentException("Reactor count must be at least 1");
+        }
+        if (tableThreads < 0) {
+            throw new IllegalArgumentException("Table thread count cannot be negative");
+        }
+        if (shardCount < 1 || shardCount > 1 << 16) {
+            throw new IllegalArgumentException("Shard count must be between 1 and 65536");
+        }
+        if (ioMode == null) {
+            throw new IllegalArgumentException("I/O mode is required");
+        }
+        // A collapsed queue must have room for the table snapshot that replaces it
+        if (maxQueuedMessages < MIN_QUEUED_MESSAGES) {
+            throw new IllegalArgumentException("Queue limit must be at least " + MIN_QUEUED_MESSAGES + " messages");
+        }
+        if (maxQueuedBytes < MIN_QUEUED_BYTES) {
+            throw new IllegalArgumentException("Queue limit must be at least " + MIN_QUEUED_BYTES + " bytes");
+        }
+        if (slowConsumerPolicy == null) {
+            throw new IllegalArgumentException("Slow consumer policy is required");
+        }
+        if (turnTimeout == null || turnTimeout.isNegative()) {
+            throw new IllegalArgumentException("Turn timeout cannot be negative");
+        }
+        if (idleTimeout == null || idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("Idle timeout cannot be negative");
+        }
+        if (tableTimeout == null || tableTimeout.isNegative()) {
+            throw new IllegalArgumentException("Table timeout cannot be negative");
+        }
+        if (hintBudget == null || hintBudget.isNegative() || hintBudget.isZero()) {
+            throw new IllegalArgumentException("Hint budget must be positive");
+        }
+        if (hintThreads < 1) {
+            throw new IllegalArgumentException("Hint thread count must be at least 1");
+        }
+    }
+}
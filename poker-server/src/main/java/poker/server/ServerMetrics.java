@@ -0,0 +1,158 @@
+package poker.server;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the server's outbound path, updated concurrently by all reactors.
+ */
+public class ServerMetrics {
+    private final LongAdder writeCalls = new LongAdder();
+    private final LongAdder messagesWritten = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder queuedMessages = new LongAdder();
+    private final LongAdder queuedBytes = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder collapses = new LongAdder();
+    private final LongAdder messagesDropped = new LongAdder();
+    private final LongAdder turnTimeouts = new LongAdder();
+    private final LongAdder idleDisconnects = new LongAdder();
+
+    /**
+     * Records one write system call.
+     * @param bytes Bytes the call accepted
+     * @param messages Messages it completed
+     */
+    void recordWrite(long bytes, int messages) {
+        writeCalls.increment();
+        bytesWritten.add(bytes);
+        messagesWritten.add(messages);
+    }
+
+    /**
+     * Records a message added to a client's queue.
+     * @param depth The client's queue length including it
+     */
+    void recordQueued(long bytes, int depth) {
+        queuedMessages.increment();
+        queuedBytes.add(bytes);
+        maxQueueDepth.accumulate(depth);
+    }
+
+    /**
+     * Records messages leaving client queues, written or dropped.
+     */
+    void recordDequeued(long bytes, int messages) {
+        queuedMessages.add(-messages);
+        queuedBytes.add(-bytes);
+    }
+
+    /**
+     * Records messages discarded instead of written.
+     */
+    void recordDropped(int messages) {
+        messagesDropped.add(messages);
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    void recordCollapse() {
+        collapses.increment();
+    }
+
+    void recordTurnTimeout() {
+        turnTimeouts.increment();
+    }
+
+    void recordIdleDisconnect() {
+        idleDisconnects.increment();
+    }
+
+    public long getWriteCalls() {
+        return writeCalls.sum();
+    }
+
+    public long getMessagesWritten() {
+        return messagesWritten.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Messages currently queued for all clients.
+     */
+    public long getQueuedMessages() {
+        return queuedMessages.sum();
+    }
+
+    /**
+     * Bytes currently queued for all clients, not counting those already written.
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.sum();
+    }
+
+    /**
+     * Longest queue any one client has had.
+     */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Clients disconnected for exceeding their queue limits.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Queues collapsed into a table snapshot for exceeding their limits.
+     */
+    public long getCollapses() {
+        return collapses.sum();
+    }
+
+    /**
+     * Messages discarded by evictions and collapses, or sent to a closed connection.
+     */
+    public long getMessagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    /**
+     * Turns the server took for a player who did not act in time.
+     */
+    public long getTurnTimeouts() {
+        return turnTimeouts.sum();
+    }
+
+    /**
+     * Connections closed for sending nothing within the idle timeout.
+     */
+    public long getIdleDisconnects() {
+        return idleDisconnects.sum();
+    }
+
+    /**
+     * Write system calls per completed outbound message; below 1 when writes are batched.
+     */
+    public double getWriteCallsPerMessage() {
+        long messages = getMessagesWritten();
+        return messages == 0 ? 0 : (double) getWriteCalls() / messages;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("writes=%d messages=%d bytes=%d writes/message=%.3f queued=%d maxDepth=%d "
+                + "evictions=%d collapses=%d dropped=%d turnTimeouts=%d idleDisconnects=%d",
+            getWriteCalls(), getMessagesWritten(), getBytesWritten(), getWriteCallsPerMessage(),
+            getQueuedMessages(), getMaxQueueDepth(), getEvictions(), getCollapses(), getMessagesDropped(),
+            getTurnTimeouts(), getIdleDisconnects());
+    }
+}
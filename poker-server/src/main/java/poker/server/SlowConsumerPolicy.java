@@ -0,0 +1,14 @@
+package poker.server;
+
+/**
+ * What the server does when a client's outbound queue exceeds its limits.
+ */
+public enum SlowConsumerPolicy {
+    /** Drop the queued messages and close the connection */
+    DISCONNECT,
+    /**
+     * Drop the queued messages, then send the client a snapshot of its table once it has
+     * caught up with what was already on its way
+     */
+    COLLAPSE
+}
@@ -0,0 +1,207 @@
+package poker.server;
+
+import lombok.extern.slf4j.Slf4j;
+import poker.model.game.GameId;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Runs game logic off the I/O threads with one serial mailbox per table.
+ * <p>
+ * Tasks submitted for the same {@link GameId} run one at a time in submission order,
+ * never concurrently, so a {@link poker.model.game.PokerGame} is only ever touched by
+ * one thread at a time and needs no locking. Different tables run in parallel on the
+ * backing executor: virtual threads by default, or a fixed pool.
+ * <p>
+ * Mailboxes are only created for tables that exist. Tasks for an unknown or removed
+ * table, such as a late turn clock or a message for a reclaimed game, all share one
+ * serial mailbox that is never keyed by table, so they cannot bring a mailbox back.
+ */
+@Slf4j
+public class TableDispatcher {
+    /** Tasks run per mailbox activation before yielding the carrier thread to other tables */
+    private static final int BATCH_SIZE = 64;
+
+    private final ExecutorService executor;
+    private final Map<GameId, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final Predicate<GameId> tableExists;
+    /** Runs the tasks of tables that do not exist */
+    private final Mailbox orphans = new Mailbox();
+
+    /**
+     * Creates a dispatcher that treats every table as existing.
+     * @param threads Size of the fixed pool running the mailboxes, or 0 to run each
+     *                mailbox activation on a virtual thread
+     */
+    public TableDispatcher(int threads) {
+        this(threads, table -> true);
+    }
+
+    /**
+     * @param threads Size of the fixed pool running the mailboxes, or 0 to run each
+     *                mailbox activation on a virtual thread
+     * @param tableExists Whether a table without a mailbox may be given one
+     */
+    public TableDispatcher(int threads, Predicate<GameId> tableExists) {
+        this.tableExists = tableExists;
+        if (threads < 0) {
+            throw new IllegalArgumentException("Thread count cannot be negative");
+        }
+        this.executor = threads == 0
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("table-", 0).factory())
+            : Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("table-", 0).factory());
+    }
+
+    /**
+     * Queues a task on a table's mailbox. Safe to call from any thread.
+     */
+    public void execute(GameId gameId, Runnable task) {
+        Mailbox mailbox = mailboxes.get(gameId);
+        if (mailbox == null) {
+            mailbox = tableExists.test(gameId)
+                ? mailboxes.computeIfAbsent(gameId, id -> new Mailbox())
+                : orphans;
+        }
+        mailbox.submit(task);
+    }
+
+    /**
+     * Forgets a table's mailbox. Tasks already queued still run; later tasks only get a
+     * new mailbox if the table still exists.
+     */
+    public void remove(GameId gameId) {
+        mailboxes.remove(gameId);
+    }
+
+    public int getTableCount() {
+        return mailboxes.size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates the ordering state for one connection.
+     */
+    public Route newRoute() {
+        return new Route();
+    }
+
+    /**
+     * Serial queue of one table's tasks. At most one activation is scheduled at a time;
+     * the scheduled flag hands the queue from one executor thread to the next.
+     */
+    private final class Mailbox implements Runnable {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            tasks.offer(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    log.warn("Table task rejected", e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task;
+                for (int i = 0; i < BATCH_SIZE && (task = tasks.poll()) != null; i++) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.error("Error in table task", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps one connection's messages in order while it moves between tables.
+     * <p>
+     * Consecutive tasks for the same table are queued straight behind each other in its
+     * mailbox. A task for a different table is only queued once the connection's previous
+     * task has finished, so work sent to the new table can never overtake work still
+     * pending on the old one. Only the connection's I/O thread calls {@link #submit}.
+     */
+    public final class Route {
+        private GameId current;
+        private CompletableFuture<Void> lastQueued = CompletableFuture.completedFuture(null);
+        private CompletableFuture<Void> lastDone = CompletableFuture.completedFuture(null);
+
+        private Route() {
+        }
+
+        /**
+         * Runs a task on the given table after everything this connection submitted before.
+         */
+        public void submit(GameId table, Runnable task) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            Runnable tracked = () -> {
+                try {
+                    task.run();
+                } finally {
+                    done.complete(null);
+                }
+            };
+
+            // Both futures are usually complete already, in which case this queues immediately
+            CompletableFuture<Void> predecessor = table.equals(current) ? lastQueued : lastDone;
+            lastQueued = predecessor.thenRun(() -> execute(table, tracked));
+            lastDone = done;
+            current = table;
+        }
+
+        /**
+         * Runs a task after everything this connection submitted before: on the current
+         * table, or immediately if the connection has never addressed one.
+         */
+        public void submit(Runnable task) {
+            if (current == null) {
+                task.run();
+            } else {
+                submit(current, task);
+            }
+        }
+
+        /**
+         * Table the connection's messages are currently routed to, or null.
+         */
+        public GameId current() {
+            return current;
+        }
+    }
+}
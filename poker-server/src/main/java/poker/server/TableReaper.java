@@ -0,0 +1,91 @@
+package poker.server;
+
+import lombok.extern.slf4j.Slf4j;
+import poker.model.game.GameId;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes tables that have been empty and idle for the table timeout, along with
+ * everything the server keeps for them: the game, its connection set, its turn clock
+ * and its mailbox.
+ * <p>
+ * Each table has one pending check on the timer. The check runs on the table's executor,
+ * so it never overlaps a JOIN; a table still in use is checked again once it could next
+ * have been idle for the full timeout. Tasks that reach a reclaimed table's id later find
+ * no game and fail as they would for any unknown id.
+ */
+@Slf4j
+class TableReaper {
+    private final HashedWheelTimer timer;
+    private final TableDispatcher tableDispatcher;
+    private final GameManager gameManager;
+    private final Map<GameId, Set<ClientHandler>> gameClients;
+    private final TurnClock turnClock;
+    private final Duration timeout;
+
+    /**
+     * @param timeout Time a table must be empty and idle before it is removed, or zero
+     *                to keep tables forever
+     */
+    TableReaper(
+            HashedWheelTimer timer,
+            TableDispatcher tableDispatcher,
+            GameManager gameManager,
+            Map<GameId, Set<ClientHandler>> gameClients,
+            TurnClock turnClock,
+            Duration timeout) {
+        this.timer = timer;
+        this.tableDispatcher = tableDispatcher;
+        this.gameManager = gameManager;
+        this.gameClients = gameClients;
+        this.turnClock = turnClock;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Starts checking a newly created table.
+     */
+    void watch(GameId table) {
+        if (!timeout.isZero()) {
+            schedule(table, timeout.toNanos());
+        }
+    }
+
+    private void schedule(GameId table, long delayNanos) {
+        timer.schedule(expired -> tableDispatcher.execute(table, () -> check(table)),
+            delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reclaims the table if it is empty and idle, otherwise checks again later.
+     * Runs on the table's executor.
+     */
+    private void check(GameId table) {
+        long idle = gameManager.getIdleNanos(table);
+        if (idle < 0) {
+            // Removed some other way
+            return;
+        }
+        long timeoutNanos = timeout.toNanos();
+        if (idle < timeoutNanos) {
+            schedule(table, timeoutNanos - idle);
+            return;
+        }
+        Set<ClientHandler> clients = gameClients.get(table);
+        if ((clients != null && !clients.isEmpty()) || !gameManager.reclaimIfIdle(table, timeout)) {
+            // Idle but occupied
+            schedule(table, timeoutNanos);
+            return;
+        }
+        if (clients != null) {
+            gameClients.remove(table, clients);
+        }
+        turnClock.stop(table);
+        tableDispatcher.remove(table);
+        log.info("Table reclaimed: {}", table.getId());
+    }
+}
@@ -0,0 +1,69 @@
+package poker.server;
+
+import poker.model.game.GameId;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Action deadline of each table's current turn.
+ * <p>
+ * Each table has at most one running clock; starting a new one for the next turn
+ * cancels the previous. The expiry handler runs on the table's executor, and only if the
+ * clock is still the table's current one, so a turn taken just before the deadline is
+ * never acted on twice.
+ */
+class TurnClock {
+    private final HashedWheelTimer timer;
+    private final TableDispatcher tableDispatcher;
+    private final Duration timeout;
+    private final Map<GameId, HashedWheelTimer.Timeout> deadlines = new ConcurrentHashMap<>();
+
+    /**
+     * @param timeout Time a player has to act, or zero to never time out
+     */
+    TurnClock(HashedWheelTimer timer, TableDispatcher tableDispatcher, Duration timeout) {
+        this.timer = timer;
+        this.tableDispatcher = tableDispatcher;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Starts the table's clock for the turn just announced. Called on the table's executor.
+     */
+    void start(GameId table, Runnable onExpiry) {
+        if (timeout.isZero()) {
+            return;
+        }
+        HashedWheelTimer.Timeout deadline = timer.schedule(
+            expired -> tableDispatcher.execute(table, () -> {
+                if (deadlines.remove(table, expired)) {
+                    onExpiry.run();
+                }
+            }),
+            timeout.toNanos(), TimeUnit.NANOSECONDS);
+        HashedWheelTimer.Timeout previous = deadlines.put(table, deadline);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Stops the table's clock, if running, when nobody is to act.
+     */
+    void stop(GameId table) {
+        HashedWheelTimer.Timeout previous = deadlines.remove(table);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Number of tables with a running clock.
+     */
+    int getRunningCount() {
+        return deadlines.size();
+    }
+}
@@ -0,0 +1,169 @@
+package poker.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accept loop of {@link IoMode#VIRTUAL_THREADS} mode.
+ * <p>
+ * Each accepted channel stays in blocking mode and gets a virtual thread that reads it in
+ * a loop, handing complete messages to its {@link ClientHandler} exactly as a reactor
+ * would. Writes run on a second virtual thread started only while the connection has
+ * queued messages, so an idle connection costs one parked thread.
+ */
+@Slf4j
+class VirtualThreadAcceptor implements Runnable {
+    private final ServerSocketChannel serverChannel;
+    private final PokerServer server;
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("poker-writer-", 0).factory());
+    private final Thread.Builder readers = Thread.ofVirtual().name("poker-reader-", 0);
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    /**
+     * @param serverChannel Bound channel in blocking mode
+     */
+    VirtualThreadAcceptor(ServerSocketChannel serverChannel, PokerServer server) {
+        this.serverChannel = serverChannel;
+        this.server = server;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                SocketAddress remoteAddress = channel.getRemoteAddress();
+                Connection connection = new Connection(server.newClientHandler(channel));
+                connections.add(connection);
+                readers.start(connection::read);
+                log.info("Accepted connection from {}", remoteAddress);
+            } catch (AsynchronousCloseException e) {
+                break;
+            } catch (IOException e) {
+                if (running) {
+                    log.error("Error accepting connection", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting and closes every open connection, which ends its reader.
+     */
+    void stop() {
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            log.error("Error closing server channel", e);
+        }
+        for (Connection connection : connections) {
+            connection.handler.close();
+        }
+        writers.shutdown();
+    }
+
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * One client's threads. Write requests and tasks share a serial queue, drained by at
+     * most one writer thread at a time, like a table's mailbox.
+     */
+    private final class Connection implements IoLoop {
+        private final ClientHandler handler;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Runnable write;
+
+        Connection(ClientHandler handler) {
+            this.handler = handler;
+            this.write = () -> {
+                try {
+                    handler.writeBlocking();
+                } catch (IOException e) {
+                    log.debug("Write failed, closing connection", e);
+                    handler.close();
+                }
+            };
+            handler.bind(this);
+        }
+
+        /**
+         * Blocking read loop, run on the connection's reader thread until it closes.
+         */
+        void read() {
+            try {
+                while (handler.getChannel().isOpen()) {
+                    handler.handleRead();
+                }
+            } catch (IOException e) {
+                if (handler.getChannel().isOpen()) {
+                    log.debug("Read failed, closing connection", e);
+                }
+            } finally {
+                handler.close();
+            }
+        }
+
+        @Override
+        public void requestWrite(ClientHandler handler) {
+            execute(write);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.offer(task);
+            schedule();
+        }
+
+        @Override
+        public void unregistered() {
+            connections.remove(this);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // Shutting down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.error("Error in connection task", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
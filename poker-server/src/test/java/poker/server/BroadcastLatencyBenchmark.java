@@ -0,0 +1,228 @@
+package poker.server;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import poker.model.protocol.ClientMessage;
+import poker.model.protocol.Message;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of table broadcasts while many other clients are connected.
+ * <p>
+ * Each table has three seated observers and one player who keeps leaving and rejoining;
+ * every move broadcasts a LOBBY update, timed until all observers have read it. The
+ * remaining connections are idle but registered with the server's selectors.
+ * Run with: mvn test -Pbenchmark -pl poker-server -am [-Dbenchmark.clients=10000]
+ */
+@Tag("benchmark")
+class BroadcastLatencyBenchmark {
+    /** Total connections; each costs two file descriptors in this JVM */
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 10_000);
+    private static final int TABLES = 100;
+    private static final int OBSERVERS = 3;
+    private static final int ROUNDS = 50;
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // Per-message debug logging would dominate the measurement
+        Logger logger = (Logger) LoggerFactory.getLogger("poker");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("poker")).setLevel(previousLevel);
+    }
+
+    @Test
+    void testBroadcastLatencyWithManyClients() throws Exception {
+        PokerServer server = new PokerServer(ServerConfig.builder().port(0).build());
+        Thread serverThread = Thread.ofPlatform().name("benchmark-server").start(() -> {
+            try {
+                server.start();
+            } catch (IOException e) {
+                // Stopped
+            }
+        });
+        List<Connection> connections = new ArrayList<>();
+        try {
+            int port = awaitPort(server);
+
+            List<Table> tables = new ArrayList<>();
+            for (int i = 0; i < TABLES; i++) {
+                tables.add(Table.open(port, connections));
+            }
+            int idle = CLIENTS - TABLES * (OBSERVERS + 1);
+            openIdle(port, idle, connections);
+
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            List<Thread> threads = new ArrayList<>();
+            for (Table table : tables) {
+                threads.add(Thread.ofVirtual().start(() -> table.run(latencies)));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            assertEquals((long) TABLES * ROUNDS, sorted.length);
+            System.out.printf("%n%d connections (%d idle), %d tables x %d broadcasts%n",
+                connections.size(), idle, TABLES, ROUNDS);
+            System.out.printf("broadcast latency us: mean=%,.0f p50=%,d p99=%,d max=%,d%n",
+                Arrays.stream(sorted).average().orElse(0) / 1_000,
+                sorted[sorted.length / 2] / 1_000,
+                sorted[(int) (sorted.length * 0.99)] / 1_000,
+                sorted[sorted.length - 1] / 1_000);
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+            server.stop();
+            serverThread.join(5000);
+        }
+    }
+
+    private static int awaitPort(PokerServer server) throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            int port = server.getLocalPort();
+            if (port > 0) {
+                return port;
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Server did not start");
+    }
+
+    /**
+     * Opens idle connections; each does one HELLO round trip so it is registered before measuring.
+     */
+    private static void openIdle(int port, int count, List<Connection> connections) throws InterruptedException {
+        ConcurrentLinkedQueue<Connection> opened = new ConcurrentLinkedQueue<>();
+        for (int batch = 0; batch < count; batch += 500) {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = batch; i < Math.min(count, batch + 500); i++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        Connection connection = new Connection(port);
+                        opened.add(connection);
+                        connection.send(ClientMessage.hello("1.0"));
+                        connection.await("OK");
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        connections.addAll(opened);
+        assertEquals(count, opened.size());
+    }
+
+    private record Table(String gameId, Connection mover, List<Connection> observers) {
+
+        static Table open(int port, List<Connection> connections) throws IOException {
+            Connection mover = new Connection(port);
+            connections.add(mover);
+            mover.send(ClientMessage.create(10, 20));
+            String created = Message.parse(mover.await("OK")).getParams().get("MESSAGE");
+            String gameId = created.substring(created.lastIndexOf(' ') + 1);
+
+            List<Connection> observers = new ArrayList<>();
+            for (int i = 0; i < OBSERVERS; i++) {
+                Connection observer = new Connection(port);
+                connections.add(observer);
+                observer.send(ClientMessage.join(gameId, "observer" + i));
+                observer.await("WELCOME");
+                observers.add(observer);
+            }
+            mover.send(ClientMessage.join(gameId, "mover"));
+            mover.await("LOBBY");
+            // Observer i has been sent a lobby update for its own join and every later one
+            for (int i = 0; i < OBSERVERS; i++) {
+                for (int update = i; update <= OBSERVERS; update++) {
+                    observers.get(i).await("LOBBY");
+                }
+            }
+            return new Table(gameId, mover, observers);
+        }
+
+        void run(ConcurrentLinkedQueue<Long> latencies) {
+            try {
+                for (int round = 0; round < ROUNDS; round++) {
+                    boolean leaving = round % 2 == 0;
+                    long start = System.nanoTime();
+                    mover.send(leaving ? ClientMessage.leave(gameId, null) : ClientMessage.join(gameId, "mover"));
+                    for (Connection observer : observers) {
+                        observer.await("LOBBY");
+                    }
+                    latencies.add(System.nanoTime() - start);
+                    mover.await(leaving ? "OK" : "LOBBY");
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Connection implements Closeable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final BufferedReader in;
+
+        Connection(int port) throws IOException {
+            socket = new Socket("localhost", port);
+            out = socket.getOutputStream();
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        void send(ClientMessage message) throws IOException {
+            out.write((message.toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        /**
+         * Reads lines until one with the given action arrives.
+         */
+        String await(String action) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (action.equals(Message.parse(line).getAction())) {
+                    return line;
+                }
+            }
+            throw new IOException("Connection closed while waiting for " + action);
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.AfterEach;
 import poker.model.game.GameConfig;
 import poker.model.game.GameId;
 import poker.model.players.PlayerId;
+import poker.model.protocol.BinaryCodec;
+import poker.model.protocol.ClientMessage;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -430,6 +432,65 @@ class ClientHandlerTest {
         assertTrue(true);
     }
 
+    @Test
+    void testAttachArmsWriteForQueuedMessages() throws Exception {
+        SelectionKey key = serverSideChannel.keyFor(selector);
+        clientHandler.send("MESSAGE 1");
+
+        clientHandler.attach(key);
+        assertEquals(SelectionKey.OP_READ | SelectionKey.OP_WRITE, key.interestOps());
+
+        clientHandler.handleWrite(key);
+        assertEquals(SelectionKey.OP_READ, key.interestOps());
+    }
+
+    @Test
+    void testSharedBufferIsWrittenPerRecipient() throws Exception {
+        ByteBuffer encoded = ClientHandler.encode("- - ACTION TYPE=CHECK");
+        clientHandler.send(encoded);
+        clientHandler.send(encoded);
+
+        clientHandler.handleWrite(serverSideChannel.keyFor(selector));
+
+        assertEquals(22, encoded.remaining());
+        assertTrue(encoded.isReadOnly());
+        Thread.sleep(50);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        clientChannel.read(buffer);
+        buffer.flip();
+        assertEquals("- - ACTION TYPE=CHECK\n- - ACTION TYPE=CHECK\n", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    void testQueuedMessagesAreWrittenInOneCall() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            clientHandler.send("- - ACTION TYPE=CHECK");
+        }
+
+        clientHandler.handleWrite(serverSideChannel.keyFor(selector));
+
+        ServerMetrics metrics = server.getMetrics();
+        assertEquals(1, metrics.getWriteCalls());
+        assertEquals(5, metrics.getMessagesWritten());
+        assertEquals(5 * 22, metrics.getBytesWritten());
+        assertEquals(0.2, metrics.getWriteCallsPerMessage(), 1e-9);
+    }
+
+    @Test
+    void testFlushIsCappedPerWritableEvent() throws Exception {
+        String line = "- - ACTION TYPE=" + "X".repeat(1000);
+        for (int i = 0; i < 100; i++) {
+            clientHandler.send(line);
+        }
+        SelectionKey key = serverSideChannel.keyFor(selector);
+
+        clientHandler.handleWrite(key);
+
+        long written = server.getMetrics().getBytesWritten();
+        assertTrue(written > 0 && written <= 64 * 1024, "Wrote " + written);
+        assertTrue(server.getMetrics().getMessagesWritten() < 100);
+    }
+
     @Test
     void testEmptyMessageHandling() throws Exception {
         sendMessage("\n\n\n");
@@ -666,6 +727,152 @@ class ClientHandlerTest {
         assertDoesNotThrow(() -> clientHandler.send("TEST"));
     }
 
+    @Test
+    void testStatusRepliesWithTableState() throws Exception {
+        GameId gameId = gameManager.createGame(GameConfig.builder().ante(10).fixedBet(20).build());
+        SelectionKey key = serverSideChannel.keyFor(selector);
+        sendMessage("- - JOIN GAME=" + gameId.getId() + " NAME=Alice\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(key);
+        awaitReply("LOBBY");
+
+        sendMessage(gameId.getId() + " - STATUS\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(key);
+
+        String reply = awaitReply("ROUND");
+        assertTrue(reply.contains(gameId.getId() + " - LOBBY PLAYERS=Alice\n"), reply);
+        assertTrue(reply.contains(gameId.getId() + " - ROUND POT=0 HIGHESTBET=0\n"), reply);
+    }
+
+    @Test
+    void testStatusWhenNotInGame() throws Exception {
+        sendMessage("- - STATUS\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(serverSideChannel.keyFor(selector));
+
+        assertTrue(awaitReply("ERR").contains("CODE=NOT_IN_GAME"));
+    }
+
+    @Test
+    void testQuitLeavesGameAndClosesAfterReply() throws Exception {
+        GameId gameId = gameManager.createGame(GameConfig.builder().ante(10).fixedBet(20).build());
+        SelectionKey key = serverSideChannel.keyFor(selector);
+        sendMessage("- - JOIN GAME=" + gameId.getId() + " NAME=Alice\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(key);
+        awaitReply("LOBBY");
+
+        sendMessage(gameId.getId() + " - QUIT\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(key);
+
+        assertTrue(awaitReply("Goodbye").contains("- - OK MESSAGE=Goodbye\n"));
+        assertEquals(0, gameManager.getGame(gameId).getPlayerCount());
+        assertFalse(serverSideChannel.isOpen());
+    }
+
+    @Test
+    void testBadBetAmountReportsSeatCheckFirst() throws Exception {
+        sendMessage("- - BET AMOUNT=lots\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(serverSideChannel.keyFor(selector));
+
+        assertTrue(awaitReply("ERR").contains("CODE=NOT_IN_GAME"));
+    }
+
+    @Test
+    void testHelloSwitchesToBinaryFrames() throws Exception {
+        // A binary STATUS pipelined right behind the HELLO line
+        byte[] hello = "- - HELLO VERSION=1.0 PROTO=BIN\n".getBytes(StandardCharsets.UTF_8);
+        byte[] status = BinaryCodec.encode(ClientMessage.status(null, null));
+        clientChannel.write(ByteBuffer.wrap(hello));
+        clientChannel.write(ByteBuffer.wrap(status));
+        Thread.sleep(50);
+        clientHandler.handleRead(serverSideChannel.keyFor(selector));
+
+        String reply = awaitReply("NOT_IN_GAME");
+        assertTrue(reply.startsWith("- - OK MESSAGE=Welcome to Poker Server PROTO=BIN\n"), reply);
+        // The error came back as a binary frame, so without the text form's key
+        assertFalse(reply.contains("CODE="), reply);
+    }
+
+    @Test
+    void testSlowConsumerIsDisconnectedOverLimit() {
+        PokerServer limited = new PokerServer(ServerConfig.builder()
+            .port(TEST_PORT)
+            .maxQueuedMessages(16)
+            .build());
+        clientHandler = new ClientHandler(serverSideChannel, gameManager, gameClients, limited);
+
+        // Never flushed, like a client that stopped reading
+        for (int i = 0; i < 20; i++) {
+            clientHandler.send("- - OK MESSAGE=filler\n");
+        }
+
+        ServerMetrics metrics = limited.getMetrics();
+        assertFalse(serverSideChannel.isOpen());
+        assertEquals(1, metrics.getEvictions());
+        assertEquals(20, metrics.getMessagesDropped());
+        assertEquals(0, metrics.getQueuedMessages());
+        assertEquals(0, metrics.getQueuedBytes());
+        assertEquals(17, metrics.getMaxQueueDepth());
+    }
+
+    @Test
+    void testCollapsedQueueIsReplacedByTableState() throws Exception {
+        PokerServer limited = new PokerServer(ServerConfig.builder()
+            .port(TEST_PORT)
+            .maxQueuedMessages(16)
+            .slowConsumerPolicy(SlowConsumerPolicy.COLLAPSE)
+            .build());
+        clientHandler = new ClientHandler(serverSideChannel, gameManager, gameClients, limited);
+        GameId gameId = gameManager.createGame(GameConfig.builder().ante(10).fixedBet(20).build());
+        sendMessage("- - JOIN GAME=" + gameId.getId() + " NAME=Alice\n");
+        Thread.sleep(50);
+        clientHandler.handleRead(serverSideChannel.keyFor(selector));
+        awaitReply("LOBBY");
+
+        for (int i = 0; i < 20; i++) {
+            clientHandler.send("- - OK MESSAGE=filler\n");
+        }
+        assertEquals(1, limited.getMetrics().getCollapses());
+        assertEquals(1, limited.getMetrics().getQueuedMessages());
+
+        String reply = awaitReply("ROUND");
+        assertTrue(reply.startsWith("- - OK MESSAGE=filler\n- - ERR CODE=MESSAGES_DROPPED"), reply);
+        assertTrue(reply.contains(gameId.getId() + " - LOBBY PLAYERS=Alice\n"), reply);
+        assertTrue(serverSideChannel.isOpen());
+
+        // The queue accepts messages again once the snapshot is queued
+        clientHandler.send("- - OK MESSAGE=after\n");
+        assertTrue(awaitReply("after").contains("MESSAGE=after"));
+    }
+
+    /**
+     * Flushes the handler's queue until the client has read a reply containing the text.
+     * Handlers run on table executors, so replies arrive asynchronously.
+     */
+    private String awaitReply(String expected) throws Exception {
+        SelectionKey key = serverSideChannel.keyFor(selector);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        StringBuilder received = new StringBuilder();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!received.toString().contains(expected) && System.currentTimeMillis() < deadline) {
+            if (serverSideChannel.isOpen()) {
+                clientHandler.handleWrite(key);
+            }
+            buffer.clear();
+            if (clientChannel.read(buffer) > 0) {
+                buffer.flip();
+                received.append(StandardCharsets.UTF_8.decode(buffer));
+            } else {
+                Thread.sleep(10);
+            }
+        }
+        return received.toString();
+    }
+
     private void sendMessage(String message) throws IOException {
         ByteBuffer buffer = ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8));
         clientChannel.write(buffer);
@@ -0,0 +1,68 @@
+package poker.server;
+
+import org.junit.jupiter.api.Test;
+import poker.model.protocol.Action;
+import poker.model.protocol.ParamKey;
+import poker.model.protocol.ParsedFrame;
+import poker.server.CommandTable.Routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandTableTest {
+
+    @Test
+    void testEntryDecodesAndHandles() {
+        CommandTable<List<Object>> table = new CommandTable<List<Object>>()
+            .register(Action.BET, Routing.TABLE,
+                frame -> new Command.Bet(frame.getInt(ParamKey.AMOUNT)), List::add);
+        CommandTable.Entry<List<Object>, ?> entry = table.get(Action.BET);
+
+        List<Object> handled = new ArrayList<>();
+        invoke(entry, handled, new ParsedFrame().parse("G P BET AMOUNT=40"));
+
+        assertEquals(Routing.TABLE, entry.routing());
+        assertEquals(List.of(new Command.Bet(40)), handled);
+        assertNull(entry.onError());
+    }
+
+    @Test
+    void testUnregisteredActionsHaveNoEntry() {
+        CommandTable<Object> table = new CommandTable<>()
+            .register(Action.FOLD, Routing.TABLE, (target, command) -> { });
+
+        assertNotNull(table.get(Action.FOLD));
+        assertNull(table.get(Action.CHECK));
+        assertNull(table.get(Action.LOBBY));
+        assertNull(table.get(null));
+    }
+
+    @Test
+    void testDuplicateRegistrationIsRejected() {
+        CommandTable<Object> table = new CommandTable<>()
+            .register(Action.FOLD, Routing.TABLE, (target, command) -> { });
+
+        assertThrows(IllegalArgumentException.class,
+            () -> table.register(Action.FOLD, Routing.CONNECTION, (target, command) -> { }));
+    }
+
+    @Test
+    void testDrawParsesIndices() {
+        assertEquals(List.of(0, 2, 4), Command.Draw.parse("0, 2,4").indices());
+        assertEquals(List.of(), Command.Draw.parse("none").indices());
+        assertEquals(List.of(), Command.Draw.parse(null).indices());
+        assertThrows(NumberFormatException.class, () -> Command.Draw.parse("0,x"));
+    }
+
+    @Test
+    void testJoinTableIsNullForBadId() {
+        assertNull(new Command.Join(null, "Alice").table());
+        assertNull(Command.EMPTY.table());
+    }
+
+    private static <T, C extends Command> void invoke(CommandTable.Entry<T, C> entry, T target, ParsedFrame frame) {
+        entry.handler().handle(target, entry.decoder().decode(frame));
+    }
+}
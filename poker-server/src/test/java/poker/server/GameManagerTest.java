@@ -5,6 +5,12 @@ import org.junit.jupiter.api.Test;
 import poker.model.game.GameConfig;
 import poker.model.game.GameId;
 import poker.model.game.PokerGame;
+import poker.model.players.PlayerId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -135,4 +141,91 @@ class GameManagerTest {
         assertEquals(gameId1, game1.getGameId());
         assertEquals(gameId2, game2.getGameId());
     }
+
+    @Test
+    void testIdleGameCount() throws InterruptedException {
+        GameId idle = gameManager.createGame(config);
+        Thread.sleep(50);
+        GameId active = gameManager.createGame(config);
+
+        assertEquals(1, gameManager.getIdleGameCount(Duration.ofMillis(40)));
+        assertTrue(gameManager.getIdleNanos(idle) >= Duration.ofMillis(50).toNanos());
+        assertEquals(-1, gameManager.getIdleNanos(GameId.generate()));
+
+        gameManager.getGame(idle);
+        assertEquals(0, gameManager.getIdleGameCount(Duration.ofMillis(40)));
+        assertEquals(2, gameManager.getIdleGameCount(Duration.ZERO));
+        assertNotNull(gameManager.getGame(active));
+    }
+
+    @Test
+    void testReclaimIfIdleRemovesOnlyEmptyIdleGames() throws InterruptedException {
+        GameId empty = gameManager.createGame(config);
+        GameId seated = gameManager.createGame(config);
+        gameManager.getGame(seated).addPlayer(PlayerId.generate(), "Alice");
+
+        assertFalse(gameManager.reclaimIfIdle(empty, Duration.ofMinutes(1)));
+        Thread.sleep(20);
+        assertTrue(gameManager.reclaimIfIdle(empty, Duration.ofMillis(10)));
+        assertFalse(gameManager.reclaimIfIdle(seated, Duration.ofMillis(10)));
+        assertFalse(gameManager.reclaimIfIdle(empty, Duration.ZERO));
+
+        assertEquals(1, gameManager.getGameCount());
+        assertEquals(1, gameManager.getReclaimedCount());
+        assertThrows(IllegalArgumentException.class, () -> gameManager.getGame(empty));
+    }
+
+    @Test
+    void testShardCountRoundsUpToPowerOfTwo() {
+        assertEquals(1, new GameManager(1).getShardCount());
+        assertEquals(8, new GameManager(5).getShardCount());
+        assertThrows(IllegalArgumentException.class, () -> new GameManager(0));
+    }
+
+    @Test
+    void testGamesAndClientSetsShareAShard() {
+        GameManager sharded = new GameManager(4);
+        List<GameId> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            GameId gameId = sharded.createGame(config);
+            ids.add(gameId);
+            sharded.getClientSets().computeIfAbsent(gameId, k -> ConcurrentHashMap.newKeySet());
+        }
+
+        List<GameManager.ShardStats> stats = sharded.getShardStats();
+        assertEquals(4, stats.size());
+        for (GameManager.ShardStats shard : stats) {
+            long owned = ids.stream().filter(id -> sharded.getShardIndex(id) == shard.index()).count();
+            assertEquals(owned, shard.tables());
+        }
+        assertEquals(100, stats.stream().mapToInt(GameManager.ShardStats::tables).sum());
+        assertEquals(100, sharded.getClientSets().size());
+        assertEquals(100, sharded.getClientSets().entrySet().stream().count());
+        assertTrue(sharded.getClientSets().containsKey(ids.get(0)));
+
+        assertTrue(sharded.getClientSets().remove(ids.get(0), sharded.getClientSets().get(ids.get(0))));
+        assertFalse(sharded.getClientSets().containsKey(ids.get(0)));
+        assertEquals(99, sharded.getClientSets().size());
+    }
+
+    @Test
+    void testCheckBalanceReportsHotShard() {
+        GameManager sharded = new GameManager(4);
+        List<GameManager.ShardStats> reported = new ArrayList<>();
+        sharded.setRebalanceHook((busiest, all) -> reported.add(busiest), 2.0);
+        GameId hot = sharded.createGame(config);
+        sharded.createGame(config);
+
+        assertFalse(sharded.checkBalance());
+        for (int i = 0; i < 100; i++) {
+            sharded.getGame(hot);
+        }
+
+        assertTrue(sharded.checkBalance());
+        assertEquals(1, reported.size());
+        assertEquals(sharded.getShardIndex(hot), reported.get(0).index());
+        assertEquals(100, reported.get(0).lookups());
+        // Lookups are compared per check, so the same load is not reported twice
+        assertFalse(sharded.checkBalance());
+    }
 }
@@ -0,0 +1,98 @@
+package poker.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void testRunsTaskAfterDelay() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(t -> fired.countDown(), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    void testDelayBeyondOneTurnOfTheWheel() throws Exception {
+        // 8 buckets of 10 ms: 200 ms waits out two full rounds
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        timer.schedule(t -> fired.countDown(), 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void testCancelledTaskNeverRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(t -> runs.incrementAndGet(), 30, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        timer.schedule(t -> later.countDown(), 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void testManyTimeoutsScheduleAndCancel() throws Exception {
+        int count = 200_000;
+        CountDownLatch fired = new CountDownLatch(count / 2);
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>(count);
+        // Delays far beyond the time it takes to schedule and cancel, so nothing fires early
+        for (int i = 0; i < count; i++) {
+            timeouts.add(timer.schedule(t -> fired.countDown(), 2000 + i % 100, TimeUnit.MILLISECONDS));
+        }
+
+        for (int i = 0; i < count; i += 2) {
+            timeouts.get(i).cancel();
+        }
+        assertEquals(count / 2, timer.getPendingCount());
+
+        assertTrue(fired.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i += 2) {
+            assertFalse(timeouts.get(i).isExpired());
+        }
+    }
+
+    @Test
+    void testScheduleAfterStopIsCancelled() {
+        timer.stop();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(t -> fail("Ran after stop"), 1, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("t", 0, TimeUnit.MILLISECONDS, 8));
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer("t", 10, TimeUnit.MILLISECONDS, 0));
+    }
+}
@@ -0,0 +1,187 @@
+package poker.server;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import poker.model.protocol.ClientMessage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reactor and virtual thread modes side by side: idle connections held open, then
+ * message throughput of active clients on top of them.
+ * <p>
+ * Clients run in the same process, so each connection takes two file descriptors; the
+ * idle counts default to what a 20k descriptor limit allows. Larger runs, such as 50k,
+ * need a raised limit and: -Dpoker.bench.idle=1000,10000,50000
+ * <p>
+ * Run with: mvn test -Pbenchmark -pl poker-server -am
+ */
+@Tag("benchmark")
+class IoModeBenchmark {
+    private static final String IDLE_COUNTS = System.getProperty("poker.bench.idle", "1000,5000");
+    private static final int CLIENTS = 64;
+    private static final int MESSAGES_PER_CLIENT = 2_000;
+    private static final byte[] HELLO =
+        (ClientMessage.hello("1.0").toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // Per-connection info logging would dominate the measurement
+        Logger logger = (Logger) LoggerFactory.getLogger("poker");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("poker")).setLevel(previousLevel);
+    }
+
+    @Test
+    void testIdleAndActiveConnectionsPerMode() throws Exception {
+        int[] idleCounts = Arrays.stream(IDLE_COUNTS.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+
+        System.out.printf("%n%d core(s), %d active clients x %d messages%n",
+            Runtime.getRuntime().availableProcessors(), CLIENTS, MESSAGES_PER_CLIENT);
+        for (int idle : idleCounts) {
+            for (IoMode mode : IoMode.values()) {
+                run(mode, idle);
+            }
+        }
+    }
+
+    private static void run(IoMode mode, int idle) throws Exception {
+        PokerServer server = new PokerServer(ServerConfig.builder().port(0).ioMode(mode).build());
+        Thread serverThread = Thread.ofPlatform().name("benchmark-server").start(() -> {
+            try {
+                server.start();
+            } catch (IOException e) {
+                // Stopped
+            }
+        });
+        List<Socket> idleSockets = new ArrayList<>(idle);
+        try {
+            int port = awaitPort(server);
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            for (int i = 0; i < idle; i++) {
+                idleSockets.add(handshake(port));
+            }
+            double connectSeconds = (System.nanoTime() - start) / 1e9;
+            long heapPerConnection = (usedHeap() - heapBefore) / idle;
+            assertEquals(idle, server.getConnectionCount());
+
+            double messageRate = measureMessages(port);
+            System.out.printf("%-15s idle=%,7d  connections/s=%,9.0f  heap/connection=%,7d B  messages/s=%,12.0f%n",
+                mode, idle, idle / connectSeconds, heapPerConnection, messageRate);
+        } finally {
+            for (Socket socket : idleSockets) {
+                socket.close();
+            }
+            server.stop();
+            serverThread.join(5000);
+        }
+    }
+
+    private static int awaitPort(PokerServer server) throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            int port = server.getLocalPort();
+            if (port > 0) {
+                return port;
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Server did not start");
+    }
+
+    /**
+     * Opens a connection and completes one HELLO round trip, so the server has fully set it up.
+     */
+    private static Socket handshake(int port) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.getOutputStream().write(HELLO);
+        int b;
+        while ((b = socket.getInputStream().read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+        return socket;
+    }
+
+    /**
+     * Heap in use after a collection; client and server objects alike, so only the
+     * difference between modes is meaningful.
+     */
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Keeps clients connected and pipelines HELLO requests, counting replies.
+     */
+    private static double measureMessages(int port) throws InterruptedException {
+        byte[] batch = new byte[HELLO.length * MESSAGES_PER_CLIENT];
+        for (int i = 0; i < MESSAGES_PER_CLIENT; i++) {
+            System.arraycopy(HELLO, 0, batch, i * HELLO.length, HELLO.length);
+        }
+
+        AtomicLong replies = new AtomicLong();
+        List<Thread> threads = new ArrayList<>(CLIENTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CLIENTS; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    OutputStream out = socket.getOutputStream();
+                    Thread writer = Thread.ofVirtual().start(() -> {
+                        try {
+                            out.write(batch);
+                            out.flush();
+                        } catch (IOException e) {
+                            // Reader notices the missing replies
+                        }
+                    });
+                    BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    for (int n = 0; n < MESSAGES_PER_CLIENT && reader.readLine() != null; n++) {
+                        replies.incrementAndGet();
+                    }
+                    writer.join();
+                } catch (IOException e) {
+                    // Counted as missing replies
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals((long) CLIENTS * MESSAGES_PER_CLIENT, replies.get());
+        return replies.get() / seconds;
+    }
+}
@@ -0,0 +1,99 @@
+package poker.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineFramerTest {
+
+    private final LineFramer framer = new LineFramer(64, 16);
+    private final List<String> frames = new ArrayList<>();
+    private int oversized;
+
+    private final Framer.Listener listener = new Framer.Listener() {
+        @Override
+        public boolean onFrame(ByteBuffer frame) {
+            frames.add(StandardCharsets.UTF_8.decode(frame).toString());
+            return !"STOP".equals(frames.get(frames.size() - 1));
+        }
+
+        @Override
+        public void onOversized() {
+            oversized++;
+        }
+    };
+
+    private void receive(String data) {
+        framer.buffer().put(data.getBytes(StandardCharsets.UTF_8));
+        framer.drain(listener);
+    }
+
+    @Test
+    void testSplitsPipelinedFrames() {
+        receive("A\nBB\n\nCCC\n");
+
+        assertEquals(List.of("A", "BB", "", "CCC"), frames);
+        assertEquals(0, framer.buffer().position());
+    }
+
+    @Test
+    void testKeepsPartialFrameAcrossReads() {
+        receive("HEL");
+        receive("LO");
+        assertTrue(frames.isEmpty());
+
+        receive("\nNEXT");
+
+        assertEquals(List.of("HELLO"), frames);
+        assertEquals(4, framer.buffer().position());
+    }
+
+    @Test
+    void testRejectsCompleteOversizedFrame() {
+        receive("X".repeat(17) + "\nOK\n");
+
+        assertEquals(1, oversized);
+        assertEquals(List.of("OK"), frames);
+    }
+
+    @Test
+    void testDiscardsOversizedFrameUntilLineEnd() {
+        receive("X".repeat(20));
+        assertEquals(1, oversized);
+        assertEquals(0, framer.buffer().position());
+
+        receive("X".repeat(40));
+        receive("XX\nOK\n");
+
+        assertEquals(1, oversized);
+        assertEquals(List.of("OK"), frames);
+    }
+
+    @Test
+    void testAcceptsFrameAtLimit() {
+        receive("Y".repeat(16) + "\n");
+
+        assertEquals(0, oversized);
+        assertEquals(List.of("Y".repeat(16)), frames);
+    }
+
+    @Test
+    void testRejectsCapacityNotAboveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new LineFramer(16, 16));
+        assertThrows(IllegalArgumentException.class, () -> new LineFramer(16, 0));
+    }
+
+    @Test
+    void testStoppingLeavesTheRestBuffered() {
+        receive("A\nSTOP\nB\nC");
+
+        assertEquals(List.of("A", "STOP"), frames);
+        ByteBuffer rest = framer.buffer().flip();
+        assertEquals("B\nC", StandardCharsets.UTF_8.decode(rest).toString());
+    }
+}
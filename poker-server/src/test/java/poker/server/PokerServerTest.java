@@ -5,9 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -212,4 +219,343 @@ class PokerServerTest {
         
         server.stop();
     }
+
+    @Test
+    @Timeout(10)
+    void testMultiReactorServesClientsRoundRobin() throws Exception {
+        PokerServer multiServer = new PokerServer(ServerConfig.builder().port(0).reactorCount(3).build());
+        serverThread = new Thread(() -> {
+            try {
+                multiServer.start();
+            } catch (IOException e) {
+                // Expected when server is stopped
+            }
+        });
+        serverThread.start();
+
+        try {
+            while (multiServer.getLocalPort() < 0) {
+                Thread.sleep(10);
+            }
+
+            List<Socket> clients = new ArrayList<>();
+            try {
+                for (int i = 0; i < 6; i++) {
+                    Socket client = new Socket("localhost", multiServer.getLocalPort());
+                    clients.add(client);
+                    client.getOutputStream().write("- - HELLO VERSION=1.0\n".getBytes(StandardCharsets.UTF_8));
+                    BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                    assertTrue(reader.readLine().contains("OK"));
+                }
+
+                assertEquals(List.of(2, 2, 2), multiServer.getConnectionsPerReactor());
+            } finally {
+                for (Socket client : clients) {
+                    client.close();
+                }
+            }
+        } finally {
+            multiServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testJoinToUnknownGameKeepsNoMailbox() throws Exception {
+        PokerServer joinServer = startServer(ServerConfig.builder().port(0).build());
+        try (Socket client = new Socket("localhost", joinServer.getLocalPort())) {
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            for (int i = 0; i < 100; i++) {
+                write(client, "- - JOIN GAME=missing" + i + " NAME=Alice");
+                assertTrue(in.readLine().contains("JOIN_FAILED"));
+            }
+
+            assertEquals(0, joinServer.getTableDispatcher().getTableCount());
+        } finally {
+            joinServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testVirtualThreadModeServesClients() throws Exception {
+        PokerServer virtualServer = startServer(ServerConfig.builder()
+            .port(0)
+            .ioMode(IoMode.VIRTUAL_THREADS)
+            .build());
+        try {
+            try (Socket alice = new Socket("localhost", virtualServer.getLocalPort());
+                 Socket bob = new Socket("localhost", virtualServer.getLocalPort())) {
+                BufferedReader aliceIn = new BufferedReader(
+                    new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+                BufferedReader bobIn = new BufferedReader(
+                    new InputStreamReader(bob.getInputStream(), StandardCharsets.UTF_8));
+
+                alice.getOutputStream().write("- - CREATE ANTE=10 BET=20\n".getBytes(StandardCharsets.UTF_8));
+                String created = aliceIn.readLine();
+                assertTrue(created.contains("OK"), created);
+                String gameId = created.substring(created.lastIndexOf(' ') + 1);
+
+                alice.getOutputStream().write(("- - JOIN GAME=" + gameId + " NAME=Alice\n")
+                    .getBytes(StandardCharsets.UTF_8));
+                assertTrue(aliceIn.readLine().contains("WELCOME"));
+                assertTrue(aliceIn.readLine().contains("LOBBY PLAYERS=Alice"));
+
+                bob.getOutputStream().write(("- - JOIN GAME=" + gameId + " NAME=Bob\n")
+                    .getBytes(StandardCharsets.UTF_8));
+                assertTrue(bobIn.readLine().contains("WELCOME"));
+                // The lobby broadcast reaches both connections' writers
+                assertTrue(aliceIn.readLine().contains("LOBBY PLAYERS=Alice,Bob"));
+                assertTrue(bobIn.readLine().contains("LOBBY PLAYERS=Alice,Bob"));
+                assertEquals(2, virtualServer.getConnectionCount());
+                assertEquals(List.of(), virtualServer.getConnectionsPerReactor());
+
+                bob.getOutputStream().write((gameId + " - QUIT\n").getBytes(StandardCharsets.UTF_8));
+                assertTrue(bobIn.readLine().contains("Goodbye"));
+                assertNull(bobIn.readLine());
+                while (virtualServer.getConnectionCount() > 1) {
+                    Thread.sleep(10);
+                }
+            }
+        } finally {
+            virtualServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testTurnTimeoutChecksForPlayer() throws Exception {
+        PokerServer timedServer = startServer(ServerConfig.builder()
+            .port(0)
+            .turnTimeout(Duration.ofMillis(300))
+            .build());
+        try (Socket alice = new Socket("localhost", timedServer.getLocalPort());
+             Socket bob = new Socket("localhost", timedServer.getLocalPort())) {
+            BufferedReader aliceIn = new BufferedReader(
+                new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+            write(alice, "- - CREATE ANTE=10 BET=20");
+            String created = aliceIn.readLine();
+            String gameId = created.substring(created.lastIndexOf(' ') + 1);
+            write(alice, "- - JOIN GAME=" + gameId + " NAME=Alice");
+            write(bob, "- - JOIN GAME=" + gameId + " NAME=Bob");
+            while (!aliceIn.readLine().contains("PLAYERS=Alice,Bob")) {
+                // Skip the welcome and the first lobby
+            }
+
+            write(alice, gameId + " - START");
+            String line;
+            do {
+                line = aliceIn.readLine();
+            } while (!line.contains(" ACTION "));
+
+            // Nobody bet yet, so the server checks for whoever was to act
+            assertTrue(line.contains("TYPE=CHECK"), line);
+            assertEquals(1, timedServer.getMetrics().getTurnTimeouts());
+            assertTrue(aliceIn.readLine().contains(" TURN "));
+        } finally {
+            timedServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testHandMovesOnWhenPlayerToActDisconnects() throws Exception {
+        PokerServer tableServer = startServer(ServerConfig.builder().port(0).build());
+        try (Socket alice = new Socket("localhost", tableServer.getLocalPort());
+             Socket bob = new Socket("localhost", tableServer.getLocalPort())) {
+            BufferedReader aliceIn = new BufferedReader(
+                new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+            BufferedReader bobIn = new BufferedReader(
+                new InputStreamReader(bob.getInputStream(), StandardCharsets.UTF_8));
+            write(alice, "- - CREATE ANTE=10 BET=20");
+            String created = aliceIn.readLine();
+            String gameId = created.substring(created.lastIndexOf(' ') + 1);
+            write(alice, "- - JOIN GAME=" + gameId + " NAME=Alice");
+            String aliceId = param(aliceIn.readLine(), "PLAYER");
+            write(bob, "- - JOIN GAME=" + gameId + " NAME=Bob");
+            String bobId = param(bobIn.readLine(), "PLAYER");
+            while (!aliceIn.readLine().contains("PLAYERS=Alice,Bob")) {
+                // Skip the first lobby
+            }
+
+            write(alice, gameId + " - START");
+            String turn;
+            do {
+                turn = aliceIn.readLine();
+            } while (!turn.contains(" TURN "));
+
+            // Whoever is to act drops out mid-hand; the other must still see the hand end
+            boolean aliceToAct = aliceId.equals(param(turn, "PLAYER"));
+            Socket leaving = aliceToAct ? alice : bob;
+            BufferedReader remaining = aliceToAct ? bobIn : aliceIn;
+            String leavingId = aliceToAct ? aliceId : bobId;
+            leaving.close();
+
+            boolean folded = false;
+            String line;
+            do {
+                line = remaining.readLine();
+                if (line.contains(" ACTION ") && line.contains("TYPE=FOLD")) {
+                    folded = leavingId.equals(param(line, "PLAYER"));
+                }
+            } while (!line.contains(" END "));
+            assertTrue(folded);
+        } finally {
+            tableServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testOneHintInFlightPerConnection() throws Exception {
+        PokerServer hintServer = startServer(ServerConfig.builder()
+            .port(0)
+            .hintBudget(Duration.ofMillis(500))
+            .build());
+        try (Socket alice = new Socket("localhost", hintServer.getLocalPort());
+             Socket bob = new Socket("localhost", hintServer.getLocalPort())) {
+            BufferedReader aliceIn = new BufferedReader(
+                new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+            write(alice, "- - CREATE ANTE=10 BET=20");
+            String created = aliceIn.readLine();
+            String gameId = created.substring(created.lastIndexOf(' ') + 1);
+            write(alice, "- - JOIN GAME=" + gameId + " NAME=Alice");
+            write(bob, "- - JOIN GAME=" + gameId + " NAME=Bob");
+            while (!aliceIn.readLine().contains("PLAYERS=Alice,Bob")) {
+                // Skip the welcome and the first lobby
+            }
+            write(alice, gameId + " - START");
+            String line;
+            do {
+                line = aliceIn.readLine();
+            } while (!line.contains(" TURN "));
+
+            // Pipelined: the second arrives while the first is still sampling
+            write(alice, gameId + " - HINT\n" + gameId + " - HINT");
+            int busy = 0;
+            do {
+                line = aliceIn.readLine();
+                if (line.contains("CODE=HINT_BUSY")) {
+                    busy++;
+                }
+            } while (!line.contains(" HINT "));
+            assertEquals(1, busy);
+
+            // Free again once the reply is out
+            write(alice, gameId + " - HINT");
+            do {
+                line = aliceIn.readLine();
+                assertFalse(line.contains("CODE=HINT_BUSY"), line);
+            } while (!line.contains(" HINT "));
+        } finally {
+            hintServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testHintRefusedWhenHintPoolIsFull() throws Exception {
+        PokerServer hintServer = startServer(ServerConfig.builder()
+            .port(0)
+            .hintBudget(Duration.ofSeconds(2))
+            .hintThreads(1)
+            .build());
+        try (Socket alice = new Socket("localhost", hintServer.getLocalPort());
+             Socket bob = new Socket("localhost", hintServer.getLocalPort());
+             Socket carol = new Socket("localhost", hintServer.getLocalPort())) {
+            BufferedReader aliceIn = new BufferedReader(
+                new InputStreamReader(alice.getInputStream(), StandardCharsets.UTF_8));
+            BufferedReader carolIn = new BufferedReader(
+                new InputStreamReader(carol.getInputStream(), StandardCharsets.UTF_8));
+            write(alice, "- - CREATE ANTE=10 BET=20");
+            String created = aliceIn.readLine();
+            String gameId = created.substring(created.lastIndexOf(' ') + 1);
+            write(alice, "- - JOIN GAME=" + gameId + " NAME=Alice");
+            write(bob, "- - JOIN GAME=" + gameId + " NAME=Bob");
+            write(carol, "- - JOIN GAME=" + gameId + " NAME=Carol");
+            while (!aliceIn.readLine().contains("PLAYERS=Alice,Bob,Carol")) {
+                // Skip the welcome and the earlier lobbies
+            }
+            write(alice, gameId + " - START");
+            String line;
+            do {
+                line = carolIn.readLine();
+            } while (!line.contains(" TURN "));
+
+            // One hint samples, one waits for the thread, the third is refused
+            write(alice, gameId + " - HINT");
+            Thread.sleep(100);
+            write(bob, gameId + " - HINT");
+            Thread.sleep(100);
+            write(carol, gameId + " - HINT");
+            do {
+                line = carolIn.readLine();
+                assertFalse(line.contains(" HINT "), line);
+            } while (!line.contains("CODE=HINT_BUSY"));
+        } finally {
+            hintServer.stop();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void testIdleConnectionIsClosed() throws Exception {
+        PokerServer idleServer = startServer(ServerConfig.builder()
+            .port(0)
+            .idleTimeout(Duration.ofMillis(300))
+            .build());
+        try (Socket active = new Socket("localhost", idleServer.getLocalPort());
+             Socket idle = new Socket("localhost", idleServer.getLocalPort())) {
+            BufferedReader activeIn = new BufferedReader(
+                new InputStreamReader(active.getInputStream(), StandardCharsets.UTF_8));
+            for (int i = 0; i < 5; i++) {
+                Thread.sleep(100);
+                write(active, "- - HELLO VERSION=1.0");
+                assertTrue(activeIn.readLine().contains("OK"));
+            }
+
+            assertEquals(-1, idle.getInputStream().read());
+            assertEquals(1, idleServer.getMetrics().getIdleDisconnects());
+            assertEquals(1, idleServer.getConnectionCount());
+        } finally {
+            idleServer.stop();
+        }
+    }
+
+    /**
+     * Starts a server on the test's server thread and waits until it listens.
+     */
+    private PokerServer startServer(ServerConfig config) throws InterruptedException {
+        PokerServer started = new PokerServer(config);
+        serverThread = new Thread(() -> {
+            try {
+                started.start();
+            } catch (IOException e) {
+                // Expected when server is stopped
+            }
+        });
+        serverThread.start();
+        while (started.getLocalPort() < 0) {
+            Thread.sleep(10);
+        }
+        return started;
+    }
+
+    /**
+     * Value of a KEY=value parameter in a protocol line.
+     */
+    private static String param(String line, String key) {
+        for (String token : line.split(" ")) {
+            if (token.startsWith(key + "=")) {
+                return token.substring(key.length() + 1);
+            }
+        }
+        throw new AssertionError("No " + key + " in: " + line);
+    }
+
+    private static void write(Socket socket, String line) throws IOException {
+        socket.getOutputStream().write((line + "\n").getBytes(StandardCharsets.UTF_8));
+    }
 }
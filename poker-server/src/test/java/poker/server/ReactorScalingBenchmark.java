@@ -0,0 +1,165 @@
+package poker.server;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import poker.model.protocol.ClientMessage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Connection and message throughput of the server for increasing reactor counts.
+ * Run with: mvn test -Pbenchmark -pl poker-server -am
+ */
+@Tag("benchmark")
+class ReactorScalingBenchmark {
+    private static final int CONNECTIONS = 1_000;
+    private static final int CLIENTS = 64;
+    private static final int MESSAGES_PER_CLIENT = 2_000;
+    private static final byte[] HELLO =
+        (ClientMessage.hello("1.0").toProtocolString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // Per-message debug logging would dominate the measurement
+        Logger logger = (Logger) LoggerFactory.getLogger("poker");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("poker")).setLevel(previousLevel);
+    }
+
+    @Test
+    void testThroughputScalesWithReactors() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        TreeSet<Integer> reactorCounts = new TreeSet<>(List.of(1, 2, Math.max(1, cores / 2), cores));
+
+        System.out.printf("%n%d core(s), %d connections, %d clients x %d messages%n",
+            cores, CONNECTIONS, CLIENTS, MESSAGES_PER_CLIENT);
+        for (int reactors : reactorCounts) {
+            PokerServer server = new PokerServer(ServerConfig.builder().port(0).reactorCount(reactors).build());
+            Thread serverThread = Thread.ofPlatform().name("benchmark-server").start(() -> {
+                try {
+                    server.start();
+                } catch (IOException e) {
+                    // Stopped
+                }
+            });
+            try {
+                int port = awaitPort(server);
+                double connectRate = measureConnections(port);
+                double messageRate = measureMessages(port);
+                System.out.printf("reactors=%-3d connections/s=%,10.0f  messages/s=%,12.0f  per reactor=%s%n",
+                    reactors, connectRate, messageRate, server.getConnectionsPerReactor());
+            } finally {
+                server.stop();
+                serverThread.join(5000);
+            }
+        }
+    }
+
+    private static int awaitPort(PokerServer server) throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            int port = server.getLocalPort();
+            if (port > 0) {
+                return port;
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Server did not start");
+    }
+
+    /**
+     * Opens connections concurrently; each does one HELLO round trip and closes.
+     */
+    private static double measureConnections(int port) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>(CONNECTIONS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    socket.getOutputStream().write(HELLO);
+                    BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    if (reader.readLine() != null) {
+                        completed.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    // Counted as not completed
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(CONNECTIONS, completed.get());
+        return CONNECTIONS / seconds;
+    }
+
+    /**
+     * Keeps clients connected and pipelines HELLO requests, counting replies.
+     */
+    private static double measureMessages(int port) throws InterruptedException {
+        byte[] batch = new byte[HELLO.length * MESSAGES_PER_CLIENT];
+        for (int i = 0; i < MESSAGES_PER_CLIENT; i++) {
+            System.arraycopy(HELLO, 0, batch, i * HELLO.length, HELLO.length);
+        }
+
+        AtomicLong replies = new AtomicLong();
+        List<Thread> threads = new ArrayList<>(CLIENTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CLIENTS; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    OutputStream out = socket.getOutputStream();
+                    Thread writer = Thread.ofVirtual().start(() -> {
+                        try {
+                            out.write(batch);
+                            out.flush();
+                        } catch (IOException e) {
+                            // Reader notices the missing replies
+                        }
+                    });
+                    BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    for (int n = 0; n < MESSAGES_PER_CLIENT && reader.readLine() != null; n++) {
+                        replies.incrementAndGet();
+                    }
+                    writer.join();
+                } catch (IOException e) {
+                    // Counted as missing replies
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals((long) CLIENTS * MESSAGES_PER_CLIENT, replies.get());
+        return replies.get() / seconds;
+    }
+}
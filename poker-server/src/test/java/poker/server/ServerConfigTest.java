@@ -0,0 +1,115 @@
+package poker.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerConfigTest {
+
+    @Test
+    void testDefaults() {
+        ServerConfig config = ServerConfig.builder().build();
+
+        assertDoesNotThrow(config::validate);
+        assertEquals(7777, config.getPort());
+        assertEquals(Runtime.getRuntime().availableProcessors(), config.getReactorCount());
+        assertEquals(0, config.getTableThreads());
+        assertEquals(Runtime.getRuntime().availableProcessors(), config.getShardCount());
+        assertEquals(Duration.ofMillis(50), config.getHintBudget());
+        assertEquals(4096, config.getMaxQueuedMessages());
+        assertEquals(1024 * 1024, config.getMaxQueuedBytes());
+        assertEquals(SlowConsumerPolicy.DISCONNECT, config.getSlowConsumerPolicy());
+        assertEquals(IoMode.REACTOR, config.getIoMode());
+        assertEquals(Duration.ofSeconds(30), config.getTurnTimeout());
+        assertEquals(Duration.ofMinutes(10), config.getIdleTimeout());
+        assertEquals(Duration.ofMinutes(5), config.getTableTimeout());
+        assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), config.getHintThreads());
+    }
+
+    @Test
+    void testCustomValues() {
+        ServerConfig config = ServerConfig.builder()
+            .port(0)
+            .reactorCount(8)
+            .hintBudget(Duration.ofMillis(200))
+            .build();
+
+        assertDoesNotThrow(config::validate);
+        assertEquals(0, config.getPort());
+        assertEquals(8, config.getReactorCount());
+        assertEquals(Duration.ofMillis(200), config.getHintBudget());
+    }
+
+    @Test
+    void testInvalidPort() {
+        ServerConfig config = ServerConfig.builder().port(70000).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+    }
+
+    @Test
+    void testInvalidReactorCount() {
+        ServerConfig config = ServerConfig.builder().reactorCount(0).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+        assertThrows(IllegalArgumentException.class, () -> new PokerServer(config));
+    }
+
+    @Test
+    void testInvalidTableThreads() {
+        ServerConfig config = ServerConfig.builder().tableThreads(-1).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+    }
+
+    @Test
+    void testInvalidQueueLimits() {
+        assertThrows(IllegalArgumentException.class,
+            ServerConfig.builder().maxQueuedMessages(1).build()::validate);
+        assertThrows(IllegalArgumentException.class,
+            ServerConfig.builder().maxQueuedBytes(1024).build()::validate);
+        assertThrows(IllegalArgumentException.class,
+            ServerConfig.builder().slowConsumerPolicy(null).build()::validate);
+    }
+
+    @Test
+    void testInvalidIoMode() {
+        ServerConfig config = ServerConfig.builder().ioMode(null).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+    }
+
+    @Test
+    void testInvalidShardCount() {
+        ServerConfig config = ServerConfig.builder().shardCount(0).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+    }
+
+    @Test
+    void testTimeouts() {
+        assertDoesNotThrow(ServerConfig.builder().turnTimeout(Duration.ZERO).idleTimeout(Duration.ZERO).build()::validate);
+        assertThrows(IllegalArgumentException.class,
+            ServerConfig.builder().turnTimeout(Duration.ofSeconds(-1)).build()::validate);
+        assertThrows(IllegalArgumentException.class,
+            ServerConfig.builder().idleTimeout(null).build()::validate);
+        assertThrows(IllegalArgumentException.class,
+            ServerConfig.builder().tableTimeout(Duration.ofSeconds(-1)).build()::validate);
+    }
+
+    @Test
+    void testInvalidHintBudget() {
+        ServerConfig config = ServerConfig.builder().hintBudget(Duration.ZERO).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+    }
+
+    @Test
+    void testInvalidHintThreads() {
+        ServerConfig config = ServerConfig.builder().hintThreads(0).build();
+
+        assertThrows(IllegalArgumentException.class, config::validate);
+    }
+}
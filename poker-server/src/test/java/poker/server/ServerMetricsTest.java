@@ -0,0 +1,52 @@
+package poker.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerMetricsTest {
+
+    @Test
+    void testStartsEmpty() {
+        ServerMetrics metrics = new ServerMetrics();
+
+        assertEquals(0, metrics.getWriteCalls());
+        assertEquals(0, metrics.getMessagesWritten());
+        assertEquals(0, metrics.getBytesWritten());
+        assertEquals(0.0, metrics.getWriteCallsPerMessage());
+    }
+
+    @Test
+    void testRecordWrite() {
+        ServerMetrics metrics = new ServerMetrics();
+
+        metrics.recordWrite(300, 4);
+        metrics.recordWrite(100, 0);
+
+        assertEquals(2, metrics.getWriteCalls());
+        assertEquals(4, metrics.getMessagesWritten());
+        assertEquals(400, metrics.getBytesWritten());
+        assertEquals(0.5, metrics.getWriteCallsPerMessage(), 1e-9);
+        assertTrue(metrics.toString().contains("writes=2"));
+    }
+
+    @Test
+    void testQueueGaugesAndEvictions() {
+        ServerMetrics metrics = new ServerMetrics();
+
+        metrics.recordQueued(100, 1);
+        metrics.recordQueued(50, 2);
+        metrics.recordDequeued(120, 1);
+        metrics.recordDropped(3);
+        metrics.recordEviction();
+        metrics.recordCollapse();
+
+        assertEquals(1, metrics.getQueuedMessages());
+        assertEquals(30, metrics.getQueuedBytes());
+        assertEquals(2, metrics.getMaxQueueDepth());
+        assertEquals(3, metrics.getMessagesDropped());
+        assertEquals(1, metrics.getEvictions());
+        assertEquals(1, metrics.getCollapses());
+        assertTrue(metrics.toString().contains("evictions=1"));
+    }
+}
@@ -0,0 +1,181 @@
+package poker.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import poker.model.game.GameId;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableDispatcherTest {
+
+    private TableDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void testTasksForOneTableRunInOrderWithoutOverlap() throws InterruptedException {
+        dispatcher = new TableDispatcher(4);
+        GameId table = GameId.generate();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            int n = i;
+            dispatcher.execute(table, () -> {
+                if (!running.compareAndSet(false, true)) {
+                    overlapped.set(true);
+                }
+                order.add(n);
+                running.set(false);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void testTablesRunInParallel() throws InterruptedException {
+        dispatcher = new TableDispatcher(0);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        for (int i = 0; i < 2; i++) {
+            dispatcher.execute(GameId.generate(), () -> {
+                bothStarted.countDown();
+                try {
+                    // Only completes if the other table is running at the same time
+                    if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                        done.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, dispatcher.getTableCount());
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopTable() throws InterruptedException {
+        dispatcher = new TableDispatcher(1);
+        GameId table = GameId.generate();
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.execute(table, () -> {
+            throw new IllegalStateException("Test failure");
+        });
+        dispatcher.execute(table, done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRouteKeepsOrderAcrossTables() throws InterruptedException {
+        dispatcher = new TableDispatcher(4);
+        GameId first = GameId.generate();
+        GameId second = GameId.generate();
+        TableDispatcher.Route route = dispatcher.newRoute();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        route.submit(first, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("first-1");
+        });
+        route.submit(first, () -> order.add("first-2"));
+        route.submit(second, () -> order.add("second"));
+        route.submit(() -> order.add("current"));
+        route.submit(first, () -> {
+            order.add("first-3");
+            done.countDown();
+        });
+
+        assertEquals(first, route.current());
+        Thread.sleep(50);
+        assertTrue(order.isEmpty(), "Later tables must wait for the first one");
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first-1", "first-2", "second", "current", "first-3"), order);
+    }
+
+    @Test
+    void testRouteWithoutTableRunsInline() {
+        dispatcher = new TableDispatcher(1);
+        TableDispatcher.Route route = dispatcher.newRoute();
+        AtomicInteger runs = new AtomicInteger();
+
+        route.submit(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+        assertNull(route.current());
+    }
+
+    @Test
+    void testUnknownTablesGetNoMailbox() throws InterruptedException {
+        GameId known = GameId.generate();
+        Set<GameId> live = ConcurrentHashMap.newKeySet();
+        live.add(known);
+        dispatcher = new TableDispatcher(2, live::contains);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(101);
+
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            dispatcher.execute(GameId.generate(), () -> {
+                order.add(n);
+                done.countDown();
+            });
+        }
+        dispatcher.execute(known, done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatcher.getTableCount());
+        // Unknown tables share one serial mailbox
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i));
+        }
+
+        // A removed table is not brought back by a late task
+        live.remove(known);
+        dispatcher.remove(known);
+        CountDownLatch late = new CountDownLatch(1);
+        dispatcher.execute(known, late::countDown);
+        assertTrue(late.await(5, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.getTableCount());
+    }
+
+    @Test
+    void testRejectsNegativeThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new TableDispatcher(-1));
+    }
+}
@@ -0,0 +1,95 @@
+package poker.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import poker.model.game.GameConfig;
+import poker.model.game.GameId;
+import poker.model.players.PlayerId;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableReaperTest {
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    private HashedWheelTimer timer;
+    private TableDispatcher dispatcher;
+    private GameManager gameManager;
+    private Map<GameId, Set<ClientHandler>> gameClients;
+    private TableReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTimer("test-timer", 10, TimeUnit.MILLISECONDS, 64);
+        dispatcher = new TableDispatcher(2);
+        gameManager = new GameManager();
+        gameClients = new ConcurrentHashMap<>();
+        TurnClock turnClock = new TurnClock(timer, dispatcher, Duration.ZERO);
+        reaper = new TableReaper(timer, dispatcher, gameManager, gameClients, turnClock, TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testEmptyTableIsReclaimed() throws InterruptedException {
+        GameId table = gameManager.createGame(GameConfig.builder().ante(10).fixedBet(20).build());
+        gameClients.put(table, ConcurrentHashMap.newKeySet());
+        reaper.watch(table);
+
+        awaitReclaimed(1);
+
+        assertEquals(0, gameManager.getGameCount());
+        assertFalse(gameClients.containsKey(table));
+        assertEquals(0, dispatcher.getTableCount());
+    }
+
+    @Test
+    void testOccupiedTableIsKeptUntilEmpty() throws InterruptedException {
+        GameId table = gameManager.createGame(GameConfig.builder().ante(10).fixedBet(20).build());
+        PlayerId player = PlayerId.generate();
+        gameManager.getGame(table).addPlayer(player, "Alice");
+        reaper.watch(table);
+
+        Thread.sleep(TIMEOUT.toMillis() * 3);
+        assertEquals(1, gameManager.getGameCount());
+        assertEquals(1, gameManager.getIdleGameCount(TIMEOUT));
+
+        dispatcher.execute(table, () -> gameManager.getGame(table).removePlayer(player));
+        awaitReclaimed(1);
+
+        assertEquals(0, gameManager.getGameCount());
+    }
+
+    @Test
+    void testZeroTimeoutKeepsTables() throws InterruptedException {
+        TableReaper disabled = new TableReaper(timer, dispatcher, gameManager, gameClients,
+            new TurnClock(timer, dispatcher, Duration.ZERO), Duration.ZERO);
+        GameId table = gameManager.createGame(GameConfig.builder().ante(10).fixedBet(20).build());
+        disabled.watch(table);
+
+        Thread.sleep(100);
+
+        assertEquals(1, gameManager.getGameCount());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    private void awaitReclaimed(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gameManager.getReclaimedCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "Table not reclaimed in time");
+            Thread.sleep(10);
+        }
+        // Let the reclaiming task finish removing the table's other state
+        Thread.sleep(20);
+    }
+}
@@ -0,0 +1,132 @@
+package poker.server;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import poker.model.game.GameConfig;
+import poker.model.game.GameId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates and abandons a million tables in batches and checks that the heap stays flat:
+ * every table, its connection set and its mailbox are reclaimed once it times out, and
+ * late tasks sent to a reclaimed table do not bring its mailbox back.
+ * <p>
+ * Run with: mvn test -Pbenchmark -pl poker-server -am [-Dbenchmark.tables=1000000]
+ */
+@Tag("benchmark")
+class TableReclaimSoakBenchmark {
+    private static final int TABLES = Integer.getInteger("benchmark.tables", 1_000_000);
+    private static final int BATCH = 50_000;
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+    /** Heap growth tolerated between the first and last batch, for GC noise */
+    private static final long HEAP_SLACK = 32L * 1024 * 1024;
+
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // One line per reclaimed table would dominate the run
+        Logger logger = (Logger) LoggerFactory.getLogger("poker");
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        ((Logger) LoggerFactory.getLogger("poker")).setLevel(previousLevel);
+    }
+
+    @Test
+    void testAbandonedTablesLeaveHeapFlat() throws InterruptedException {
+        HashedWheelTimer timer = new HashedWheelTimer("soak-timer", 10, TimeUnit.MILLISECONDS, 512);
+        GameManager gameManager = new GameManager();
+        TableDispatcher dispatcher = new TableDispatcher(0, gameManager::hasGame);
+        Map<GameId, Set<ClientHandler>> gameClients = new ConcurrentHashMap<>();
+        TableReaper reaper = new TableReaper(timer, dispatcher, gameManager, gameClients,
+            new TurnClock(timer, dispatcher, Duration.ZERO), TIMEOUT);
+        GameConfig config = GameConfig.builder().ante(10).fixedBet(20).build();
+
+        try {
+            long firstHeap = -1;
+            long lastHeap = -1;
+            long start = System.nanoTime();
+            System.out.printf("%n%,d tables in batches of %,d, reclaimed after %d ms%n",
+                TABLES, BATCH, TIMEOUT.toMillis());
+            for (int created = 0; created < TABLES; ) {
+                List<GameId> batch = new ArrayList<>(BATCH);
+                for (int i = 0; i < BATCH && created < TABLES; i++, created++) {
+                    GameId table = gameManager.createGame(config);
+                    batch.add(table);
+                    // What a JOIN followed by a disconnect leaves behind
+                    gameClients.put(table, ConcurrentHashMap.newKeySet());
+                    dispatcher.execute(table, () -> gameManager.getGame(table));
+                    reaper.watch(table);
+                }
+                awaitReclaimed(gameManager, gameClients, created);
+
+                // Messages and turn clocks arriving after the table is gone
+                CountDownLatch late = new CountDownLatch(batch.size());
+                for (GameId table : batch) {
+                    dispatcher.execute(table, late::countDown);
+                }
+                assertTrue(late.await(30, TimeUnit.SECONDS), "Late tasks did not run");
+
+                lastHeap = usedHeap();
+                if (firstHeap < 0) {
+                    firstHeap = lastHeap;
+                }
+                System.out.printf("%,9d tables: live=%d reclaimed=%,d mailboxes=%d heap=%,d KB%n",
+                    created, gameManager.getGameCount(), gameManager.getReclaimedCount(),
+                    dispatcher.getTableCount(), lastHeap / 1024);
+            }
+            System.out.printf("%.1f s%n", (System.nanoTime() - start) / 1e9);
+
+            assertEquals(0, gameManager.getGameCount());
+            assertEquals(TABLES, gameManager.getReclaimedCount());
+            assertTrue(gameClients.isEmpty());
+            assertEquals(0, dispatcher.getTableCount());
+            assertEquals(0, timer.getPendingCount());
+            assertTrue(lastHeap - firstHeap < HEAP_SLACK,
+                "Heap grew from " + firstHeap + " to " + lastHeap + " bytes");
+        } finally {
+            timer.stop();
+            dispatcher.shutdown();
+        }
+    }
+
+    /**
+     * Waits until the given number of tables are gone, connection sets included.
+     */
+    private static void awaitReclaimed(GameManager gameManager, Map<GameId, Set<ClientHandler>> gameClients,
+            long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (gameManager.getReclaimedCount() < count || !gameClients.isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "Tables not reclaimed in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}